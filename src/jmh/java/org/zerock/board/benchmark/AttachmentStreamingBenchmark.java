@@ -0,0 +1,87 @@
+package org.zerock.board.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attachment download path of FileController: a file-backed UrlResource written by
+ * ResourceHttpMessageConverter, with the response body discarded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttachmentStreamingBenchmark {
+
+    @Param({"65536", "8388608"})
+    public int fileSize;
+
+    private final ResourceHttpMessageConverter converter = new ResourceHttpMessageConverter();
+    private Path file;
+    private Resource resource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        byte[] content = new byte[fileSize];
+        new Random(42).nextBytes(content);
+        file = Files.createTempFile("board-attachment-", ".bin");
+        Files.write(file, content);
+        resource = new UrlResource(file.toUri());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void download(Blackhole blackhole) throws Exception {
+        DiscardingOutputMessage outputMessage = new DiscardingOutputMessage(blackhole);
+        converter.write(resource, MediaType.APPLICATION_OCTET_STREAM, outputMessage);
+        blackhole.consume(outputMessage.headers);
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body;
+
+        private DiscardingOutputMessage(Blackhole blackhole) {
+            this.body = new OutputStream() {
+                @Override
+                public void write(int b) {
+                    blackhole.consume(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    blackhole.consume(b);
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
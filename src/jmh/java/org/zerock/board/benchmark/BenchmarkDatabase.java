@@ -0,0 +1,220 @@
+package org.zerock.board.benchmark;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.board.config.BulkWriteConfig;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.repository.BulkWriter;
+import org.zerock.board.service.CommentPaths;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory H2 database with the application schema, the real MyBatis mappers and a
+ * deterministic data set, so benchmarks run offline and compare across commits.
+ *
+ * The schema is created by the MariaDB migrations in MariaDB mode. For the "oracle"
+ * dialect the sequences of the Oracle baseline are added and the session switches to
+ * Oracle mode, so the oracle variants of the mapper statements run (the PL/SQL
+ * triggers of the Oracle schema have no H2 equivalent; benchmarks only read).
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final String MARIADB = "mariadb";
+    public static final String ORACLE = "oracle";
+
+    private static final Pattern SEQUENCE = Pattern.compile("CREATE SEQUENCE [^;]+;", Pattern.CASE_INSENSITIVE);
+
+    private final SimpleDriverDataSource dataSource;
+    private final SqlSessionTemplate sqlSessionTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private BenchmarkDatabase(String dialect) throws Exception {
+        String mode = ORACLE.equals(dialect) ? "Oracle" : "MariaDB";
+        this.dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:board-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        createSchema(dialect);
+        if (!"MariaDB".equals(mode)) {
+            // Switches the mode of the database, every later connection uses it
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SET MODE " + mode);
+            }
+        }
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> dialect);
+        org.apache.ibatis.session.Configuration configuration = new org.apache.ibatis.session.Configuration();
+        configuration.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(configuration);
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+
+        this.sqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactory);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // Services pick statements and IN-list chunk sizes from the current database type
+        DatabaseConfig.setCurrentDatabase(ORACLE.equals(dialect)
+                ? DatabaseConfig.DatabaseType.ORACLE : DatabaseConfig.DatabaseType.MARIADB);
+    }
+
+    public static BenchmarkDatabase start(String dialect) throws Exception {
+        return new BenchmarkDatabase(dialect);
+    }
+
+    public <T> T mapper(Class<T> type) {
+        return sqlSessionTemplate.getMapper(type);
+    }
+
+    public BulkWriter bulkWriter() {
+        return new BulkWriter(sqlSessionTemplate.getSqlSessionFactory(), new BulkWriteConfig());
+    }
+
+    public TransactionTemplate transactionTemplate() {
+        return transactionTemplate;
+    }
+
+    /**
+     * Insert boards with files, a comment tree and replies per board.
+     * The same arguments always produce the same rows (fixed seed, explicit ids).
+     */
+    public void seed(int boards, int filesPerBoard, int commentsPerBoard, int repliesPerComment) throws Exception {
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement board = connection.prepareStatement(
+                         "INSERT INTO board (board_id, title, content, writer, view_count, created_date, modified_date) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement file = connection.prepareStatement(
+                         "INSERT INTO file (board_id, original_filename, stored_filename, file_size, file_type, created_date) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement comment = connection.prepareStatement(
+                         "INSERT INTO comment (comment_id, board_id, parent_comment_id, path, depth, content, writer, created_date, modified_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement reply = connection.prepareStatement(
+                         "INSERT INTO reply (comment_id, content, writer, created_date, modified_date) VALUES (?, ?, ?, ?, ?)")) {
+
+                long commentId = 0;
+                for (long boardId = 1; boardId <= boards; boardId++) {
+                    board.setLong(1, boardId);
+                    board.setString(2, "Benchmark board " + boardId);
+                    board.setString(3, text(random, 400));
+                    board.setString(4, "writer" + random.nextInt(100));
+                    board.setInt(5, random.nextInt(1000));
+                    board.setTimestamp(6, now);
+                    board.setTimestamp(7, now);
+                    board.addBatch();
+
+                    for (int f = 0; f < filesPerBoard; f++) {
+                        file.setLong(1, boardId);
+                        file.setString(2, "attachment-" + f + ".pdf");
+                        file.setString(3, UUID.nameUUIDFromBytes((boardId + "-" + f).getBytes(StandardCharsets.UTF_8)) + ".pdf");
+                        file.setLong(4, 1024L + random.nextInt(1 << 20));
+                        file.setString(5, "application/pdf");
+                        file.setTimestamp(6, now);
+                        file.addBatch();
+                    }
+
+                    // Roughly half of the comments answer an earlier comment of the same board
+                    List<String> paths = new ArrayList<>();
+                    List<Long> ids = new ArrayList<>();
+                    for (int c = 0; c < commentsPerBoard; c++) {
+                        commentId++;
+                        Long parentId = null;
+                        String parentPath = null;
+                        if (!ids.isEmpty() && random.nextBoolean()) {
+                            int parent = random.nextInt(ids.size());
+                            parentId = ids.get(parent);
+                            parentPath = paths.get(parent);
+                        }
+                        String path = CommentPaths.childPath(parentPath, commentId);
+                        ids.add(commentId);
+                        paths.add(path);
+
+                        comment.setLong(1, commentId);
+                        comment.setLong(2, boardId);
+                        comment.setObject(3, parentId);
+                        comment.setString(4, path);
+                        comment.setInt(5, path.length() / CommentPaths.SEGMENT_LENGTH - 1);
+                        comment.setString(6, text(random, 120));
+                        comment.setString(7, "writer" + random.nextInt(100));
+                        comment.setTimestamp(8, now);
+                        comment.setTimestamp(9, now);
+                        comment.addBatch();
+
+                        for (int r = 0; r < repliesPerComment; r++) {
+                            reply.setLong(1, commentId);
+                            reply.setString(2, text(random, 80));
+                            reply.setString(3, "writer" + random.nextInt(100));
+                            reply.setTimestamp(4, now);
+                            reply.setTimestamp(5, now);
+                            reply.addBatch();
+                        }
+                    }
+
+                    if (boardId % 100 == 0 || boardId == boards) {
+                        board.executeBatch();
+                        file.executeBatch();
+                        comment.executeBatch();
+                        reply.executeBatch();
+                    }
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    private void createSchema(String dialect) throws Exception {
+        // The application's own MariaDB migrations; H2 in MariaDB mode runs them unchanged
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, MARIADB, migrator.migrate(dataSource, MARIADB));
+
+        if (ORACLE.equals(dialect)) {
+            String oracleSchema = new ClassPathResource("db/migration/oracle/V1__baseline.sql")
+                    .getContentAsString(StandardCharsets.UTF_8);
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                Matcher matcher = SEQUENCE.matcher(oracleSchema);
+                while (matcher.find()) {
+                    statement.execute(matcher.group().replace(";", ""));
+                }
+            }
+        }
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(i % 7 == 6 ? ' ' : (char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package org.zerock.board.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.zerock.board.model.Board;
+import org.zerock.board.repository.BoardRepository;
+import org.zerock.board.repository.CommentRepository;
+import org.zerock.board.repository.FileAttachmentRepository;
+import org.zerock.board.repository.ReplyRepository;
+import org.zerock.board.service.BoardServiceImpl;
+import org.zerock.board.service.ReplyBatchLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board detail loading (board, files, comments and their replies) and list pagination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardDetailBenchmark {
+
+    private static final int BOARDS = 2000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({BenchmarkDatabase.MARIADB, BenchmarkDatabase.ORACLE})
+    public String dialect;
+
+    @Param({"1", "50"})
+    public int page;
+
+    private BenchmarkDatabase database;
+    private BoardServiceImpl boardService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(dialect);
+        database.seed(BOARDS, 3, 20, 1);
+
+        boardService = new BoardServiceImpl(
+                database.mapper(BoardRepository.class),
+                database.mapper(FileAttachmentRepository.class),
+                database.bulkWriter(),
+                null, // FileStorage: detail and list reads do not touch attachment files
+                database.mapper(CommentRepository.class),
+                new ReplyBatchLoader(database.mapper(ReplyRepository.class)),
+                event -> { });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public Board boardDetail() {
+        // Spread over the data set instead of hitting one hot row
+        long boardId = 1 + (page * 37L) % BOARDS;
+        return boardService.getBoardById(boardId);
+    }
+
+    @Benchmark
+    public List<Board> boardListPage() {
+        return boardService.getBoardsWithPaging(page, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int boardCount() {
+        return boardService.getTotalBoardCount();
+    }
+}
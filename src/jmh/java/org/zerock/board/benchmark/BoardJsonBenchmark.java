@@ -0,0 +1,93 @@
+package org.zerock.board.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.zerock.board.model.Board;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.FileAttachment;
+import org.zerock.board.model.Reply;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a board detail graph (files, comments, replies) as returned by
+ * GET /api/boards/{boardId}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardJsonBenchmark {
+
+    @Param({"10", "200"})
+    public int comments;
+
+    private ObjectMapper objectMapper;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        // Same modules as the application's converter (JavaTimeModule for LocalDateTime)
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<FileAttachment> files = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            files.add(FileAttachment.builder()
+                    .fileId(i)
+                    .boardId(1L)
+                    .originalFilename("attachment-" + i + ".pdf")
+                    .storedFilename("3f2a9c1e-" + i + ".pdf")
+                    .fileSize(512_000L)
+                    .fileType("application/pdf")
+                    .createdDate(now)
+                    .build());
+        }
+
+        List<Comment> commentList = new ArrayList<>();
+        for (long i = 1; i <= comments; i++) {
+            List<Reply> replies = new ArrayList<>();
+            for (long r = 1; r <= 2; r++) {
+                replies.add(Reply.builder()
+                        .replyId(i * 10 + r)
+                        .commentId(i)
+                        .content("답글 내용입니다. reply " + r)
+                        .writer("writer" + r)
+                        .createdDate(now)
+                        .modifiedDate(now)
+                        .build());
+            }
+            commentList.add(Comment.builder()
+                    .commentId(i)
+                    .boardId(1L)
+                    .content("댓글 내용입니다. comment " + i)
+                    .writer("writer" + i % 10)
+                    .createdDate(now)
+                    .modifiedDate(now)
+                    .replies(replies)
+                    .build());
+        }
+
+        board = Board.builder()
+                .boardId(1L)
+                .title("벤치마크 게시글")
+                .content("게시글 내용입니다. ".repeat(50))
+                .writer("tester")
+                .viewCount(42)
+                .createdDate(now)
+                .modifiedDate(now)
+                .files(files)
+                .comments(commentList)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeBoard() throws Exception {
+        return objectMapper.writeValueAsBytes(board);
+    }
+}
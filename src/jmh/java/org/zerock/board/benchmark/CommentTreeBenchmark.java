@@ -0,0 +1,69 @@
+package org.zerock.board.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.zerock.board.dto.CommentPageResponseDTO;
+import org.zerock.board.model.Comment;
+import org.zerock.board.repository.CommentChangeRepository;
+import org.zerock.board.repository.CommentRepository;
+import org.zerock.board.repository.ReplyRepository;
+import org.zerock.board.service.CommentServiceImpl;
+import org.zerock.board.service.ReplyBatchLoader;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and assembling the comment tree of one board (thread query, reply batch
+ * loading and tree building), and the first page of the paged variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentTreeBenchmark {
+
+    private static final int BOARDS = 20;
+
+    @Param({BenchmarkDatabase.MARIADB, BenchmarkDatabase.ORACLE})
+    public String dialect;
+
+    @Param({"50", "500"})
+    public int commentsPerBoard;
+
+    private BenchmarkDatabase database;
+    private CommentServiceImpl commentService;
+    private long boardId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(dialect);
+        database.seed(BOARDS, 0, commentsPerBoard, 2);
+
+        ReplyRepository replyRepository = database.mapper(ReplyRepository.class);
+        commentService = new CommentServiceImpl(
+                database.mapper(CommentRepository.class),
+                replyRepository,
+                new ReplyBatchLoader(replyRepository),
+                database.mapper(CommentChangeRepository.class),
+                database.transactionTemplate(),
+                event -> { });
+        boardId = BOARDS / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Comment> nestedTree() {
+        return commentService.getCommentsByBoardIdWithNesting(boardId);
+    }
+
+    @Benchmark
+    public CommentPageResponseDTO firstPage() {
+        return commentService.getCommentPageByBoardId(boardId, null, 20, 3, 5);
+    }
+}
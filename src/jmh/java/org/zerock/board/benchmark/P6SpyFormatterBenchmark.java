@@ -0,0 +1,49 @@
+package org.zerock.board.benchmark;
+
+import com.p6spy.engine.logging.Category;
+import org.openjdk.jmh.annotations.*;
+import org.zerock.board.config.P6SpyPrettySqlFormatter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of formatting one logged statement, paid for every SQL statement while P6Spy is on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class P6SpyFormatterBenchmark {
+
+    private static final String SHORT_SQL = "SELECT * FROM board WHERE board_id = 1";
+
+    private static final String LONG_SQL = "SELECT c.comment_id, c.board_id, c.parent_comment_id, c.path, c.depth, "
+            + "c.content, c.writer, c.created_date, c.modified_date FROM comment c "
+            + "LEFT JOIN reply r ON r.comment_id = c.comment_id "
+            + "WHERE c.board_id = 1 AND c.path LIKE '0000000001/%' AND c.depth <= 3 "
+            + "GROUP BY c.comment_id ORDER BY c.path LIMIT 0, 20";
+
+    private final P6SpyPrettySqlFormatter formatter = new P6SpyPrettySqlFormatter();
+
+    @Param({"short", "long"})
+    public String statement;
+
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        sql = "short".equals(statement) ? SHORT_SQL : LONG_SQL;
+    }
+
+    @Benchmark
+    public String formatStatement() {
+        return formatter.formatMessage(1, "0", 3, Category.STATEMENT.getName(), sql, sql, "jdbc:mariadb://localhost/board_db");
+    }
+
+    @Benchmark
+    public String formatCommit() {
+        return formatter.formatMessage(1, "0", 0, Category.COMMIT.getName(), "", "", "jdbc:mariadb://localhost/board_db");
+    }
+}
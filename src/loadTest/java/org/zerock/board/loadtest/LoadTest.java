@@ -0,0 +1,140 @@
+package org.zerock.board.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.zerock.board.BoardApplication;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP load test of the REST API.
+ *
+ * Usage: ./gradlew loadTest -PloadTestArgs="--rate=300 --duration-seconds=120 --p99.board-detail=100"
+ *
+ * Without --target the application is started in-process on a random port against an
+ * in-memory H2 database in MariaDB mode, so the run needs no external services.
+ * Test data is created through the API, then the operation mix is sent at a fixed rate.
+ * Results (per operation HDR histograms and a summary) go to build/reports/load-test;
+ * the process exits with status 1 when a threshold is exceeded.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        ConfigurableApplicationContext application = null;
+        String baseUrl = options.target;
+        if (baseUrl.isEmpty()) {
+            application = startApplication();
+            baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+        }
+
+        int exitCode;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Seeding %d boards, %d layouts at %s%n", options.boards, options.layouts, baseUrl);
+            TestData data = TestData.seed(client, baseUrl, options);
+            if (data.fileIds().isEmpty()) {
+                options.mix.remove(Operation.FILE_DOWNLOAD);
+            }
+
+            System.out.printf("Running %.0f req/s for %ds after %ds warmup: %s%n",
+                    options.rate, options.duration.toSeconds(), options.warmup.toSeconds(), options.mix);
+            Map<Operation, OpenModelDriver.Result> results = new OpenModelDriver(client, data, options).run();
+
+            exitCode = report(options, results) ? 0 : 1;
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext startApplication() {
+        String database = "jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(BoardApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.database.type=mariadb",
+                        "spring.datasource.mariadb.driver-class-name=org.h2.Driver",
+                        "spring.datasource.mariadb.jdbc-url=" + database,
+                        "spring.datasource.mariadb.username=sa",
+                        "spring.datasource.mariadb.password=",
+                        // Uploads and downloads use the same local directory
+                        "file.upload.directory=files",
+                        "logging.level.org.zerock.board=INFO",
+                        "logging.level.org.mybatis=INFO",
+                        "monitoring.budget-mode=LOG")
+                .run();
+    }
+
+    // Print and write the results; false when a threshold was exceeded
+    private static boolean report(LoadTestOptions options, Map<Operation, OpenModelDriver.Result> results) throws Exception {
+        Path directory = Path.of(options.reportDirectory);
+        Files.createDirectories(directory);
+
+        List<String> violations = new ArrayList<>();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "%-18s %8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        long totalCount = 0;
+        double totalThroughput = 0;
+        for (Map.Entry<Operation, OpenModelDriver.Result> entry : results.entrySet()) {
+            Operation operation = entry.getKey();
+            OpenModelDriver.Result result = entry.getValue();
+            totalCount += result.count();
+            totalThroughput += result.throughput();
+
+            summary.append(String.format(Locale.ROOT, "%-18s %8d %9.1f %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.displayName(), result.count(), result.throughput(), result.errors.get(),
+                    result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+                    result.percentileMillis(99.9), result.histogram.getMaxValue() / 1e6));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(operation.displayName() + ".hgrm")))) {
+                // Percentile distribution in milliseconds, readable by the HdrHistogram plotter
+                result.histogram.outputPercentileDistribution(out, 1e6);
+            }
+
+            double p99 = result.percentileMillis(99);
+            if (p99 > options.p99Threshold(operation)) {
+                violations.add(String.format(Locale.ROOT, "%s p99 %.1f ms > %.1f ms",
+                        operation.displayName(), p99, options.p99Threshold(operation)));
+            }
+            if (result.errorRate() > options.maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "%s error rate %.2f%% > %.2f%%",
+                        operation.displayName(), result.errorRate() * 100, options.maxErrorRate * 100));
+            }
+        }
+
+        summary.append(String.format(Locale.ROOT, "%-18s %8d %9.1f%n", "total", totalCount, totalThroughput));
+        if (totalThroughput < options.rate * options.minThroughputRatio) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s < %.0f%% of %.1f req/s",
+                    totalThroughput, options.minThroughputRatio * 100, options.rate));
+        }
+        for (String violation : violations) {
+            summary.append("THRESHOLD EXCEEDED: ").append(violation).append(System.lineSeparator());
+        }
+
+        System.out.print(summary);
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        return violations.isEmpty();
+    }
+}
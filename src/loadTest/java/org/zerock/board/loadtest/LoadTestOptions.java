@@ -0,0 +1,91 @@
+package org.zerock.board.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of LoadTest, given as --name=value.
+ *
+ * --mix=board-detail:30,comments-nested:20,... sets operation weights (see Operation).
+ * --p99.board-detail=150 sets a per-operation p99 threshold in milliseconds that
+ * overrides --max-p99-ms.
+ */
+final class LoadTestOptions {
+
+    final String target;           // base URL of a running server; empty boots the application in-process
+    final double rate;             // requests per second over all operations
+    final Duration warmup;
+    final Duration duration;
+    final long seed;
+    final int boards;              // boards created before the run
+    final int commentsPerBoard;
+    final int layouts;
+    final Map<Operation, Integer> mix;
+    final double maxP99Ms;
+    final Map<Operation, Double> p99Ms;
+    final double maxErrorRate;
+    final double minThroughputRatio; // achieved / requested rate
+    final String reportDirectory;
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.target = values.getOrDefault("target", "");
+        this.rate = Double.parseDouble(values.getOrDefault("rate", "200"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "60")));
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.boards = Integer.parseInt(values.getOrDefault("boards", "200"));
+        this.commentsPerBoard = Integer.parseInt(values.getOrDefault("comments-per-board", "10"));
+        this.layouts = Integer.parseInt(values.getOrDefault("layouts", "20"));
+        this.mix = parseMix(values.getOrDefault("mix", Operation.defaultMix()));
+        this.maxP99Ms = Double.parseDouble(values.getOrDefault("max-p99-ms", "500"));
+        this.maxErrorRate = Double.parseDouble(values.getOrDefault("max-error-rate", "0.01"));
+        this.minThroughputRatio = Double.parseDouble(values.getOrDefault("min-throughput-ratio", "0.95"));
+        this.reportDirectory = values.getOrDefault("report-dir", "build/reports/load-test");
+
+        this.p99Ms = new EnumMap<>(Operation.class);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith("p99.")) {
+                p99Ms.put(Operation.byName(entry.getKey().substring(4)), Double.parseDouble(entry.getValue()));
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    double p99Threshold(Operation operation) {
+        return p99Ms.getOrDefault(operation, maxP99Ms);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + part);
+            }
+            int weight = Integer.parseInt(entry[1]);
+            if (weight > 0) {
+                weights.put(Operation.byName(entry[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,130 @@
+package org.zerock.board.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests start at fixed intervals whether or not earlier
+ * requests have finished, each on its own virtual thread. Latency is measured from the
+ * intended start time, so a stalled server shows up as queueing delay in the results
+ * instead of silently lowering the request rate (no coordinated omission).
+ */
+final class OpenModelDriver {
+
+    // Latencies up to one minute at three significant digits
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client;
+    private final TestData data;
+    private final LoadTestOptions options;
+    private final Operation[] schedule;
+    private final Map<Operation, Result> results = new EnumMap<>(Operation.class);
+
+    OpenModelDriver(HttpClient client, TestData data, LoadTestOptions options) {
+        this.client = client;
+        this.data = data;
+        this.options = options;
+
+        // Weighted mix as a lookup table: one slot per unit of weight
+        int total = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.schedule = new Operation[total];
+        int slot = 0;
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[slot++] = entry.getKey();
+            }
+            results.put(entry.getKey(), new Result());
+        }
+    }
+
+    /**
+     * Run warmup and measurement; only requests intended to start after the warmup are recorded.
+     */
+    Map<Operation, Result> run() throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.rate);
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        SplittableRandom random = new SplittableRandom(options.seed);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                HttpRequest request = operation.request(data, random.split());
+                boolean measured = intended >= measureFrom;
+                executor.execute(() -> execute(operation, request, intended, measured));
+            }
+            // Closing the executor waits for the requests still in flight
+        }
+
+        long measuredNanos = Math.max(1, end - measureFrom);
+        for (Result result : results.values()) {
+            result.elapsed = Duration.ofNanos(measuredNanos);
+        }
+        return results;
+    }
+
+    private void execute(Operation operation, HttpRequest request, long intended, boolean measured) {
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (Exception e) {
+            ok = false;
+        }
+        if (measured) {
+            results.get(operation).record(System.nanoTime() - intended, ok);
+        }
+    }
+
+    static final class Result {
+        final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        final AtomicLong errors = new AtomicLong();
+        Duration elapsed = Duration.ZERO;
+
+        private void record(long latencyNanos, boolean ok) {
+            histogram.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        long count() {
+            return histogram.getTotalCount();
+        }
+
+        double throughput() {
+            return count() / (elapsed.toNanos() / 1e9);
+        }
+
+        double errorRate() {
+            return count() == 0 ? 0 : (double) errors.get() / count();
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
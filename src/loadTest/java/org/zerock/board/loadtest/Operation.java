@@ -0,0 +1,93 @@
+package org.zerock.board.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Requests the load test can send. Each builds its request from the ids created while
+ * seeding, picking rows with a skew towards "hot" boards like real traffic.
+ */
+enum Operation {
+
+    BOARD_LIST("board-list", 15, (data, random) ->
+            get(data, "/api/boards?page=" + (1 + random.nextInt(Math.max(1, data.boardIds().size() / 10))) + "&size=10")),
+
+    BOARD_DETAIL("board-detail", 30, (data, random) ->
+            get(data, "/api/boards/" + data.hotBoard(random))),
+
+    COMMENTS_NESTED("comments-nested", 15, (data, random) ->
+            get(data, "/api/comments/board/" + data.hotBoard(random) + "/nested")),
+
+    COMMENT_PAGE("comment-page", 10, (data, random) ->
+            get(data, "/api/comments/board/" + data.hotBoard(random) + "/top-level")),
+
+    COMMENT_CREATE("comment-create", 5, (data, random) ->
+            request(data, "/api/comments")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"boardId\":" + data.hotBoard(random)
+                            + ",\"content\":\"load test comment " + random.nextInt(1_000_000) + "\",\"writer\":\"load-test\"}"))
+                    .build()),
+
+    FILE_LIST("file-list", 10, (data, random) ->
+            get(data, "/api/files/board/" + data.hotBoard(random))),
+
+    FILE_DOWNLOAD("file-download", 5, (data, random) ->
+            get(data, "/api/files/" + data.fileIds().get(random.nextInt(data.fileIds().size())))),
+
+    LAYOUT_GET("layout-get", 8, (data, random) ->
+            get(data, "/api/screen-layouts/" + data.layoutIds().get(random.nextInt(data.layoutIds().size())))),
+
+    LAYOUT_CARD_PATCH("layout-card-patch", 2, (data, random) ->
+            request(data, "/api/screen-layouts/" + data.layoutIds().get(random.nextInt(data.layoutIds().size())) + "/cards/LEFT_1")
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"expanded\":" + random.nextBoolean() + "}"))
+                    .build());
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String name;
+    private final int defaultWeight;
+    private final BiFunction<TestData, SplittableRandom, HttpRequest> requestFactory;
+
+    Operation(String name, int defaultWeight, BiFunction<TestData, SplittableRandom, HttpRequest> requestFactory) {
+        this.name = name;
+        this.defaultWeight = defaultWeight;
+        this.requestFactory = requestFactory;
+    }
+
+    String displayName() {
+        return name;
+    }
+
+    HttpRequest request(TestData data, SplittableRandom random) {
+        return requestFactory.apply(data, random);
+    }
+
+    static Operation byName(String name) {
+        for (Operation operation : values()) {
+            if (operation.name.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + name);
+    }
+
+    static String defaultMix() {
+        StringBuilder mix = new StringBuilder();
+        for (Operation operation : values()) {
+            mix.append(mix.isEmpty() ? "" : ",").append(operation.name).append(':').append(operation.defaultWeight);
+        }
+        return mix.toString();
+    }
+
+    private static HttpRequest get(TestData data, String path) {
+        return request(data, path).GET().build();
+    }
+
+    private static HttpRequest.Builder request(TestData data, String path) {
+        return HttpRequest.newBuilder(URI.create(data.baseUrl() + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
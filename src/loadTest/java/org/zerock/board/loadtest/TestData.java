@@ -0,0 +1,112 @@
+package org.zerock.board.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Ids of the rows created through the REST API before the run.
+ */
+record TestData(String baseUrl, List<Long> boardIds, List<Long> fileIds, List<Long> layoutIds) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] POSITIONS = {"LEFT_1", "LEFT_2", "RIGHT_1", "RIGHT_2"};
+
+    /**
+     * A board id skewed towards the first boards: a few boards get most of the traffic.
+     */
+    long hotBoard(SplittableRandom random) {
+        double u = random.nextDouble();
+        return boardIds.get((int) (boardIds.size() * u * u * u));
+    }
+
+    /**
+     * Create boards (every fourth with an attachment), comments and screen layouts.
+     */
+    static TestData seed(HttpClient client, String baseUrl, LoadTestOptions options) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        List<Long> boardIds = new ArrayList<>();
+        List<Long> fileIds = new ArrayList<>();
+        List<Long> layoutIds = new ArrayList<>();
+
+        for (int b = 0; b < options.boards; b++) {
+            long boardId = createBoard(client, baseUrl, b, b % 4 == 0, random);
+            boardIds.add(boardId);
+            for (int c = 0; c < options.commentsPerBoard; c++) {
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/comments"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"boardId\":" + boardId
+                                + ",\"content\":\"comment " + c + "\",\"writer\":\"seed\"}"))
+                        .build(), 201);
+            }
+            if (b % 4 == 0) {
+                JsonNode files = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/files/board/" + boardId)).GET().build(), 200);
+                for (JsonNode file : files) {
+                    fileIds.add(file.get("fileId").asLong());
+                }
+            }
+        }
+
+        for (int l = 0; l < options.layouts; l++) {
+            StringBuilder body = new StringBuilder("{\"name\":\"load test layout " + l + "\",\"cards\":[");
+            for (int p = 0; p < POSITIONS.length; p++) {
+                body.append(p == 0 ? "" : ",")
+                        .append("{\"position\":\"").append(POSITIONS[p]).append("\",\"title\":\"card ").append(p).append("\"}");
+            }
+            body.append("],\"centralMenu\":{\"priority\":false,\"expanded\":true}}");
+
+            JsonNode created = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/screen-layouts"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build(), 201);
+            layoutIds.add(created.get("layoutId").asLong());
+        }
+
+        return new TestData(baseUrl, List.copyOf(boardIds), List.copyOf(fileIds), List.copyOf(layoutIds));
+    }
+
+    private static long createBoard(HttpClient client, String baseUrl, int index, boolean withFile, SplittableRandom random)
+            throws IOException, InterruptedException {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        String board = "{\"title\":\"load test board " + index + "\",\"content\":\"" + "content ".repeat(20 + random.nextInt(200))
+                + "\",\"writer\":\"seed\"}";
+
+        StringBuilder body = new StringBuilder()
+                .append("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"board\"\r\n")
+                .append("Content-Type: application/json\r\n\r\n")
+                .append(board).append("\r\n");
+        if (withFile) {
+            body.append("--").append(boundary).append("\r\n")
+                    .append("Content-Disposition: form-data; name=\"files\"; filename=\"attachment-").append(index).append(".txt\"\r\n")
+                    .append("Content-Type: text/plain\r\n\r\n")
+                    .append("x".repeat(1024 + random.nextInt(64 * 1024))).append("\r\n");
+        }
+        body.append("--").append(boundary).append("--\r\n");
+
+        JsonNode created = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/boards"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                .build(), 201);
+        return created.get("boardId").asLong();
+    }
+
+    private static JsonNode send(HttpClient client, HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("Seeding failed: " + request.method() + " " + request.uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return OBJECT_MAPPER.readTree(response.body());
+    }
+}
@@ -2,12 +2,19 @@ package org.zerock.board;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class BoardApplication {
 
+    // Startup steps kept for the startup profile (about one per bean); later steps are dropped
+    private static final int STARTUP_STEP_CAPACITY = 10000;
+
     public static void main(String[] args) {
-        SpringApplication.run(BoardApplication.class, args);
+        SpringApplication application = new SpringApplication(BoardApplication.class);
+        // Records bean instantiation and context phases for the startup profile (see StartupProfiler)
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,27 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "board.events")
+public class BoardEventConfig {
+
+    // Events buffered per subscriber before it is treated as a slow consumer and evicted
+    private int subscriberBufferSize = 256;
+
+    // Recent events kept in memory for Last-Event-ID resume (shared by all boards)
+    private int replaySize = 4096;
+
+    // Upper bound of open streams on this node
+    private int maxSubscribers = 10000;
+
+    private long heartbeatIntervalMs = 15000;
+
+    // Streams are closed after this time; clients reconnect with Last-Event-ID
+    private long emitterTimeoutMs = 1800000;
+}
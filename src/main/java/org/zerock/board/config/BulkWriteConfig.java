@@ -0,0 +1,16 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "bulk-write")
+public class BulkWriteConfig {
+
+    // Rows sent to the database per JDBC batch (executeBatch)
+    private int batchSize = 500;
+}
@@ -0,0 +1,22 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "comment-change")
+public class CommentChangeConfig {
+
+    // Changes older than this are deleted; a client whose token is older has to reload the thread (0 keeps all)
+    private int retentionDays = 7;
+
+    // Interval of the retention delete
+    private long pruneIntervalMinutes = 60;
+
+    // Rows deleted per statement, so no delete holds locks on a large range
+    private int pruneBatchSize = 1000;
+}
@@ -0,0 +1,50 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "connection-pool")
+public class ConnectionPoolConfig {
+
+    // Settings per routing target, keyed by "mariadb" and "oracle"; missing targets use the defaults below
+    private Map<String, PoolSettings> targets = new HashMap<>();
+
+    public PoolSettings forTarget(String target) {
+        return targets.getOrDefault(target, new PoolSettings());
+    }
+
+    @Getter
+    @Setter
+    public static class PoolSettings {
+
+        private int maximumPoolSize = 10;
+
+        // Idle connections kept open; -1 keeps the pool fixed at maximumPoolSize
+        private int minimumIdle = -1;
+
+        // How long getConnection() waits for a free connection before failing
+        private long connectionTimeoutMs = 30000;
+
+        private long idleTimeoutMs = 600000;
+
+        // Should be a few seconds below the database's or firewall's connection time limit
+        private long maxLifetimeMs = 1800000;
+
+        // Logs a warning with the borrowing stack trace for connections held longer than this; 0 disables it
+        private long leakDetectionThresholdMs = 0;
+
+        // Prepared statements cached per connection by the driver; 0 disables the cache
+        private int statementCacheSize = 250;
+
+        // Further driver properties, passed to the JDBC driver unchanged
+        private Map<String, String> dataSourceProperties = new HashMap<>();
+    }
+}
@@ -1,5 +1,9 @@
 package org.zerock.board.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -7,8 +11,9 @@ import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.zerock.board.monitoring.ConnectionPools;
+import org.zerock.board.monitoring.ConnectionTimingDataSource;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
@@ -36,11 +41,15 @@ public class DatabaseConfig {
         currentDatabase.set(databaseType);
     }
 
-    // MariaDB DataSource
+    // MariaDB DataSource (URL and credentials are bound from spring.datasource.mariadb.*)
     @Bean
     @ConfigurationProperties(prefix = "spring.datasource.mariadb")
-    public DataSource mariadbDataSource() {
-        return DataSourceBuilder.create().build();
+    public DataSource mariadbDataSource(ConnectionPoolConfig connectionPoolConfig, ConnectionPools connectionPools,
+                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        configurePool(dataSource, "mariadb", connectionPoolConfig, meterRegistry);
+        connectionPools.register("mariadb", dataSource);
+        return dataSource;
     }
 
     // Oracle DataSource properties
@@ -59,16 +68,50 @@ public class DatabaseConfig {
     // Oracle DataSource
     @Bean
     @org.springframework.context.annotation.Lazy
-    public DataSource oracleDataSource() {
-        // Use DataSourceBuilder to create the actual DataSource
-        DataSourceBuilder<?> builder = DataSourceBuilder.create();
-        builder.url(oracleJdbcUrl);
-        builder.username(oracleUsername);
-        builder.password(oraclePassword);
-        builder.driverClassName(oracleDriverClassName);
-
-        // Wrap in LazyConnectionDataSourceProxy to defer connection until actually used
-        return new LazyConnectionDataSourceProxy(builder.build());
+    public DataSource oracleDataSource(ConnectionPoolConfig connectionPoolConfig, ConnectionPools connectionPools,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(oracleJdbcUrl)
+                .username(oracleUsername)
+                .password(oraclePassword)
+                .driverClassName(oracleDriverClassName)
+                .build();
+
+        // No connection is opened before the first getConnection(), so the pool is exposed directly
+        configurePool(dataSource, "oracle", connectionPoolConfig, meterRegistry);
+        connectionPools.register("oracle", dataSource);
+        return dataSource;
+    }
+
+    // Helper method to apply the connection-pool.targets.{target} settings and publish hikaricp.* metrics
+    private static void configurePool(HikariDataSource dataSource, String target, ConnectionPoolConfig connectionPoolConfig,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        ConnectionPoolConfig.PoolSettings settings = connectionPoolConfig.forTarget(target);
+
+        dataSource.setPoolName("board-" + target);
+        dataSource.setMaximumPoolSize(settings.getMaximumPoolSize());
+        dataSource.setMinimumIdle(settings.getMinimumIdle() < 0 ? settings.getMaximumPoolSize() : settings.getMinimumIdle());
+        dataSource.setConnectionTimeout(settings.getConnectionTimeoutMs());
+        dataSource.setIdleTimeout(settings.getIdleTimeoutMs());
+        dataSource.setMaxLifetime(settings.getMaxLifetimeMs());
+        dataSource.setLeakDetectionThreshold(settings.getLeakDetectionThresholdMs());
+
+        // Driver-side prepared statement cache, so repeated statement texts are not parsed again
+        int cacheSize = settings.getStatementCacheSize();
+        if ("oracle".equals(target)) {
+            dataSource.addDataSourceProperty("oracle.jdbc.implicitStatementCacheSize", String.valueOf(cacheSize));
+        } else {
+            dataSource.addDataSourceProperty("useServerPrepStmts", String.valueOf(cacheSize > 0));
+            dataSource.addDataSourceProperty("cachePrepStmts", String.valueOf(cacheSize > 0));
+            dataSource.addDataSourceProperty("prepStmtCacheSize", String.valueOf(cacheSize));
+        }
+        settings.getDataSourceProperties().forEach(dataSource::addDataSourceProperty);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
     }
 
     // Routing DataSource that switches between MariaDB and Oracle
@@ -103,7 +146,10 @@ public class DatabaseConfig {
 
         routingDataSource.setTargetDataSources(targetDataSources);
         routingDataSource.setDefaultTargetDataSource(mariadbDataSource); // Default to MariaDB
+        // Initialized here because Spring only sees the timing wrapper below
+        routingDataSource.afterPropertiesSet();
 
-        return routingDataSource;
+        // Records connection wait time per request for the Server-Timing header
+        return new ConnectionTimingDataSource(routingDataSource);
     }
 }
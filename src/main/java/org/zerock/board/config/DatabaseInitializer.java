@@ -1,22 +1,32 @@
 package org.zerock.board.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.zerock.board.migration.Migration;
+import org.zerock.board.migration.SchemaMigrator;
 
 import javax.sql.DataSource;
+import java.util.List;
 
+@Slf4j
 @Configuration
 public class DatabaseInitializer {
 
     @Value("${spring.database.type:mariadb}")
     private String databaseType;
 
+    // First runner: the warmup runner relies on the migrated schema and the database type set here
     @Bean
-    public CommandLineRunner initDatabase(DataSource dataSource) {
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner initDatabase(DataSource dataSource, SchemaMigrator schemaMigrator, MigrationConfig migrationConfig,
+                                          ApplicationStartup applicationStartup) {
         return args -> {
             // Set the current database type based on configuration
             DatabaseConfig.DatabaseType dbType = "oracle".equalsIgnoreCase(databaseType)
@@ -25,16 +35,33 @@ public class DatabaseInitializer {
 
             DatabaseConfig.setCurrentDatabase(dbType);
 
-            // Load the appropriate schema file
-            String schemaFile = "oracle".equalsIgnoreCase(databaseType)
-                ? "schema-oracle.sql"
-                : "schema.sql";
+            if (!migrationConfig.isEnabled()) {
+                log.info("Schema migration disabled");
+                return;
+            }
 
-            ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-            populator.addScript(new ClassPathResource(schemaFile));
-            populator.execute(dataSource);
+            // Apply pending migrations; existing data is kept
+            String databaseId = dbType == DatabaseConfig.DatabaseType.ORACLE ? "oracle" : "mariadb";
+            // Recorded as a startup step, so the migration shows up in /actuator/startupTimeline
+            StartupStep step = applicationStartup.start("board.schema.migrate").tag("database", databaseId);
+            List<Migration> online;
+            try {
+                online = schemaMigrator.migrate(dataSource, databaseId);
+            } finally {
+                step.end();
+            }
 
-            System.out.println("Database initialized with " + databaseType + " schema");
+            // Online migrations (e.g. new indexes on large tables) run while the application serves requests
+            if (!online.isEmpty()) {
+                Thread.ofVirtual().name("schema-migration").start(() -> {
+                    DatabaseConfig.setCurrentDatabase(dbType);
+                    try {
+                        schemaMigrator.applyPending(dataSource, databaseId, online);
+                    } catch (Exception e) {
+                        log.error("Online schema migration failed; it is retried on the next start", e);
+                    }
+                });
+            }
         };
     }
 }
@@ -2,64 +2,59 @@ package org.zerock.board.config;
 
 import lombok.Getter;
 import lombok.Setter;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
-import jakarta.annotation.PostConstruct;
 import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.InvalidPathException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 
-@Slf4j
+/**
+ * Upload storage settings. The directory (typically a NAS share) is not touched during startup:
+ * FileStorage checks it in the background and spools uploads locally while it is unavailable.
+ */
 @Getter
 @Setter
 @Configuration
 @ConfigurationProperties(prefix = "file.upload")
 public class FileUploadConfig {
 
+    // Upload directory, usually a UNC path on the NAS
     private String directory;
 
-    @PostConstruct
-    public void init() {
-        try {
-            // 경로 검증 및 정규화
-            String normalizedDirectory = normalizeDirectory(directory);
+    // Local directory holding uploads while the NAS is unavailable, until they are replicated to it
+    private String spoolDirectory = "upload-spool";
 
-            Path uploadPath = Paths.get(normalizedDirectory);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-                log.info("파일 업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
-            } else {
-                log.info("파일 업로드 디렉토리 확인: {}", uploadPath.toAbsolutePath());
-            }
-        } catch (InvalidPathException e) {
-            log.error("잘못된 경로 형식: {}", directory, e);
-            // 기본 경로로 대체
-            initWithDefaultDirectory();
-        } catch (Exception e) {
-            log.error("파일 업로드 디렉토리 생성 실패: {}", directory, e);
-            // 기본 경로로 대체
-            initWithDefaultDirectory();
-        }
-    }
+    // Longest wait for a single NAS call (write, lookup, delete, health check)
+    private long timeoutMs = 3000;
+
+    // Longest wait for copying a file from the NAS for a download (up to the 10MB upload limit)
+    private long readTimeoutMs = 15000;
+
+    // Interval of the background NAS health check, which also replicates spooled files
+    private long healthCheckIntervalSeconds = 10;
+
+    // Failed NAS calls in a row that open the circuit
+    private int failureThreshold = 3;
+
+    // How long an open circuit sends uploads straight to the spool before a NAS call is tried again
+    private long openSeconds = 30;
 
-    private String normalizeDirectory(String dir) {
-        if (dir == null || dir.trim().isEmpty()) {
-            return getDefaultDirectory();
+    /**
+     * The configured directory, normalized; user.dir/uploads when none is configured.
+     */
+    public String resolveDirectory() {
+        if (directory == null || directory.trim().isEmpty()) {
+            return System.getProperty("user.dir") + File.separator + "uploads" + File.separator;
         }
 
         // 경로 정규화
-        String normalized = dir.trim();
+        String normalized = directory.trim();
 
         // Windows UNC 경로 처리
         if (normalized.startsWith("\\\\")) {
             // UNC 경로에서 잘못된 문자 제거
             normalized = normalized.replaceAll("[<>:\"|?*]", "");
-            // 연속된 백슬래시 정리
-            normalized = normalized.replaceAll("\\\\+", "\\\\");
+            // 연속된 백슬래시 정리 (UNC 접두사 \\ 는 유지)
+            normalized = "\\\\" + normalized.substring(2).replaceAll("\\\\+", "\\\\");
         }
 
         // 경로 끝에 슬래시 추가
@@ -69,26 +64,4 @@ public class FileUploadConfig {
 
         return normalized;
     }
-
-    private String getDefaultDirectory() {
-        return System.getProperty("user.dir") + File.separator + "uploads" + File.separator;
-    }
-
-    private void initWithDefaultDirectory() {
-        try {
-            String defaultDir = getDefaultDirectory();
-            Path uploadPath = Paths.get(defaultDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-                log.info("기본 파일 업로드 디렉토리 생성: {}", uploadPath.toAbsolutePath());
-            } else {
-                log.info("기본 파일 업로드 디렉토리 사용: {}", uploadPath.toAbsolutePath());
-            }
-            // 설정 값을 기본 경로로 업데이트
-            this.directory = defaultDir;
-        } catch (Exception e) {
-            log.error("기본 디렉토리 생성도 실패했습니다.", e);
-            throw new RuntimeException("파일 업로드 디렉토리 초기화 실패", e);
-        }
-    }
 }
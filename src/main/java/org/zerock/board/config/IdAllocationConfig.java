@@ -0,0 +1,19 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "id-allocation")
+public class IdAllocationConfig {
+
+    // Sequence values fetched per round trip (Oracle); unused values are lost on shutdown
+    private int blockSize = 50;
+
+    // The next block is fetched in the background once this many values of the current block are left
+    private int refillThreshold = 10;
+}
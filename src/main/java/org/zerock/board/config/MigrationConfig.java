@@ -0,0 +1,24 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "schema.migration")
+public class MigrationConfig {
+
+    private boolean enabled = true;
+
+    // Scripts are read from {location}/{mariadb|oracle}/V{version}__{description}.sql
+    private String location = "db/migration";
+
+    // How long a node waits for a migration another node is applying
+    private long lockWaitSeconds = 600;
+
+    // Refuse to start when an applied script was modified afterwards
+    private boolean validateChecksums = true;
+}
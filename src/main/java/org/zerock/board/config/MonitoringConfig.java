@@ -0,0 +1,47 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "monitoring")
+public class MonitoringConfig {
+
+    public enum BudgetMode {
+        LOG, FAIL
+    }
+
+    // Adds the Server-Timing header (db, conn, ser, total) to every response; it shows DB timings
+    // to any client, so keep it off outside dev and test
+    private boolean enabled = false;
+
+    // LOG writes a warning after the request, FAIL answers 500 at the first statement over the
+    // budget, before the response body is written (meant for tests)
+    private BudgetMode budgetMode = BudgetMode.LOG;
+
+    // Statement budget of endpoints without a matching entry in budgets; 0 disables it
+    private int defaultMaxStatements = 0;
+
+    // Per-endpoint budgets, the first matching entry wins
+    private List<StatementBudget> budgets = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class StatementBudget {
+
+        // HTTP method, or null for any method
+        private String method;
+
+        // Ant-style path pattern, e.g. /api/comments/board/*
+        private String pattern;
+
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,25 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "screen-layout.write-buffer")
+public class ScreenLayoutBufferConfig {
+
+    // Buffered state is written once no change arrived for this long
+    private long quietPeriodMs = 500;
+
+    // ...or at the latest this long after the first buffered change
+    private long maxDelayMs = 3000;
+
+    // Attempts before buffered state of a layout is dropped after repeated write failures
+    private int maxFlushAttempts = 3;
+
+    // Wait before the first retry of a failed write, doubled for each further attempt
+    private long retryBackoffMs = 500;
+}
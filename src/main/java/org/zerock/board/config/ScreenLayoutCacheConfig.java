@@ -0,0 +1,17 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "screen-layout.cache")
+public class ScreenLayoutCacheConfig {
+
+    // Cached layouts are reloaded after this long. Writes on this node invalidate at once; writes on
+    // other nodes become visible here (with their new version/ETag) within this time. 0 disables the cache
+    private long ttlMs = 2000;
+}
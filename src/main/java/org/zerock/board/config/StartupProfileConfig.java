@@ -0,0 +1,45 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "startup-profile")
+public class StartupProfileConfig {
+
+    // Builds the startup profile once the application is ready
+    private boolean enabled = true;
+
+    // The profile of the last start is written here as latest.json; set it per deployment
+    // (relative paths are resolved against the working directory)
+    private String directory = Path.of(System.getProperty("java.io.tmpdir"), "board-startup-profiles").toString();
+
+    // Profile compared with the current one (default: baseline.json in the directory); a missing file skips the comparison
+    private String baseline;
+
+    // A phase or bean regressed when it got this much slower than in the baseline...
+    private double maxRegressionPercent = 25;
+
+    // ...and by at least this many milliseconds (small steps vary a lot between runs)
+    private long minRegressionMs = 100;
+
+    // Slowest beans listed in the profile
+    private int topBeans = 50;
+
+    public Path resolveDirectory() {
+        return Path.of(directory).toAbsolutePath();
+    }
+
+    public Path resolveBaseline() {
+        if (baseline == null || baseline.isBlank()) {
+            return resolveDirectory().resolve("baseline.json");
+        }
+        return Path.of(baseline).toAbsolutePath();
+    }
+}
@@ -0,0 +1,31 @@
+package org.zerock.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupConfig {
+
+    // Runs the warmup before the application reports readiness
+    private boolean enabled = false;
+
+    // Readiness is reported after this long even if the warmup has not finished
+    private long timeoutSeconds = 60;
+
+    // Recorded requests replayed against the local server
+    private String requestsLocation = "classpath:warmup/requests.txt";
+
+    // Passes over the recorded requests, so the hot paths get JIT-compiled
+    private int replayIterations = 3;
+
+    // Boards with the highest view count loaded through the service and used for {boardId}
+    private int hotBoards = 20;
+
+    // Most recent layouts loaded into the layout cache and used for {layoutId}
+    private int hotLayouts = 10;
+}
@@ -1,28 +1,26 @@
 package org.zerock.board.config;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.zerock.board.monitoring.TimingJackson2HttpMessageConverter;
+
+import java.util.List;
 
 @Configuration
-@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
-    private final FileUploadConfig fileUploadConfig;
-
     @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String uploadDirectory = fileUploadConfig.getDirectory();
-
-        // NAS 경로 정규화
-        String resourceLocation = "file:" + uploadDirectory.replace("\\", "/");
-        if (!resourceLocation.endsWith("/")) {
-            resourceLocation += "/";
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Swap the JSON converter for one that reports serialization time in Server-Timing
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jsonConverter
+                    && !(jsonConverter instanceof TimingJackson2HttpMessageConverter)) {
+                ObjectMapper objectMapper = jsonConverter.getObjectMapper();
+                converters.set(i, new TimingJackson2HttpMessageConverter(objectMapper));
+            }
         }
-
-        registry.addResourceHandler("/files/**")
-                .addResourceLocations(resourceLocation)
-                .setCachePeriod(3600);
     }
 }
@@ -10,9 +10,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.board.dto.CommentChangesResponseDTO;
+import org.zerock.board.dto.CommentPageResponseDTO;
 import org.zerock.board.dto.CommentResponseDTO;
+import org.zerock.board.event.BoardEventBroadcaster;
 import org.zerock.board.model.Comment;
 import org.zerock.board.service.CommentService;
 
@@ -26,6 +31,7 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    private final BoardEventBroadcaster boardEventBroadcaster;
 
     @Operation(summary = "새 댓글 작성", description = "게시글에 새 댓글을 작성합니다")
     @ApiResponses(value = {
@@ -83,18 +89,56 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
-    @Operation(summary = "게시글 ID로 계층형 댓글 조회", description = "특정 게시글의 모든 댓글을 계층형 구조로 반환합니다")
+    @Operation(summary = "게시글 ID로 계층형 댓글 조회",
+            description = "특정 게시글의 최상위 댓글을 페이지 단위로 반환하며, 각 댓글의 하위 댓글은 최대 깊이와 노드당 개수 제한 안에서 포함합니다. "
+                    + "잘린 하위 댓글은 hasMoreChildren/childCount와 nextChildCursor로 표시되며 /api/comments/parent/{parentCommentId}로 이어서 조회합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "댓글을 성공적으로 조회함",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Comment.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentPageResponseDTO.class))),
             @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류")
     })
     @GetMapping("/board/{boardId}/nested")
-    public ResponseEntity<List<Comment>> getNestedCommentsByBoardId(
-            @Parameter(description = "댓글을 조회할 게시글의 ID", required = true, example = "1") @PathVariable Long boardId) {
-        List<Comment> comments = commentService.getCommentsByBoardIdWithNesting(boardId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CommentPageResponseDTO> getNestedCommentsByBoardId(
+            @Parameter(description = "댓글을 조회할 게시글의 ID", required = true, example = "1") @PathVariable Long boardId,
+            @Parameter(description = "이전 페이지의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "페이지당 최상위 댓글 수 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "포함할 하위 댓글의 최대 깊이 (최대 10)", example = "2") @RequestParam(defaultValue = "2") int maxDepth,
+            @Parameter(description = "댓글당 포함할 하위 댓글 수 (최대 50)", example = "5") @RequestParam(defaultValue = "5") int childLimit) {
+        CommentPageResponseDTO page = commentService.getCommentPageByBoardId(boardId, cursor, size, maxDepth, childLimit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "게시글 댓글 변경분 조회",
+            description = "since 토큰 이후에 생성, 수정, 삭제된 댓글과 답글만 반환합니다. 삭제는 tombstone으로 전달되며, 응답의 token을 다음 요청의 since로 사용합니다. "
+                    + "커밋 순서가 뒤바뀐 변경분을 놓치지 않도록 최근 30초 이내의 변경분은 다음 응답에 다시 포함될 수 있습니다. since를 생략하면 현재 토큰만 반환합니다. "
+                    + "보관 기간이 지나 since 이후의 변경분이 삭제되었으면 expired가 true이며, 댓글을 다시 불러온 뒤 since 없이 토큰을 다시 받아야 합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "변경분을 성공적으로 조회함",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentChangesResponseDTO.class))),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @GetMapping("/board/{boardId}/changes")
+    public ResponseEntity<CommentChangesResponseDTO> getCommentChanges(
+            @Parameter(description = "변경분을 조회할 게시글의 ID", required = true, example = "1") @PathVariable Long boardId,
+            @Parameter(description = "이전 응답의 token (최초 요청은 생략)") @RequestParam(required = false) Long since) {
+        CommentChangesResponseDTO changes = commentService.getCommentChanges(boardId, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(summary = "게시글 이벤트 스트림 구독",
+            description = "게시글의 댓글, 답글, 조회수 이벤트를 Server-Sent Events로 실시간 전송합니다. "
+                    + "재연결 시 Last-Event-ID 헤더로 놓친 이벤트를 이어 받으며, 재생할 수 없으면 reset 이벤트 후 변경분 API로 동기화해야 합니다. "
+                    + "이벤트는 연결된 서버에서 발생한 것만 전송되며, 다른 서버나 재시작 전에 받은 이벤트 ID로 재연결하면 reset 이벤트를 받습니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "이벤트 스트림이 열림"),
+            @ApiResponse(responseCode = "503", description = "구독자 수 초과")
+    })
+    @GetMapping(value = "/board/{boardId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoardEvents(
+            @Parameter(description = "구독할 게시글의 ID", required = true, example = "1") @PathVariable Long boardId,
+            @Parameter(description = "마지막으로 받은 이벤트 ID (재연결 시)") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return boardEventBroadcaster.subscribe(boardId, lastEventId);
     }
 
     @Operation(summary = "게시글 ID로 최상위 댓글만 조회", description = "특정 게시글의 최상위 댓글만 반환합니다")
@@ -111,17 +155,36 @@ public class CommentController {
         return ResponseEntity.ok(comments);
     }
 
-    @Operation(summary = "부모 댓글 ID로 대댓글 조회", description = "특정 댓글의 모든 대댓글을 반환합니다")
+    @Operation(summary = "부모 댓글 ID로 대댓글 조회",
+            description = "특정 댓글의 대댓글을 페이지 단위로 반환하며, 각 대댓글의 하위 댓글은 최대 깊이와 노드당 개수 제한 안에서 포함합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "대댓글을 성공적으로 조회함",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Comment.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentPageResponseDTO.class))),
             @ApiResponse(responseCode = "404", description = "부모 댓글을 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류")
     })
     @GetMapping("/parent/{parentCommentId}")
-    public ResponseEntity<List<Comment>> getChildCommentsByParentId(
-            @Parameter(description = "대댓글을 조회할 부모 댓글의 ID", required = true, example = "1") @PathVariable Long parentCommentId) {
-        List<Comment> comments = commentService.getChildCommentsByParentId(parentCommentId);
+    public ResponseEntity<CommentPageResponseDTO> getChildCommentsByParentId(
+            @Parameter(description = "대댓글을 조회할 부모 댓글의 ID", required = true, example = "1") @PathVariable Long parentCommentId,
+            @Parameter(description = "이전 페이지의 nextCursor 또는 부모 댓글의 nextChildCursor") @RequestParam(required = false) Long cursor,
+            @Parameter(description = "페이지당 대댓글 수 (최대 100)", example = "20") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "포함할 하위 댓글의 최대 깊이 (최대 10)", example = "2") @RequestParam(defaultValue = "2") int maxDepth,
+            @Parameter(description = "댓글당 포함할 하위 댓글 수 (최대 50)", example = "5") @RequestParam(defaultValue = "5") int childLimit) {
+        CommentPageResponseDTO page = commentService.getChildCommentPage(parentCommentId, cursor, size, maxDepth, childLimit);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "상위 댓글 조회", description = "특정 댓글의 모든 상위 댓글을 최상위 댓글부터 순서대로 반환합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "상위 댓글을 성공적으로 조회함",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Comment.class))),
+            @ApiResponse(responseCode = "404", description = "댓글을 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @GetMapping("/{commentId}/ancestors")
+    public ResponseEntity<List<Comment>> getAncestorComments(
+            @Parameter(description = "상위 댓글을 조회할 댓글의 ID", required = true, example = "1") @PathVariable Long commentId) {
+        List<Comment> comments = commentService.getAncestorComments(commentId);
         return ResponseEntity.ok(comments);
     }
 
@@ -162,7 +225,29 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "댓글 삭제", description = "댓글과 모든 대댓글 및 답글을 삭제합니다")
+    @Operation(summary = "댓글 이동", description = "댓글과 모든 하위 댓글을 다른 부모 댓글 아래로 이동합니다. 부모를 지정하지 않으면 최상위 댓글이 됩니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "댓글이 성공적으로 이동됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "잘못된 이동 대상"),
+            @ApiResponse(responseCode = "404", description = "댓글을 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @PutMapping("/{commentId}/parent")
+    public ResponseEntity<CommentResponseDTO> moveComment(
+            @Parameter(description = "이동할 댓글의 ID", required = true, example = "2") @PathVariable Long commentId,
+            @Parameter(description = "새 부모 댓글의 ID (생략 시 최상위 댓글)", example = "1") @RequestParam(required = false) Long parentCommentId) {
+        commentService.moveComment(commentId, parentCommentId);
+
+        CommentResponseDTO response = CommentResponseDTO.builder()
+                .commentId(commentId)
+                .message("댓글이 성공적으로 이동되었습니다")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "댓글 삭제", description = "댓글과 모든 대댓글 및 답글을 삭제합니다. chunkSize를 지정하면 큰 스레드를 여러 개의 짧은 트랜잭션으로 나누어 삭제합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "댓글이 성공적으로 삭제됨",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentResponseDTO.class))),
@@ -171,8 +256,13 @@ public class CommentController {
     })
     @DeleteMapping("/{commentId}")
     public ResponseEntity<CommentResponseDTO> deleteComment(
-            @Parameter(description = "삭제할 댓글의 ID", required = true, example = "1") @PathVariable Long commentId) {
-        commentService.deleteComment(commentId);
+            @Parameter(description = "삭제할 댓글의 ID", required = true, example = "1") @PathVariable Long commentId,
+            @Parameter(description = "청크 단위 삭제 시 트랜잭션당 댓글 수 (최대 1000)", example = "500") @RequestParam(required = false) Integer chunkSize) {
+        if (chunkSize != null) {
+            commentService.deleteCommentInChunks(commentId, chunkSize);
+        } else {
+            commentService.deleteComment(commentId);
+        }
 
         CommentResponseDTO response = CommentResponseDTO.builder()
                 .message("댓글이 성공적으로 삭제되었습니다")
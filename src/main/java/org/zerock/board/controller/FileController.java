@@ -10,20 +10,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.zerock.board.config.FileUploadConfig;
 import org.zerock.board.model.FileAttachment;
 import org.zerock.board.repository.FileAttachmentRepository;
+import org.zerock.board.storage.FileStorage;
+import org.zerock.board.storage.StorageUnavailableException;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,7 +32,7 @@ import java.util.Optional;
 public class FileController {
 
     private final FileAttachmentRepository fileAttachmentRepository;
-    private final FileUploadConfig fileUploadConfig;
+    private final FileStorage fileStorage;
 
     @Operation(summary = "게시글 ID로 파일 조회", description = "특정 게시글의 모든 첨부 파일을 반환합니다")
     @ApiResponses(value = {
@@ -65,6 +62,7 @@ public class FileController {
             @ApiResponse(responseCode = "200", description = "파일을 성공적으로 다운로드함",
                     content = @Content(mediaType = "application/octet-stream")),
             @ApiResponse(responseCode = "404", description = "파일을 찾을 수 없음"),
+            @ApiResponse(responseCode = "503", description = "파일 저장소(NAS)를 일시적으로 사용할 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류")
     })
     @GetMapping("/{fileId}")
@@ -82,19 +80,19 @@ public class FileController {
             }
 
             FileAttachment file = fileOptional.get();
-            Path filePath = Paths.get(fileUploadConfig.getDirectory(), file.getStoredFilename());
+            Optional<Resource> resourceOptional = fileStorage.load(file.getStoredFilename());
 
-            if (!Files.exists(filePath)) {
-                log.error("파일이 실제로 존재하지 않음: {}", filePath);
+            if (resourceOptional.isEmpty()) {
+                log.error("파일이 실제로 존재하지 않음: {}", file.getStoredFilename());
                 return ResponseEntity.notFound().build();
             }
 
-            Resource resource = new UrlResource(filePath.toUri());
+            Resource resource = resourceOptional.get();
 
             String encodedFilename = URLEncoder.encode(file.getOriginalFilename(), StandardCharsets.UTF_8)
                     .replaceAll("\\+", "%20");
 
-            log.debug("파일 다운로드 시작: {} -> {}", file.getOriginalFilename(), filePath);
+            log.debug("파일 다운로드 시작: {} -> {}", file.getOriginalFilename(), resource.getDescription());
 
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFilename)
@@ -102,6 +100,9 @@ public class FileController {
                     .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(file.getFileSize()))
                     .body(resource);
 
+        } catch (StorageUnavailableException e) {
+            log.warn("파일 저장소를 사용할 수 없어 파일 ID {} 다운로드 불가: {}", fileId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             log.error("파일 ID {} 다운로드 중 오류 발생", fileId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -129,18 +130,13 @@ public class FileController {
             }
 
             FileAttachment file = fileOptional.get();
-            Path filePath = Paths.get(fileUploadConfig.getDirectory(), file.getStoredFilename());
 
             // 데이터베이스에서 파일 정보 삭제
             fileAttachmentRepository.deleteById(fileId);
 
-            // 실제 파일 삭제
-            if (Files.exists(filePath)) {
-                Files.delete(filePath);
-                log.debug("파일 삭제 완료: {}", filePath);
-            } else {
-                log.warn("실제 파일이 존재하지 않음: {}", filePath);
-            }
+            // 실제 파일 삭제 (NAS를 사용할 수 없으면 복구 후 삭제)
+            fileStorage.delete(file.getStoredFilename());
+            log.debug("파일 삭제 완료: {}", file.getStoredFilename());
 
             return ResponseEntity.noContent().build();
 
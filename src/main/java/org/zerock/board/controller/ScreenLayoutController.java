@@ -9,11 +9,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
 import org.zerock.board.model.ScreenLayout;
 import org.zerock.board.service.ScreenLayoutService;
+import org.zerock.board.service.UserLayoutStateService;
 
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +35,7 @@ import java.util.Map;
 public class ScreenLayoutController {
 
     private final ScreenLayoutService screenLayoutService;
+    private final UserLayoutStateService userLayoutStateService;
 
     @Operation(summary = "새 화면 레이아웃 생성", description = "카드와 중앙 메뉴를 포함한 새 화면 레이아웃을 생성합니다")
     @ApiResponses(value = {
@@ -66,7 +72,9 @@ public class ScreenLayoutController {
 
         try {
             ScreenLayout screenLayout = screenLayoutService.getScreenLayoutById(layoutId);
-            return ResponseEntity.ok(screenLayout);
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(screenLayout.getVersion()))
+                    .body(screenLayout);
         } catch (RuntimeException e) {
             log.error("Error getting screen layout: {}", e.getMessage());
             return ResponseEntity.notFound().build();
@@ -87,29 +95,49 @@ public class ScreenLayoutController {
         return ResponseEntity.ok(screenLayouts);
     }
 
-    @Operation(summary = "화면 레이아웃 수정", description = "카드와 중앙 메뉴를 포함한 화면 레이아웃을 수정합니다")
+    @Operation(summary = "화면 레이아웃 수정",
+            description = "카드와 중앙 메뉴를 포함한 화면 레이아웃을 수정합니다. 조회 시 받은 ETag를 If-Match 헤더로(또는 version 필드로) 보내면 "
+                    + "그 사이 다른 사용자가 수정한 경우 수정하지 않고 충돌을 반환합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "화면 레이아웃이 성공적으로 수정됨",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
             @ApiResponse(responseCode = "400", description = "잘못된 입력"),
             @ApiResponse(responseCode = "404", description = "화면 레이아웃을 찾을 수 없음"),
+            @ApiResponse(responseCode = "409", description = "version 필드의 버전이 최신이 아님"),
+            @ApiResponse(responseCode = "412", description = "If-Match 헤더의 ETag가 최신이 아님"),
             @ApiResponse(responseCode = "500", description = "서버 내부 오류")
     })
     @PutMapping("/{layoutId}")
     public ResponseEntity<Map<String, String>> updateScreenLayout(
             @Parameter(description = "수정할 화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "조회 시 받은 ETag") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "수정된 화면 레이아웃 데이터", required = true) @RequestBody ScreenLayout screenLayout) {
         log.debug("REST request to update screen layout: {}", screenLayout);
 
         screenLayout.setLayoutId(layoutId);
 
+        Long expectedVersion = parseETag(ifMatch);
+        if (expectedVersion != null) {
+            screenLayout.setVersion(expectedVersion);
+        }
+
         try {
-            screenLayoutService.updateScreenLayout(screenLayout);
+            Long version = screenLayoutService.updateScreenLayout(screenLayout);
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "화면 레이아웃이 성공적으로 수정되었습니다");
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(String.valueOf(version))
+                    .body(response);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicting screen layout update: {}", e.getMessage());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("error", "다른 사용자가 화면 레이아웃을 먼저 수정했습니다. 다시 조회한 후 수정하세요");
+
+            HttpStatus status = expectedVersion != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(response);
         } catch (RuntimeException e) {
             log.error("Error updating screen layout: {}", e.getMessage());
 
@@ -120,6 +148,70 @@ public class ScreenLayoutController {
         }
     }
 
+    @Operation(summary = "카드 상태 수정",
+            description = "레이아웃 전체를 다시 저장하지 않고 지정한 위치의 카드 상태만 수정합니다. 요청에 포함된 필드만 변경됩니다. "
+                    + "변경은 즉시 조회에 반영되고, 연속된 변경은 모아서 잠시 후 저장됩니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "카드 상태 변경이 접수됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "카드를 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @PatchMapping("/{layoutId}/cards/{position}")
+    public ResponseEntity<Map<String, String>> updateCardState(
+            @Parameter(description = "화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "카드 위치 (LEFT_1, LEFT_2, RIGHT_1, RIGHT_2)", required = true, example = "LEFT_1") @PathVariable String position,
+            @Parameter(description = "변경할 카드 상태 (예: {\"horizontalCollapse\": true})", required = true) @RequestBody Card card) {
+        log.debug("REST request to update card state of layout {} at position {}: {}", layoutId, position, card);
+
+        try {
+            screenLayoutService.updateCardState(layoutId, position, card);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "카드 상태 변경이 접수되었습니다");
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RuntimeException e) {
+            log.error("Error updating card state: {}", e.getMessage());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    @Operation(summary = "중앙 메뉴 상태 수정",
+            description = "레이아웃 전체를 다시 저장하지 않고 중앙 메뉴 상태만 수정합니다. 요청에 포함된 필드만 변경되며, 연속된 변경은 모아서 잠시 후 저장됩니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "중앙 메뉴 상태 변경이 접수됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "중앙 메뉴를 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @PatchMapping("/{layoutId}/central-menu")
+    public ResponseEntity<Map<String, String>> updateCentralMenuState(
+            @Parameter(description = "화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "변경할 중앙 메뉴 상태 (예: {\"expanded\": true})", required = true) @RequestBody CentralMenu centralMenu) {
+        log.debug("REST request to update central menu state of layout {}: {}", layoutId, centralMenu);
+
+        try {
+            screenLayoutService.updateCentralMenuState(layoutId, centralMenu);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "중앙 메뉴 상태 변경이 접수되었습니다");
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (RuntimeException e) {
+            log.error("Error updating central menu state: {}", e.getMessage());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
     @Operation(summary = "화면 레이아웃 삭제", description = "카드와 중앙 메뉴를 포함한 화면 레이아웃을 삭제합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "화면 레이아웃이 성공적으로 삭제됨",
@@ -148,4 +240,126 @@ public class ScreenLayoutController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
     }
+
+    @Operation(summary = "사용자별 화면 레이아웃 조회", description = "사용자 본인의 카드와 중앙 메뉴 상태가 적용된 화면 레이아웃을 조회합니다. 상태가 없으면 레이아웃 기본 상태를 반환합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "화면 레이아웃을 성공적으로 조회함",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ScreenLayout.class))),
+            @ApiResponse(responseCode = "404", description = "화면 레이아웃을 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @GetMapping("/{layoutId}/users/{userId}/state")
+    public ResponseEntity<ScreenLayout> getUserLayout(
+            @Parameter(description = "조회할 화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "사용자 ID", required = true, example = "1") @PathVariable Long userId) {
+        log.debug("REST request to get screen layout {} for user {}", layoutId, userId);
+
+        try {
+            return ResponseEntity.ok(userLayoutStateService.getUserLayout(layoutId, userId));
+        } catch (RuntimeException e) {
+            log.error("Error getting user screen layout: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(summary = "사용자별 카드 상태 수정", description = "사용자 본인의 카드 상태만 수정합니다. 요청에 포함된 필드만 변경됩니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "카드 상태가 성공적으로 수정됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "카드를 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @PatchMapping("/{layoutId}/users/{userId}/state/cards/{position}")
+    public ResponseEntity<Map<String, String>> updateUserCardState(
+            @Parameter(description = "화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "사용자 ID", required = true, example = "1") @PathVariable Long userId,
+            @Parameter(description = "카드 위치 (LEFT_1, LEFT_2, RIGHT_1, RIGHT_2)", required = true, example = "LEFT_1") @PathVariable String position,
+            @Parameter(description = "변경할 카드 상태 (예: {\"expanded\": true})", required = true) @RequestBody Card card) {
+        log.debug("REST request to update card state of layout {} at position {} for user {}: {}", layoutId, position, userId, card);
+
+        try {
+            userLayoutStateService.updateUserCardState(layoutId, userId, position, card);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "카드 상태가 성공적으로 수정되었습니다");
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.error("Error updating user card state: {}", e.getMessage());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    @Operation(summary = "사용자별 중앙 메뉴 상태 수정", description = "사용자 본인의 중앙 메뉴 상태만 수정합니다. 요청에 포함된 필드만 변경됩니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "중앙 메뉴 상태가 성공적으로 수정됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "404", description = "중앙 메뉴를 찾을 수 없음"),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @PatchMapping("/{layoutId}/users/{userId}/state/central-menu")
+    public ResponseEntity<Map<String, String>> updateUserCentralMenuState(
+            @Parameter(description = "화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "사용자 ID", required = true, example = "1") @PathVariable Long userId,
+            @Parameter(description = "변경할 중앙 메뉴 상태 (예: {\"priority\": true})", required = true) @RequestBody CentralMenu centralMenu) {
+        log.debug("REST request to update central menu state of layout {} for user {}: {}", layoutId, userId, centralMenu);
+
+        try {
+            userLayoutStateService.updateUserCentralMenuState(layoutId, userId, centralMenu);
+
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "중앙 메뉴 상태가 성공적으로 수정되었습니다");
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            log.error("Error updating user central menu state: {}", e.getMessage());
+
+            Map<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
+    @Operation(summary = "사용자별 화면 레이아웃 상태 초기화", description = "사용자 본인의 상태를 삭제하여 레이아웃 기본 상태로 되돌립니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "상태가 성공적으로 초기화됨",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))),
+            @ApiResponse(responseCode = "500", description = "서버 내부 오류")
+    })
+    @DeleteMapping("/{layoutId}/users/{userId}/state")
+    public ResponseEntity<Map<String, String>> resetUserLayoutState(
+            @Parameter(description = "화면 레이아웃의 ID", required = true, example = "1") @PathVariable Long layoutId,
+            @Parameter(description = "사용자 ID", required = true, example = "1") @PathVariable Long userId) {
+        log.debug("REST request to reset state of layout {} for user {}", layoutId, userId);
+
+        userLayoutStateService.resetUserLayoutState(layoutId, userId);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "화면 레이아웃 상태가 초기화되었습니다");
+
+        return ResponseEntity.ok(response);
+    }
+
+    // Version from an ETag such as "3" or W/"3"; null for a missing header or "*"
+    private Long parseETag(String eTag) {
+        if (eTag == null || eTag.isBlank() || "*".equals(eTag.trim())) {
+            return null;
+        }
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // An ETag we never issued cannot match
+            return -1L;
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package org.zerock.board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.CommentChange;
+import org.zerock.board.model.Reply;
+
+import java.util.List;
+
+/**
+ * DTO for incremental comment feed responses.
+ * Contains the current state of comments and replies changed after the token and tombstones for deletes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentChangesResponseDTO {
+    private List<Comment> comments;
+    private List<Reply> replies;
+    private List<CommentChange> deleted;
+    private Long token;
+    private boolean hasMore;
+    private boolean expired; // changes after the token were pruned; reload the thread and poll without a token
+}
@@ -0,0 +1,22 @@
+package org.zerock.board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.zerock.board.model.Comment;
+
+import java.util.List;
+
+/**
+ * DTO for a bounded page of a comment thread with continuation cursor
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPageResponseDTO {
+    private List<Comment> comments;
+    private boolean hasMore;
+    private Long nextCursor;
+}
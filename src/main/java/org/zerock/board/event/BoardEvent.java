@@ -0,0 +1,63 @@
+package org.zerock.board.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event pushed to the subscribers of a board.
+ * Services publish it inside their transaction; it is broadcast only after commit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoardEvent {
+    public static final String ENTITY_BOARD = "BOARD";
+    public static final String ENTITY_COMMENT = "COMMENT";
+    public static final String ENTITY_REPLY = "REPLY";
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    public static final String DELETE_CHILDREN = "DELETE_CHILDREN";
+    public static final String VIEW = "VIEW";
+
+    // Sent when the requested Last-Event-ID is no longer in the replay log or comes from another node or run;
+    // clients resync via the changes feed
+    public static final String RESET = "RESET";
+
+    private Long eventId; // assigned by BoardEventBroadcaster
+    private Long boardId;
+    private String entityType; // 'BOARD', 'COMMENT', 'REPLY'
+    private Long entityId;
+    private String changeType; // 'CREATE', 'UPDATE', 'DELETE', 'DELETE_CHILDREN', 'VIEW', 'RESET'
+
+    public static BoardEvent comment(Long boardId, Long commentId, String changeType) {
+        return BoardEvent.builder()
+                .boardId(boardId)
+                .entityType(ENTITY_COMMENT)
+                .entityId(commentId)
+                .changeType(changeType)
+                .build();
+    }
+
+    public static BoardEvent reply(Long boardId, Long replyId, String changeType) {
+        return BoardEvent.builder()
+                .boardId(boardId)
+                .entityType(ENTITY_REPLY)
+                .entityId(replyId)
+                .changeType(changeType)
+                .build();
+    }
+
+    public static BoardEvent view(Long boardId) {
+        return BoardEvent.builder()
+                .boardId(boardId)
+                .entityType(ENTITY_BOARD)
+                .entityId(boardId)
+                .changeType(VIEW)
+                .build();
+    }
+}
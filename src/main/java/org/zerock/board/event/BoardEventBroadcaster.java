@@ -0,0 +1,289 @@
+package org.zerock.board.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.board.config.BoardEventConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans board events out to Server-Sent Event subscribers.
+ * Events are received after the publishing transaction commits, numbered, kept in a
+ * bounded replay log for Last-Event-ID resume and queued per subscriber. Each subscriber
+ * has a bounded queue drained on a virtual thread, so a slow client only blocks itself
+ * and is evicted once its queue is full. A resume that misses more events than that queue
+ * holds gets a RESET instead of a partial replay.
+ *
+ * Fan-out is per node: a subscriber only receives the events published on the node it is
+ * connected to, and event numbers and the replay log live in this JVM. Stream ids are
+ * therefore "{streamEpoch}-{eventId}", with an epoch drawn at startup; a Last-Event-ID
+ * from another node or an earlier run of this one gets a RESET rather than a replay
+ * against an unrelated sequence. Several nodes behind a load balancer need sticky streams,
+ * and still miss the writes handled by the other nodes until they resync.
+ */
+@Slf4j
+@Component
+public class BoardEventBroadcaster {
+
+    private static final BoardEvent HEARTBEAT = new BoardEvent();
+
+    private final BoardEventConfig config;
+
+    // Prefix of the stream ids of this node and run
+    private final String streamEpoch = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+
+    private final Map<Long, Set<Subscriber>> subscribersByBoard = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    // Replay log: ring buffer of the most recent events, guarded by replayLock
+    private final Object replayLock = new Object();
+    private final BoardEvent[] replayLog;
+    private long lastEventId = 0;
+
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("board-event-heartbeat").daemon().factory());
+
+    public BoardEventBroadcaster(BoardEventConfig config) {
+        this.config = config;
+        this.replayLog = new BoardEvent[Math.max(1, config.getReplaySize())];
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats,
+                config.getHeartbeatIntervalMs(), config.getHeartbeatIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream for the given board, replaying the events after lastEventId (a stream id
+     * sent earlier) when possible.
+     */
+    public SseEmitter subscribe(Long boardId, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > config.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event stream subscribers");
+        }
+
+        SseEmitter emitter = createEmitter(config.getEmitterTimeoutMs());
+        Subscriber subscriber = new Subscriber(boardId, emitter, config.getSubscriberBufferSize());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Registration and replay happen under the same lock as publishing, so nothing is missed or duplicated
+        synchronized (replayLock) {
+            if (lastEventId != null) {
+                Long afterId = parseStreamId(lastEventId);
+                List<BoardEvent> replay = afterId == null ? List.of(reset(boardId)) : replayAfter(boardId, afterId);
+                // A replay the subscriber buffer cannot hold would be cut off silently; resync instead
+                if (replay.size() > subscriber.queue.remainingCapacity()) {
+                    replay = List.of(reset(boardId));
+                }
+                subscriber.queue.addAll(replay);
+            }
+            subscribersByBoard.computeIfAbsent(boardId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        List<Subscriber> slowSubscribers = new ArrayList<>();
+
+        synchronized (replayLock) {
+            event.setEventId(++lastEventId);
+            replayLog[(int) (lastEventId % replayLog.length)] = event;
+
+            Set<Subscriber> subscribers = subscribersByBoard.get(event.getBoardId());
+            if (subscribers == null) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.offer(event)) {
+                    schedule(subscriber);
+                } else {
+                    slowSubscribers.add(subscriber);
+                }
+            }
+        }
+
+        for (Subscriber subscriber : slowSubscribers) {
+            log.debug("Evicting slow event stream subscriber of board {}", subscriber.boardId);
+            evict(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                evict(subscriber);
+            }
+        }
+        sender.shutdown();
+    }
+
+    // SSE id of an event: the node's epoch and the event number
+    String streamId(long eventId) {
+        return streamEpoch + "-" + eventId;
+    }
+
+    // Event number of a stream id sent by this node and run; null for ids of other nodes, earlier runs or bare numbers
+    private Long parseStreamId(String streamId) {
+        String prefix = streamEpoch + "-";
+        if (!streamId.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(streamId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Emitter of a new stream; overridden in tests to record what is sent
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // Events of the board after lastEventId, or a single RESET event when the log no longer covers it
+    private List<BoardEvent> replayAfter(Long boardId, long afterId) {
+        List<BoardEvent> events = new ArrayList<>();
+        long oldestId = Math.max(1, lastEventId - replayLog.length + 1);
+
+        // An id ahead of this node's sequence or older than the log cannot be resumed
+        if (afterId > lastEventId || afterId < oldestId - 1) {
+            events.add(reset(boardId));
+            return events;
+        }
+
+        for (long id = afterId + 1; id <= lastEventId; id++) {
+            BoardEvent event = replayLog[(int) (id % replayLog.length)];
+            if (event != null && boardId.equals(event.getBoardId())) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    // Tells the client to resync via the changes feed and resume from the current event id
+    private BoardEvent reset(Long boardId) {
+        return BoardEvent.builder()
+                .eventId(lastEventId)
+                .boardId(boardId)
+                .changeType(BoardEvent.RESET)
+                .build();
+    }
+
+    private void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : subscribersByBoard.values()) {
+            for (Subscriber subscriber : subscribers) {
+                // Only idle streams need a heartbeat; it must never push a busy subscriber over its limit
+                if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                BoardEvent event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    send(subscriber.emitter, event);
+                }
+                subscriber.draining.set(false);
+                // Re-check: an event may have been queued after the last poll but before the flag was cleared
+            } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter is already completed
+            subscriber.draining.set(false);
+            remove(subscriber);
+        }
+    }
+
+    private void send(SseEmitter emitter, BoardEvent event) throws IOException {
+        if (event == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+
+        String name = BoardEvent.RESET.equals(event.getChangeType())
+                ? "reset"
+                : event.getEntityType().toLowerCase();
+        emitter.send(SseEmitter.event()
+                .id(streamId(event.getEventId()))
+                .name(name)
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            try {
+                subscriber.emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed
+            }
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        Set<Subscriber> subscribers = subscribersByBoard.get(subscriber.boardId);
+        if (subscribers == null || !subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        // Under the lock so a concurrent subscribe cannot add to a set that is being dropped
+        synchronized (replayLock) {
+            if (subscribers.isEmpty()) {
+                subscribersByBoard.remove(subscriber.boardId, subscribers);
+            }
+        }
+        return true;
+    }
+
+    private static final class Subscriber {
+        private final Long boardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BoardEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long boardId, SseEmitter emitter, int bufferSize) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.zerock.board.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.zerock.board.service.CommentPaths;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Upgrade of databases created by the former drop-and-recreate schema scripts, which have
+ * the tables of V1 but neither schema_version nor the columns V1 added to those tables.
+ * SchemaMigrator runs legacy_schema_upgrade.sql before V1 on them (adding the columns) and
+ * fillCommentPaths() after it. Both steps are safe to re-run after a partial failure.
+ */
+@Slf4j
+final class LegacySchemaUpgrade {
+
+    static final String SCRIPT = "legacy_schema_upgrade.sql";
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Comments without a path whose path can be derived: top-level ones, and those whose parent has one
+    private static final String FILLABLE_ROOTS =
+            "SELECT comment_id FROM comment WHERE path IS NULL AND parent_comment_id IS NULL";
+    private static final String FILLABLE_CHILDREN =
+            "SELECT c.comment_id, p.path, p.depth FROM comment c JOIN comment p ON p.comment_id = c.parent_comment_id "
+                    + "WHERE c.path IS NULL AND p.path IS NOT NULL";
+
+    private LegacySchemaUpgrade() {
+    }
+
+    /**
+     * Fill comment.path and comment.depth from parent_comment_id, top-level comments first and
+     * then level by level, in batches. Returns the number of comments updated.
+     */
+    static int fillCommentPaths(Connection connection) throws SQLException {
+        int updated = 0;
+        List<PathUpdate> batch;
+        while (!(batch = fillableRoots(connection)).isEmpty()) {
+            updated += update(connection, batch);
+        }
+        while (!(batch = fillableChildren(connection)).isEmpty()) {
+            updated += update(connection, batch);
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM comment WHERE path IS NULL")) {
+            resultSet.next();
+            if (resultSet.getLong(1) > 0) {
+                throw new SQLException(resultSet.getLong(1) + " comments have no path after the backfill (cyclic parent_comment_id)");
+            }
+        }
+        if (updated > 0) {
+            log.info("Filled the ancestry path of {} existing comments", updated);
+        }
+        return updated;
+    }
+
+    private static List<PathUpdate> fillableRoots(Connection connection) throws SQLException {
+        List<PathUpdate> batch = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.setMaxRows(BATCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(FILLABLE_ROOTS)) {
+                while (resultSet.next()) {
+                    long commentId = resultSet.getLong(1);
+                    batch.add(new PathUpdate(commentId, CommentPaths.childPath(null, commentId), 0));
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static List<PathUpdate> fillableChildren(Connection connection) throws SQLException {
+        List<PathUpdate> batch = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            statement.setMaxRows(BATCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery(FILLABLE_CHILDREN)) {
+                while (resultSet.next()) {
+                    long commentId = resultSet.getLong(1);
+                    int depth = resultSet.getInt(3) + 1;
+                    if (depth >= CommentPaths.MAX_DEPTH) {
+                        throw new SQLException("Comment " + commentId + " is nested deeper than " + CommentPaths.MAX_DEPTH
+                                + " levels, which the path column cannot hold");
+                    }
+                    batch.add(new PathUpdate(commentId, CommentPaths.childPath(resultSet.getString(2), commentId), depth));
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static int update(Connection connection, List<PathUpdate> batch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE comment SET path = ?, depth = ? WHERE comment_id = ? AND path IS NULL")) {
+            for (PathUpdate update : batch) {
+                statement.setString(1, update.path());
+                statement.setInt(2, update.depth());
+                statement.setLong(3, update.commentId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return batch.size();
+    }
+
+    private record PathUpdate(long commentId, String path, int depth) {
+    }
+}
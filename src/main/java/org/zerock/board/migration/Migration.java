@@ -0,0 +1,15 @@
+package org.zerock.board.migration;
+
+/**
+ * One versioned migration script.
+ *
+ * @param version     Version from the file name (V{version}__{description}.sql)
+ * @param description Description from the file name, underscores replaced by spaces
+ * @param script      Script content
+ * @param checksum    SHA-256 of the script content, stored when the migration is applied
+ * @param online      Script declares "-- migration: online": it only adds structures the
+ *                    application does not depend on (e.g. indexes) and is applied in the
+ *                    background after startup
+ */
+public record Migration(int version, String description, String script, String checksum, boolean online) {
+}
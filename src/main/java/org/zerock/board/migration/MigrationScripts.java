@@ -0,0 +1,120 @@
+package org.zerock.board.migration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loading and splitting of migration scripts.
+ */
+public final class MigrationScripts {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final String ONLINE_DIRECTIVE = "-- migration: online";
+    private static final Pattern PLSQL_START = Pattern.compile(
+            "^(BEGIN|DECLARE|CREATE\\s+(OR\\s+REPLACE\\s+)?(TRIGGER|PROCEDURE|FUNCTION|PACKAGE))\\b.*",
+            Pattern.CASE_INSENSITIVE);
+
+    private MigrationScripts() {
+    }
+
+    /**
+     * All migrations of a database type ("mariadb" or "oracle"), ordered by version.
+     */
+    public static List<Migration> load(String location, String databaseId) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + location + "/" + databaseId + "/V*__*.sql");
+
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : resources) {
+            Matcher matcher = FILE_NAME.matcher(resource.getFilename() == null ? "" : resource.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration file name: " + resource.getFilename());
+            }
+            String script = resource.getContentAsString(StandardCharsets.UTF_8);
+            migrations.add(new Migration(
+                    Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '),
+                    script,
+                    checksum(script),
+                    script.lines().anyMatch(line -> line.trim().equalsIgnoreCase(ONLINE_DIRECTIVE))));
+        }
+
+        migrations.sort((a, b) -> Integer.compare(a.version(), b.version()));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).version() + " for " + databaseId);
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * A script of a database type outside the versioned sequence, or null when there is none.
+     */
+    public static String loadScript(String location, String databaseId, String fileName) throws IOException {
+        Resource resource = new PathMatchingResourcePatternResolver()
+                .getResource("classpath:" + location + "/" + databaseId + "/" + fileName);
+        return resource.exists() ? resource.getContentAsString(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Split a script into statements. Plain statements end with ';' at the end of a line
+     * (the ';' is removed); PL/SQL blocks (BEGIN, DECLARE, CREATE TRIGGER, ...) end with a
+     * line containing only '/' and keep their inner semicolons. Comment lines are skipped.
+     */
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean plsql = false;
+
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (current.isEmpty() && (trimmed.isEmpty() || trimmed.startsWith("--"))) {
+                continue;
+            }
+            if (current.isEmpty()) {
+                plsql = PLSQL_START.matcher(trimmed).matches();
+            }
+
+            if (plsql) {
+                if (trimmed.equals("/")) {
+                    statements.add(current.toString().trim());
+                    current.setLength(0);
+                } else {
+                    current.append(line).append('\n');
+                }
+            } else if (trimmed.endsWith(";")) {
+                current.append(line, 0, line.lastIndexOf(';'));
+                statements.add(current.toString().trim());
+                current.setLength(0);
+            } else {
+                current.append(line).append('\n');
+            }
+        }
+
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    static String checksum(String script) {
+        try {
+            // Line endings are normalized so a checkout on another OS keeps the checksum
+            byte[] normalized = script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(normalized));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
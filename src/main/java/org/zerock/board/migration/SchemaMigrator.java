@@ -0,0 +1,328 @@
+package org.zerock.board.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.MigrationConfig;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies versioned migration scripts and records them in the schema_version table.
+ *
+ * Startup on a current schema costs one query on schema_version. Pending migrations are
+ * claimed by inserting their schema_version row first, so when several nodes start at
+ * once exactly one applies each script and the others wait for it. Statements failing
+ * only because their object already exists are skipped, which makes every script safe
+ * to re-run after a partial failure (MariaDB DDL is not transactional).
+ *
+ * Databases created by the former drop-and-recreate scripts are upgraded together with
+ * the baseline (V1): legacy_schema_upgrade.sql adds the columns V1 expects on existing
+ * tables and LegacySchemaUpgrade fills the comment paths.
+ *
+ * Migrations marked "-- migration: online" and everything after the first of them are
+ * returned by migrate() instead of being applied, so the caller can apply them in the
+ * background with applyPending() once the application serves traffic.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrator {
+
+    static final String VERSION_TABLE = "schema_version";
+
+    // The baseline; the tables of the former schema scripts are upgraded when it is applied
+    static final int BASELINE_VERSION = 1;
+
+    // "Object already exists" errors: MariaDB table/index/column/constraint, Oracle name used/column list indexed/column exists/constraint exists,
+    // plus Oracle "index does not exist" (1418) for re-runs of scripts that replace an index
+    private static final Set<Integer> MARIADB_ALREADY_EXISTS = Set.of(1050, 1061, 1060, 1826, 1022);
+    private static final Set<Integer> ORACLE_ALREADY_EXISTS = Set.of(955, 1408, 1418, 1430, 2260, 2261, 2275);
+
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    private final MigrationConfig migrationConfig;
+
+    /**
+     * Apply all pending blocking migrations; returns the pending online ones, in order.
+     */
+    public List<Migration> migrate(DataSource dataSource, String databaseId) throws SQLException, IOException {
+        List<Migration> migrations = MigrationScripts.load(migrationConfig.getLocation(), databaseId);
+
+        Map<Integer, AppliedMigration> applied;
+        try (Connection connection = dataSource.getConnection()) {
+            applied = readApplied(connection);
+            if (applied == null) {
+                // Databases created by the former drop-and-recreate scripts get V1 applied too,
+                // after the columns it expects are added (see LegacySchemaUpgrade)
+                createVersionTable(connection, databaseId);
+                applied = Map.of();
+            }
+        }
+
+        validate(migrations, applied, databaseId);
+
+        List<Migration> pending = new ArrayList<>();
+        for (Migration migration : migrations) {
+            AppliedMigration record = applied.get(migration.version());
+            if (record == null || !record.success()) {
+                pending.add(migration);
+            }
+        }
+        if (pending.isEmpty()) {
+            log.info("Schema is current at version {} ({})", migrations.isEmpty() ? 0 : migrations.getLast().version(), databaseId);
+            return List.of();
+        }
+
+        int firstOnline = 0;
+        while (firstOnline < pending.size() && !pending.get(firstOnline).online()) {
+            firstOnline++;
+        }
+        applyPending(dataSource, databaseId, pending.subList(0, firstOnline));
+        return List.copyOf(pending.subList(firstOnline, pending.size()));
+    }
+
+    /**
+     * Apply the given migrations in order (skipping those applied meanwhile by another node).
+     */
+    public void applyPending(DataSource dataSource, String databaseId, List<Migration> pending) throws SQLException {
+        for (Migration migration : pending) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                if (claim(connection, migration)) {
+                    apply(connection, databaseId, migration);
+                } else {
+                    awaitOtherNode(connection, databaseId, migration);
+                }
+            }
+        }
+    }
+
+    // Helper method to read schema_version; null when the table does not exist yet
+    private Map<Integer, AppliedMigration> readApplied(Connection connection) throws SQLException {
+        Map<Integer, AppliedMigration> applied = new LinkedHashMap<>();
+        // The fast path: a single query, the metadata lookup only runs when it fails
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT version, checksum, success FROM " + VERSION_TABLE + " ORDER BY version")) {
+            while (resultSet.next()) {
+                applied.put(resultSet.getInt(1),
+                        new AppliedMigration(resultSet.getInt(1), resultSet.getString(2), resultSet.getInt(3) == 1));
+            }
+        } catch (SQLException e) {
+            if (!tableExists(connection, VERSION_TABLE)) {
+                return null;
+            }
+            throw e;
+        }
+        return applied;
+    }
+
+    private void createVersionTable(Connection connection, String databaseId) throws SQLException {
+        String sql = "oracle".equals(databaseId)
+                ? "CREATE TABLE " + VERSION_TABLE + " (version NUMBER(10) PRIMARY KEY, description VARCHAR2(200) NOT NULL, "
+                        + "checksum VARCHAR2(64) NOT NULL, installed_on TIMESTAMP DEFAULT SYSTIMESTAMP, "
+                        + "execution_ms NUMBER(19), success NUMBER(1) DEFAULT 0 NOT NULL)"
+                : "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (version INT PRIMARY KEY, description VARCHAR(200) NOT NULL, "
+                        + "checksum VARCHAR(64) NOT NULL, installed_on DATETIME DEFAULT CURRENT_TIMESTAMP, "
+                        + "execution_ms BIGINT, success TINYINT NOT NULL DEFAULT 0)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            // Another node created it first
+            if (!isAlreadyExists(e, databaseId)) {
+                throw e;
+            }
+        }
+    }
+
+    private void validate(List<Migration> migrations, Map<Integer, AppliedMigration> applied, String databaseId) {
+        if (!migrationConfig.isValidateChecksums()) {
+            return;
+        }
+        for (Migration migration : migrations) {
+            AppliedMigration record = applied.get(migration.version());
+            if (record != null && record.success() && !record.checksum().equals(migration.checksum())) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + databaseId
+                        + ") was changed after it was applied; add a new migration instead");
+            }
+        }
+    }
+
+    // Insert the schema_version row (success = 0); false when another node holds it
+    private boolean claim(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + VERSION_TABLE + " (version, description, checksum, installed_on, success) VALUES (?, ?, ?, ?, 0)")) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setString(3, migration.checksum());
+            statement.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            statement.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return reclaimFailed(connection, migration);
+            }
+            throw e;
+        }
+    }
+
+    // A row with success = 0 and no live owner is left from a crashed attempt: take it over when stale
+    private boolean reclaimFailed(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + VERSION_TABLE + " SET installed_on = ?, checksum = ? WHERE version = ? AND success = 0 AND installed_on < ?")) {
+            long now = System.currentTimeMillis();
+            statement.setTimestamp(1, new Timestamp(now));
+            statement.setString(2, migration.checksum());
+            statement.setInt(3, migration.version());
+            statement.setTimestamp(4, new Timestamp(now - migrationConfig.getLockWaitSeconds() * 1000));
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private void apply(Connection connection, String databaseId, Migration migration) throws SQLException {
+        log.info("Applying migration V{} {} ({}{})", migration.version(), migration.description(), databaseId,
+                migration.online() ? ", online" : "");
+        long start = System.currentTimeMillis();
+
+        // Tables present before the baseline was applied were created by the former schema scripts
+        // (or by an interrupted attempt at it, for which the upgrade changes nothing)
+        boolean legacy = migration.version() == BASELINE_VERSION
+                && tableExists(connection, "comment") && tableExists(connection, "screen_layout");
+        List<String> statements = new ArrayList<>();
+        if (legacy) {
+            log.info("Upgrading tables created by the former schema scripts ({})", databaseId);
+            statements.addAll(MigrationScripts.split(legacyUpgradeScript(databaseId)));
+        }
+        statements.addAll(MigrationScripts.split(migration.script()));
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    if (!isAlreadyExists(e, databaseId)) {
+                        // Release the claim so the (idempotent) script is retried on the next start
+                        releaseClaim(connection, migration);
+                        throw new SQLException("Migration V" + migration.version() + " failed at: " + sql, e);
+                    }
+                    log.debug("Skipping existing object in V{}: {}", migration.version(), e.getMessage());
+                }
+            }
+        }
+        if (legacy) {
+            try {
+                LegacySchemaUpgrade.fillCommentPaths(connection);
+            } catch (SQLException e) {
+                releaseClaim(connection, migration);
+                throw new SQLException("Migration V" + migration.version() + " failed filling comment paths", e);
+            }
+        }
+
+        markSuccess(connection, migration, System.currentTimeMillis() - start);
+        log.info("Migration V{} applied in {} ms", migration.version(), System.currentTimeMillis() - start);
+    }
+
+    private String legacyUpgradeScript(String databaseId) throws SQLException {
+        try {
+            String script = MigrationScripts.loadScript(migrationConfig.getLocation(), databaseId, LegacySchemaUpgrade.SCRIPT);
+            if (script == null) {
+                throw new SQLException("Missing " + LegacySchemaUpgrade.SCRIPT + " for " + databaseId);
+            }
+            return script;
+        } catch (IOException e) {
+            throw new SQLException("Could not read " + LegacySchemaUpgrade.SCRIPT + " for " + databaseId, e);
+        }
+    }
+
+    private void markSuccess(Connection connection, Migration migration, long executionMs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + VERSION_TABLE + " SET success = 1, execution_ms = ? WHERE version = ?")) {
+            statement.setLong(1, executionMs);
+            statement.setInt(2, migration.version());
+            statement.executeUpdate();
+        }
+    }
+
+    private void releaseClaim(Connection connection, Migration migration) {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM " + VERSION_TABLE + " WHERE version = ? AND success = 0")) {
+            statement.setInt(1, migration.version());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Could not release claim of migration V{}", migration.version(), e);
+        }
+    }
+
+    private void awaitOtherNode(Connection connection, String databaseId, Migration migration) throws SQLException {
+        log.info("Migration V{} is being applied by another node, waiting", migration.version());
+        long deadline = System.currentTimeMillis() + migrationConfig.getLockWaitSeconds() * 1000;
+
+        while (System.currentTimeMillis() < deadline) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT success FROM " + VERSION_TABLE + " WHERE version = ?")) {
+                statement.setInt(1, migration.version());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        // The other node failed and released it; take over
+                        if (claim(connection, migration)) {
+                            apply(connection, databaseId, migration);
+                        }
+                        continue;
+                    }
+                    if (resultSet.getInt(1) == 1) {
+                        return;
+                    }
+                }
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for migration V" + migration.version(), e);
+            }
+        }
+        throw new SQLException("Timed out waiting for migration V" + migration.version() + " on another node");
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String name : new String[]{table, table.toUpperCase()}) {
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, new String[]{"TABLE"})) {
+                if (tables.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlreadyExists(SQLException e, String databaseId) {
+        Set<Integer> codes = "oracle".equals(databaseId) ? ORACLE_ALREADY_EXISTS : MARIADB_ALREADY_EXISTS;
+        // SQLState 42S01/42S11/42S21: table/index/column already exists (MariaDB; also H2 in MariaDB mode)
+        String state = e.getSQLState();
+        return codes.contains(e.getErrorCode())
+                || "42S01".equals(state) || "42S11".equals(state) || "42S21".equals(state);
+    }
+
+    private static boolean isDuplicateKey(SQLException e) {
+        // 23000 (MariaDB, Oracle ORA-00001), 23505 (H2)
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    private record AppliedMigration(int version, String checksum, boolean success) {
+    }
+}
@@ -16,6 +16,8 @@ public class Comment {
     private Long commentId;
     private Long boardId;
     private Long parentCommentId;  // Added for nested comments
+    private String path;           // Materialized ancestry path, e.g. "0000000001/0000000007/"
+    private Integer depth;         // 0 for top-level comments
     private String content;
     private String writer;
     private LocalDateTime createdDate;
@@ -24,4 +26,7 @@ public class Comment {
     // Transient fields (not stored in DB)
     private List<Reply> replies;
     private List<Comment> children;  // Added for nested comments
+    private Integer childCount;  // Number of direct children, filled by paged thread queries
+    private Boolean hasMoreChildren;  // True when not all children are included in children
+    private Long nextChildCursor;  // Cursor for /api/comments/parent/{commentId} to continue loading children
 }
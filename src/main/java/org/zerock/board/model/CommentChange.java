@@ -0,0 +1,37 @@
+package org.zerock.board.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Model class for an entry of the comment change log.
+ * Records creates, updates and deletes (tombstones) of comments and replies per board.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentChange {
+    public static final String ENTITY_COMMENT = "COMMENT";
+    public static final String ENTITY_REPLY = "REPLY";
+
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+
+    private Long changeId;
+    private Long boardId;
+    private String entityType; // 'COMMENT', 'REPLY'
+    private Long entityId;
+    private String changeType; // 'CREATE', 'UPDATE', 'DELETE'
+    private LocalDateTime createdDate;
+
+    // Older than the settle window when read; only used to compute the feed token
+    @JsonIgnore
+    private boolean settled;
+}
@@ -19,6 +19,7 @@ import java.util.List;
 public class ScreenLayout {
     private Long layoutId;
     private String name;
+    private Long version; // incremented by every update; exposed as ETag
     private LocalDateTime createdDate;
     private LocalDateTime modifiedDate;
 
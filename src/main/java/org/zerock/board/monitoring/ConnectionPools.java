@@ -0,0 +1,29 @@
+package org.zerock.board.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The connection pools of the routing targets, registered by DatabaseConfig when a pool is
+ * created. Lets the pools endpoint report on them without instantiating the lazy Oracle pool.
+ */
+@Component
+public class ConnectionPools {
+
+    private final Map<String, HikariDataSource> pools = new ConcurrentHashMap<>();
+
+    public void register(String target, HikariDataSource dataSource) {
+        pools.put(target, dataSource);
+    }
+
+    /**
+     * Pools by routing target ("mariadb", "oracle"), sorted by target.
+     */
+    public Map<String, HikariDataSource> all() {
+        return new TreeMap<>(pools);
+    }
+}
@@ -0,0 +1,110 @@
+package org.zerock.board.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint /actuator/pools with the state of each connection pool: active, idle and
+ * pending connections, connection acquisition time (percentiles and histogram buckets) and
+ * leak detection. The same numbers are published as hikaricp.* metrics.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "pools")
+public class ConnectionPoolsEndpoint {
+
+    private final ConnectionPools connectionPools;
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, Object> pools() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        connectionPools.all().forEach((target, dataSource) -> pools.put(target, describe(dataSource)));
+        return pools;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pool(@Selector String target) {
+        HikariDataSource dataSource = connectionPools.all().get(target);
+        return dataSource == null ? null : describe(dataSource);
+    }
+
+    private Map<String, Object> describe(HikariDataSource dataSource) {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("name", dataSource.getPoolName());
+
+        // The pool starts with its first connection; the Oracle pool may never start
+        HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+        pool.put("started", mxBean != null);
+        if (mxBean != null) {
+            pool.put("active", mxBean.getActiveConnections());
+            pool.put("idle", mxBean.getIdleConnections());
+            pool.put("pending", mxBean.getThreadsAwaitingConnection());
+            pool.put("total", mxBean.getTotalConnections());
+        }
+        pool.put("maximumPoolSize", dataSource.getMaximumPoolSize());
+        pool.put("minimumIdle", dataSource.getMinimumIdle());
+        pool.put("connectionTimeoutMs", dataSource.getConnectionTimeout());
+
+        pool.put("acquire", timer("hikaricp.connections.acquire", dataSource.getPoolName()));
+        Map<String, Object> usage = timer("hikaricp.connections.usage", dataSource.getPoolName());
+        pool.put("usage", usage);
+
+        // Hikari logs every leak with the stack trace that borrowed the connection;
+        // here a connection held longer than the threshold within the timer's max window is flagged
+        Map<String, Object> leakDetection = new LinkedHashMap<>();
+        long thresholdMs = dataSource.getLeakDetectionThreshold();
+        leakDetection.put("thresholdMs", thresholdMs);
+        leakDetection.put("enabled", thresholdMs > 0);
+        if (thresholdMs > 0 && usage.get("maxMs") instanceof Double maxMs) {
+            leakDetection.put("thresholdExceeded", maxMs > thresholdMs);
+        }
+        pool.put("leakDetection", leakDetection);
+        return pool;
+    }
+
+    private Map<String, Object> timer(String name, String poolName) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Timer timer = meterRegistry.find(name).tag("pool", poolName).timer();
+        if (timer == null) {
+            return result;
+        }
+
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        result.put("count", snapshot.count());
+        result.put("meanMs", snapshot.mean(TimeUnit.MILLISECONDS));
+        result.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+
+        // Configured by management.metrics.distribution.percentiles / slo
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            String key = BigDecimal.valueOf(percentile.percentile() * 100).setScale(1, RoundingMode.HALF_UP)
+                    .stripTrailingZeros().toPlainString();
+            percentiles.put("p" + key, percentile.value(TimeUnit.MILLISECONDS));
+        }
+        result.put("percentilesMs", percentiles);
+
+        Map<String, Double> histogram = new LinkedHashMap<>();
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            histogram.put("le " + bucket.bucket(TimeUnit.MILLISECONDS) + "ms", bucket.count());
+        }
+        result.put("histogram", histogram);
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package org.zerock.board.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource wrapper that records how long the current request waited for a connection
+ * (pool checkout or, for an empty pool, a new physical connection).
+ */
+public class ConnectionTimingDataSource extends DelegatingDataSource {
+
+    public ConnectionTimingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        } finally {
+            RequestMetrics.recordConnection(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            RequestMetrics.recordConnection(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.zerock.board.monitoring;
+
+/**
+ * Per-request counters for JDBC statements, database time, connection wait time and
+ * response serialization time. Bound to the request thread by ServerTimingFilter;
+ * work outside a request (schedulers, startup) is not recorded, and neither is work an
+ * async request (SseEmitter, DeferredResult, CompletableFuture) does on other threads.
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int statementCount;
+    private long dbNanos;
+    private int connectionCount;
+    private long connectionWaitNanos;
+    private long serializationNanos;
+    private String endpoint;
+    private int maxStatements;
+    private StatementBudgetExceededException budgetExceeded;
+
+    /**
+     * Metrics of the current request, or null outside a request.
+     */
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    static void bind(RequestMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Called before each statement runs; throws once the request has used its statement
+     * budget, so the request fails before its response body is written.
+     */
+    public static void checkStatementBudget() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null && metrics.maxStatements > 0 && metrics.statementCount >= metrics.maxStatements) {
+            metrics.budgetExceeded = new StatementBudgetExceededException(
+                    metrics.endpoint, metrics.statementCount + 1, metrics.maxStatements);
+            throw metrics.budgetExceeded;
+        }
+    }
+
+    public static void recordStatement(long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.statementCount++;
+            metrics.dbNanos += nanos;
+        }
+    }
+
+    public static void recordConnection(long waitNanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.connectionCount++;
+            metrics.connectionWaitNanos += waitNanos;
+        }
+    }
+
+    public static void recordSerialization(long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.serializationNanos += nanos;
+        }
+    }
+
+    // Enforces the budget in checkStatementBudget; 0 leaves the request unlimited
+    void failAbove(String endpoint, int maxStatements) {
+        this.endpoint = endpoint;
+        this.maxStatements = maxStatements;
+    }
+
+    StatementBudgetExceededException getBudgetExceeded() {
+        return budgetExceeded;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    /**
+     * Server-Timing header value, e.g. {@code db;dur=12.3;desc="4 statements", conn;dur=0.2, ser;dur=1.1, total;dur=20.5}.
+     */
+    public String toServerTiming() {
+        return "db;dur=" + millis(dbNanos) + ";desc=\"" + statementCount + " statements\""
+                + ", conn;dur=" + millis(connectionWaitNanos) + ";desc=\"" + connectionCount + " connections\""
+                + ", ser;dur=" + millis(serializationNanos)
+                + ", total;dur=" + millis(System.nanoTime() - startNanos);
+    }
+
+    private static String millis(long nanos) {
+        return String.format(java.util.Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,139 @@
+package org.zerock.board.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.zerock.board.config.MonitoringConfig;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Binds RequestMetrics to each request and reports them in a Server-Timing header.
+ * The header is added just before the first byte of the body is written (headers cannot
+ * change afterwards), so the body is not buffered and streaming responses keep working.
+ * Statement counts above the endpoint's budget are logged or, in FAIL mode, stop the
+ * request at the first statement over the budget and answer it with a 500 naming the
+ * budget, unless the response was already committed (then the exception propagates).
+ * Off by default: the header exposes DB timings to every client, so enable it in dev and test.
+ * Metrics are thread-bound, so for async requests (SSE streams, DeferredResult) the header
+ * and the budget only cover the work done on the request thread before the handler returned.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final MonitoringConfig monitoringConfig;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !monitoringConfig.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.start();
+        int maxStatements = maxStatements(request);
+        if (monitoringConfig.getBudgetMode() == MonitoringConfig.BudgetMode.FAIL) {
+            metrics.failAbove(endpoint(request), maxStatements);
+        }
+
+        ServerTimingResponse timingResponse = new ServerTimingResponse(response, metrics);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } catch (ServletException | RuntimeException e) {
+            // MyBatis and the DispatcherServlet wrap the exception thrown by the interceptor
+            StatementBudgetExceededException exceeded = metrics.getBudgetExceeded();
+            if (exceeded == null) {
+                throw e;
+            }
+            if (timingResponse.isCommitted()) {
+                throw exceeded;
+            }
+            timingResponse.resetBuffer();
+            timingResponse.addServerTiming();
+            timingResponse.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, exceeded.getMessage());
+        } finally {
+            RequestMetrics.clear();
+            // Responses without a body (204, redirects) still get the header
+            timingResponse.addServerTiming();
+        }
+        logBudget(request, metrics, maxStatements);
+    }
+
+    // Helper method to log requests over the endpoint's budget, including those FAIL mode stopped
+    private void logBudget(HttpServletRequest request, RequestMetrics metrics, int maxStatements) {
+        if (maxStatements <= 0 || (metrics.getStatementCount() <= maxStatements && metrics.getBudgetExceeded() == null)) {
+            return;
+        }
+        log.warn("Statement budget exceeded: {} executed {} statements (budget {}), {}",
+                endpoint(request), metrics.getStatementCount(), maxStatements, metrics.toServerTiming());
+    }
+
+    private String endpoint(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+
+    private int maxStatements(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (MonitoringConfig.StatementBudget budget : monitoringConfig.getBudgets()) {
+            boolean methodMatches = budget.getMethod() == null || budget.getMethod().equalsIgnoreCase(request.getMethod());
+            if (methodMatches && budget.getPattern() != null && pathMatcher.match(budget.getPattern(), path)) {
+                return budget.getMaxStatements();
+            }
+        }
+        return monitoringConfig.getDefaultMaxStatements();
+    }
+
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestMetrics metrics;
+        private boolean headerAdded;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestMetrics metrics) {
+            super(response);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        private void addServerTiming() {
+            if (!headerAdded && !isCommitted()) {
+                headerAdded = true;
+                setHeader(HEADER, metrics.toServerTiming());
+            }
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package org.zerock.board.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.StartupProfileConfig;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the startup steps recorded by BufferingApplicationStartup (see BoardApplication) into
+ * a profile once the application is ready, i.e. after the schema migration and warmup runners:
+ * - timeline: every step in start order, with its total and self time (total minus child steps)
+ * - phases: self time summed per step name (bean instantiation, post-processing, runners, ...)
+ * - beans: the slowest beans by self time, so a bean is not charged for its dependencies
+ * - regressions: phases and beans that got slower than in the baseline profile
+ *
+ * The profile of the last start is written to latest.json in startup-profile.directory (replacing
+ * the previous one); copy a good one to the baseline file to compare later starts with it.
+ * Regressions are also logged, so the actuator endpoint does not need to be exposed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupProfiler {
+
+    private final StartupProfileConfig startupProfileConfig;
+    private final ObjectMapper objectMapper;
+
+    private volatile Map<String, Object> profile = Map.of();
+
+    public Map<String, Object> getProfile() {
+        return profile;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!startupProfileConfig.isEnabled()) {
+            return;
+        }
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            log.debug("Startup steps are not recorded; no startup profile");
+            return;
+        }
+
+        Map<String, Object> current = build(buffering.getBufferedTimeline());
+        current.put("regressions", regressions(current));
+        profile = current;
+        persist(current);
+    }
+
+    private Map<String, Object> build(StartupTimeline timeline) {
+        Instant applicationStart = timeline.getStartTime();
+        Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        List<StartupTimeline.TimelineEvent> events = new ArrayList<>(timeline.getEvents());
+        events.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime));
+
+        // Self time: a step's duration minus the durations of its direct child steps
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        Map<String, double[]> phases = new HashMap<>();          // name -> {self ms, count}
+        List<Map<String, Object>> beans = new ArrayList<>();
+        double trackedMs = 0;
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            double totalMs = millis(event.getDuration());
+            double selfMs = Math.max(0, totalMs - millis(childTime.getOrDefault(step.getId(), Duration.ZERO)));
+            Map<String, String> tags = new LinkedHashMap<>();
+            step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", step.getId());
+            entry.put("parentId", step.getParentId());
+            entry.put("name", step.getName());
+            entry.put("tags", tags);
+            entry.put("startMs", millis(Duration.between(applicationStart, event.getStartTime())));
+            entry.put("totalMs", totalMs);
+            entry.put("selfMs", selfMs);
+            steps.add(entry);
+
+            double[] phase = phases.computeIfAbsent(step.getName(), name -> new double[2]);
+            phase[0] += selfMs;
+            phase[1]++;
+            if (step.getParentId() == null) {
+                trackedMs += totalMs;
+            }
+            if ("spring.beans.instantiate".equals(step.getName()) && tags.containsKey("beanName")) {
+                Map<String, Object> bean = new LinkedHashMap<>();
+                bean.put("bean", tags.get("beanName"));
+                bean.put("totalMs", totalMs);
+                bean.put("selfMs", selfMs);
+                beans.add(bean);
+            }
+        }
+
+        List<Map<String, Object>> phaseList = new ArrayList<>();
+        phases.forEach((name, values) -> {
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("phase", name);
+            phase.put("selfMs", values[0]);
+            phase.put("steps", (long) values[1]);
+            phaseList.add(phase);
+        });
+        phaseList.sort(bySelfTime());
+        beans.sort(bySelfTime());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jvmStart", jvmStart.toString());
+        summary.put("jvmToApplicationStartMs", millis(Duration.between(jvmStart, applicationStart)));
+        summary.put("readyMs", millis(Duration.between(jvmStart, Instant.now())));
+        summary.put("trackedMs", trackedMs);
+        summary.put("steps", steps.size());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("summary", summary);
+        result.put("phases", phaseList);
+        result.put("beans", beans.subList(0, Math.min(startupProfileConfig.getTopBeans(), beans.size())));
+        result.put("timeline", steps);
+        return result;
+    }
+
+    // Phases, beans and the ready time that exceed both regression thresholds relative to the baseline
+    private List<Map<String, Object>> regressions(Map<String, Object> current) {
+        Path baselineFile = startupProfileConfig.resolveBaseline();
+        if (!Files.exists(baselineFile)) {
+            return List.of();
+        }
+        JsonNode baseline;
+        try {
+            baseline = objectMapper.readTree(baselineFile.toFile());
+        } catch (IOException e) {
+            log.warn("Could not read startup baseline {}", baselineFile, e);
+            return List.of();
+        }
+
+        List<Map<String, Object>> regressions = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> summary = (Map<String, Object>) current.get("summary");
+        compare(regressions, "total", "readyMs", baseline.path("summary").path("readyMs"), (double) summary.get("readyMs"));
+
+        Map<String, JsonNode> baselinePhases = index(baseline.path("phases"), "phase");
+        Map<String, JsonNode> baselineBeans = index(baseline.path("beans"), "bean");
+        for (Object phase : (List<?>) current.get("phases")) {
+            Map<?, ?> entry = (Map<?, ?>) phase;
+            String name = (String) entry.get("phase");
+            JsonNode previous = baselinePhases.get(name);
+            compare(regressions, "phase", name, previous == null ? null : previous.path("selfMs"), (double) entry.get("selfMs"));
+        }
+        for (Object bean : (List<?>) current.get("beans")) {
+            Map<?, ?> entry = (Map<?, ?>) bean;
+            String name = (String) entry.get("bean");
+            JsonNode previous = baselineBeans.get(name);
+            // Beans missing from the baseline's slowest list have no baseline time and are not compared
+            compare(regressions, "bean", name, previous == null ? null : previous.path("selfMs"), (double) entry.get("selfMs"));
+        }
+
+        for (Map<String, Object> regression : regressions) {
+            log.warn("Startup regression: {} {} took {} ms, baseline {} ms", regression.get("kind"), regression.get("name"),
+                    regression.get("currentMs"), regression.get("baselineMs"));
+        }
+        return regressions;
+    }
+
+    private void compare(List<Map<String, Object>> regressions, String kind, String name, JsonNode baselineMs, double currentMs) {
+        if (baselineMs == null || !baselineMs.isNumber()) {
+            return;
+        }
+        double previous = baselineMs.asDouble();
+        if (currentMs > previous * (1 + startupProfileConfig.getMaxRegressionPercent() / 100)
+                && currentMs - previous >= startupProfileConfig.getMinRegressionMs()) {
+            Map<String, Object> regression = new LinkedHashMap<>();
+            regression.put("kind", kind);
+            regression.put("name", name);
+            regression.put("baselineMs", previous);
+            regression.put("currentMs", currentMs);
+            regressions.add(regression);
+        }
+    }
+
+    // Only the last profile is kept; written to a temporary file first so readers never see a partial one
+    private void persist(Map<String, Object> current) {
+        Path directory = startupProfileConfig.resolveDirectory();
+        Path temporary = null;
+        try {
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "latest-", ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temporary.toFile(), current);
+            Path latest = directory.resolve("latest.json");
+            Files.move(temporary, latest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Startup profile written to {}", latest);
+        } catch (IOException e) {
+            log.warn("Could not write the startup profile to {}", directory, e);
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException ignored) {
+                    // Left for the next start to overwrite
+                }
+            }
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode entries, String key) {
+        Map<String, JsonNode> index = new HashMap<>();
+        for (JsonNode entry : entries) {
+            index.put(entry.path(key).asText(), entry);
+        }
+        return index;
+    }
+
+    private static Comparator<Map<String, Object>> bySelfTime() {
+        return Comparator.comparingDouble((Map<String, Object> entry) -> (double) entry.get("selfMs")).reversed();
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,32 @@
+package org.zerock.board.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint /actuator/startupTimeline with the profile of the last start (see
+ * StartupProfiler); /actuator/startupTimeline/{section} returns one of summary, phases,
+ * beans, timeline and regressions.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "startupTimeline")
+public class StartupTimelineEndpoint {
+
+    private final StartupProfiler startupProfiler;
+
+    @ReadOperation
+    public Map<String, Object> profile() {
+        return startupProfiler.getProfile();
+    }
+
+    @ReadOperation
+    public Object section(@Selector String section) {
+        return startupProfiler.getProfile().get(section);
+    }
+}
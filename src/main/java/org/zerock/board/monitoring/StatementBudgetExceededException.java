@@ -0,0 +1,25 @@
+package org.zerock.board.monitoring;
+
+/**
+ * Thrown before a request executes more JDBC statements than its configured budget
+ * when the budget mode is FAIL.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+
+    private final int statementCount;
+    private final int maxStatements;
+
+    public StatementBudgetExceededException(String endpoint, int statementCount, int maxStatements) {
+        super(endpoint + " exceeded its statement budget at statement " + statementCount + ", budget is " + maxStatements);
+        this.statementCount = statementCount;
+        this.maxStatements = maxStatements;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+}
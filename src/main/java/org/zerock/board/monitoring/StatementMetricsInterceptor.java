@@ -0,0 +1,43 @@
+package org.zerock.board.monitoring;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * MyBatis plugin that counts every executed JDBC statement and its duration
+ * (execution plus result mapping) for the current request. In FAIL budget mode a
+ * statement over the request's budget is not executed.
+ * Registered with the SqlSessionFactory by the MyBatis auto-configuration.
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (RequestMetrics.current() == null) {
+            return invocation.proceed();
+        }
+
+        RequestMetrics.checkStatementBudget();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestMetrics.recordStatement(System.nanoTime() - start);
+        }
+    }
+}
@@ -17,6 +17,7 @@ public interface BoardRepository {
     List<Board> findAll();
     List<Board> findAllWithPaging(@Param("offset") int offset, @Param("limit") int limit);
     int count();
+    List<Long> findMostViewedIds(@Param("limit") int limit);
 
     // Update
     void update(Board board);
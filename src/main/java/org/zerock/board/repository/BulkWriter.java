@@ -0,0 +1,73 @@
+package org.zerock.board.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.BulkWriteConfig;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Bulk writes through a MyBatis ExecutorType.BATCH session: the mapper statement is called
+ * once per row, so the SQL text is the same for any number of rows and stays in the
+ * statement caches; rows are sent with executeBatch every bulk-write.batch-size rows.
+ *
+ * The batch session takes its connection from the DataSource like every other session, so
+ * inside a Spring transaction it writes on the transaction's connection and commits or rolls
+ * back with it. All rows are flushed before a method returns.
+ *
+ * Inserts get their ids as single inserts do: MariaDB returns the AUTO_INCREMENT keys of a
+ * batch (useGeneratedKeys), Oracle ids are set before each row is added to the batch
+ * (SequenceKeyInterceptor).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkWriter {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BulkWriteConfig bulkWriteConfig;
+
+    /**
+     * Run a single-row statement (insert, update, delete) for every row; inserted rows carry their ids afterwards.
+     *
+     * @return affected rows per row, in order; Statement.SUCCESS_NO_INFO (-2) where the driver does not tell
+     */
+    public <M, T> int[] write(Class<M> mapperType, BiConsumer<M, T> statement, List<T> rows) {
+        int[] counts = new int[rows.size()];
+        if (rows.isEmpty()) {
+            return counts;
+        }
+
+        int batchSize = Math.max(1, bulkWriteConfig.getBatchSize());
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            M mapper = session.getMapper(mapperType);
+            int flushed = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                statement.accept(mapper, rows.get(i));
+                if ((i + 1) % batchSize == 0 || i == rows.size() - 1) {
+                    flushed = copyCounts(session.flushStatements(), counts, flushed);
+                }
+            }
+            // No-op inside a Spring transaction; commits the batch when called without one
+            session.commit();
+        }
+
+        log.debug("Bulk write of {} {} rows in batches of {}", rows.size(), mapperType.getSimpleName(), batchSize);
+        return counts;
+    }
+
+    private static int copyCounts(List<BatchResult> results, int[] counts, int offset) {
+        for (BatchResult result : results) {
+            int[] updateCounts = result.getUpdateCounts();
+            System.arraycopy(updateCounts, 0, counts, offset, updateCounts.length);
+            offset += updateCounts.length;
+        }
+        return offset;
+    }
+}
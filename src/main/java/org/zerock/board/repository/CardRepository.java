@@ -13,7 +13,6 @@ import java.util.Optional;
 public interface CardRepository {
     // Create
     void insert(Card card);
-    void insertBatch(List<Card> cards);
 
     // Read
     Optional<Card> findById(Long cardId);
@@ -21,9 +20,10 @@ public interface CardRepository {
 
     // Update
     void update(Card card);
-    void updateBatch(List<Card> cards);
+    int updateStateByPosition(Card card);
 
     // Delete
     void deleteById(Long cardId);
     void deleteByLayoutId(Long layoutId);
+    void deleteByIds(List<Long> cardIds);
 }
@@ -19,6 +19,7 @@ public interface CentralMenuRepository {
 
     // Update
     void update(CentralMenu centralMenu);
+    int updateStateByLayoutId(CentralMenu centralMenu);
 
     // Delete
     void deleteById(Long menuId);
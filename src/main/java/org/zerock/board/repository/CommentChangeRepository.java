@@ -0,0 +1,32 @@
+package org.zerock.board.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.zerock.board.model.CommentChange;
+
+import java.util.List;
+
+/**
+ * Repository interface for the comment change log.
+ */
+@Mapper
+public interface CommentChangeRepository {
+    // Create
+    void insertCommentChange(@Param("commentId") Long commentId, @Param("changeType") String changeType);
+    void insertSubtreeChanges(@Param("path") String path, @Param("includeRoot") boolean includeRoot,
+                              @Param("changeType") String changeType);
+    void insertCommentChangesByIds(@Param("commentIds") List<Long> commentIds, @Param("changeType") String changeType);
+    void insertReplyChange(@Param("replyId") Long replyId, @Param("changeType") String changeType);
+
+    // Read
+    List<CommentChange> findByBoardIdAfter(@Param("boardId") Long boardId, @Param("since") Long since, @Param("limit") int limit,
+                                           @Param("settleSeconds") int settleSeconds);
+    Long findSettledChangeId(@Param("boardId") Long boardId, @Param("settleSeconds") int settleSeconds);
+    int countChange(@Param("boardId") Long boardId, @Param("changeId") Long changeId);
+
+    // Retention: boards with changes older than the window, each with the newest of those (boardId, changeId)
+    List<CommentChange> findPrunableBoards(@Param("retentionDays") int retentionDays);
+
+    // Delete
+    int deleteChangesBefore(@Param("boardId") Long boardId, @Param("changeId") Long changeId, @Param("limit") int limit);
+}
@@ -1,6 +1,7 @@
 package org.zerock.board.repository;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.zerock.board.model.Comment;
 
 import java.util.List;
@@ -13,15 +14,31 @@ public interface CommentRepository {
 
     // Read
     Optional<Comment> findById(Long commentId);
+    Optional<Comment> findByIdForUpdate(Long commentId);
     List<Comment> findByBoardId(Long boardId);
     List<Comment> findByParentCommentId(Long parentCommentId);
     List<Comment> findTopLevelByBoardId(Long boardId);
+    List<Comment> findThreadByBoardId(Long boardId);
+    List<Comment> findSubtreeByPath(String path);
+    List<Long> findDescendantIds(String path);
+    int findMaxDepthByPath(String path);
+    List<Comment> findByIds(List<Long> commentIds);
+    List<Comment> findTopLevelPage(@Param("boardId") Long boardId, @Param("cursor") Long cursor, @Param("limit") int limit);
+    List<Comment> findChildPage(@Param("parentCommentId") Long parentCommentId, @Param("cursor") Long cursor, @Param("limit") int limit);
+    List<Comment> findDescendantWindow(@Param("paths") List<String> paths, @Param("maxDepth") int maxDepth,
+                                       @Param("childLimit") int childLimit, @Param("maxRows") int maxRows);
 
     // Update
     void update(Comment comment);
+    void updatePath(Comment comment);
+    void updateParent(@Param("commentId") Long commentId, @Param("parentCommentId") Long parentCommentId);
+    void moveSubtree(@Param("oldPath") String oldPath, @Param("oldPathLength") int oldPathLength,
+                     @Param("newPath") String newPath, @Param("depthDelta") int depthDelta);
 
     // Delete
     void deleteById(Long commentId);
     void deleteByBoardId(Long boardId);
     void deleteByParentCommentId(Long parentCommentId);
+    void deleteDescendants(String path);
+    void deleteByIds(List<Long> commentIds);
 }
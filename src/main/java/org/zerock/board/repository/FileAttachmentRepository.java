@@ -10,7 +10,6 @@ import java.util.Optional;
 public interface FileAttachmentRepository {
     // Create
     void insert(FileAttachment file);
-    void insertBatch(List<FileAttachment> files);
 
     // Read
     Optional<FileAttachment> findById(Long fileId);
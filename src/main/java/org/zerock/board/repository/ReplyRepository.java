@@ -14,6 +14,9 @@ public interface ReplyRepository {
     // Read
     Optional<Reply> findById(Long replyId);
     List<Reply> findByCommentId(Long commentId);
+    List<Reply> findByCommentIds(List<Long> commentIds);
+    List<Reply> findByIds(List<Long> replyIds);
+    Optional<Long> findBoardIdByReplyId(Long replyId);
 
     // Update
     void update(Reply reply);
@@ -21,4 +24,6 @@ public interface ReplyRepository {
     // Delete
     void deleteById(Long replyId);
     void deleteByCommentId(Long commentId);
+    void deleteByCommentDescendants(String path);
+    void deleteByCommentIds(List<Long> commentIds);
 }
@@ -1,6 +1,7 @@
 package org.zerock.board.repository;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.zerock.board.model.ScreenLayout;
 
 import java.util.List;
@@ -16,10 +17,15 @@ public interface ScreenLayoutRepository {
 
     // Read
     Optional<ScreenLayout> findById(Long layoutId);
+    Long findVersionById(Long layoutId);
     List<ScreenLayout> findAll();
+    Optional<ScreenLayout> findDetailById(Long layoutId);
+    List<ScreenLayout> findAllDetails();
 
     // Update
     void update(ScreenLayout screenLayout);
+    int updateIfVersion(ScreenLayout screenLayout);
+    int incrementVersionIfVersion(@Param("layoutId") Long layoutId, @Param("version") Long version);
 
     // Delete
     void deleteById(Long layoutId);
@@ -0,0 +1,141 @@
+package org.zerock.board.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.config.IdAllocationConfig;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Oracle id allocation from blocks of prefetched sequence values, so an insert needs no
+ * NEXTVAL/CURRVAL round trip of its own.
+ *
+ * Each sequence has a pool holding the current block and at most one prefetched block.
+ * Ids are handed out lock-free from the current block; when the refill threshold is
+ * reached the next block is fetched on a virtual thread. Only when a block runs out
+ * before its successor arrived does a caller fetch synchronously, under a per-sequence lock.
+ * Ids stay unique and increase per block; values left in the pools at shutdown become gaps,
+ * as with the sequence's own cache.
+ */
+@Slf4j
+@Component
+public class SequenceIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocationConfig idAllocationConfig;
+    private final ConcurrentHashMap<String, Pool> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SequenceIdAllocator(DataSource dataSource, IdAllocationConfig idAllocationConfig) {
+        this(new JdbcTemplate(dataSource), idAllocationConfig);
+    }
+
+    // For tests, which stub the block fetch
+    SequenceIdAllocator(JdbcTemplate jdbcTemplate, IdAllocationConfig idAllocationConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocationConfig = idAllocationConfig;
+    }
+
+    /**
+     * Next value of the given sequence.
+     */
+    public long next(String sequence) {
+        return pools.computeIfAbsent(sequence, Pool::new).next();
+    }
+
+    // One round trip for a whole block; sequence names come from code, never from requests
+    private Block fetch(String sequence) {
+        int blockSize = Math.max(1, idAllocationConfig.getBlockSize());
+        List<Long> values = jdbcTemplate.queryForList(
+                "SELECT " + sequence + ".NEXTVAL FROM dual CONNECT BY LEVEL <= ?", Long.class, blockSize);
+        long[] ids = values.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (ids.length == 0) {
+            throw new IllegalStateException("Sequence " + sequence + " returned no values");
+        }
+        log.debug("Fetched {} values of {} ({}..{})", ids.length, sequence, ids[0], ids[ids.length - 1]);
+        return new Block(ids);
+    }
+
+    private static final class Block {
+
+        static final Block EMPTY = new Block(new long[0]);
+
+        final long[] ids;
+        final AtomicInteger cursor = new AtomicInteger();
+
+        Block(long[] ids) {
+            this.ids = ids;
+        }
+    }
+
+    private final class Pool {
+
+        private final String sequence;
+        private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+        private final AtomicReference<Block> prefetched = new AtomicReference<>();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final ReentrantLock advanceLock = new ReentrantLock();
+
+        Pool(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            while (true) {
+                Block block = current.get();
+                int index = block.cursor.getAndIncrement();
+                if (index < block.ids.length) {
+                    // Exactly one caller sees the trigger index of a block
+                    if (index == Math.max(0, block.ids.length - idAllocationConfig.getRefillThreshold())) {
+                        refillAsync();
+                    }
+                    return block.ids[index];
+                }
+                advance(block);
+            }
+        }
+
+        private void advance(Block exhausted) {
+            advanceLock.lock();
+            try {
+                if (current.get() != exhausted) {
+                    return; // another caller already moved on
+                }
+                Block next = prefetched.getAndSet(null);
+                if (next == null) {
+                    log.debug("Prefetched block of {} not ready, fetching synchronously", sequence);
+                    next = fetch(sequence);
+                }
+                current.set(next);
+            } finally {
+                advanceLock.unlock();
+            }
+        }
+
+        private void refillAsync() {
+            if (prefetched.get() != null || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+            Thread.ofVirtual().name("sequence-refill-" + sequence).start(() -> {
+                // The pools only exist on Oracle; route the new thread's connection there
+                DatabaseConfig.setCurrentDatabase(DatabaseConfig.DatabaseType.ORACLE);
+                try {
+                    prefetched.compareAndSet(null, fetch(sequence));
+                } catch (RuntimeException e) {
+                    log.warn("Background refill of {} failed; the next block is fetched on demand", sequence, e);
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+}
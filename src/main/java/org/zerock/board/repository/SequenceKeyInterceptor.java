@@ -0,0 +1,66 @@
+package org.zerock.board.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.stereotype.Component;
+import org.zerock.board.model.Board;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.FileAttachment;
+import org.zerock.board.model.Reply;
+import org.zerock.board.model.ScreenLayout;
+
+import java.util.Map;
+
+/**
+ * MyBatis plugin that sets the id of an entity before its Oracle insert runs, from the
+ * prefetched sequence values of SequenceIdAllocator. The Oracle insert statements name
+ * their id in keyProperty and insert it explicitly, so each insert is one round trip,
+ * batched inserts (BulkWriter) included. Ids that are already set are kept.
+ * MariaDB inserts use AUTO_INCREMENT with useGeneratedKeys and are not touched.
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class SequenceKeyInterceptor implements Interceptor {
+
+    private static final Map<Class<?>, String> SEQUENCES = Map.of(
+            Board.class, "board_seq",
+            FileAttachment.class, "file_seq",
+            Comment.class, "comment_seq",
+            Reply.class, "reply_seq",
+            ScreenLayout.class, "screen_layout_seq",
+            Card.class, "card_seq",
+            CentralMenu.class, "central_menu_seq");
+
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+
+        if (statement.getSqlCommandType() == SqlCommandType.INSERT
+                && "oracle".equals(statement.getConfiguration().getDatabaseId())
+                && statement.getKeyProperties() != null
+                && parameter != null) {
+            String sequence = SEQUENCES.get(parameter.getClass());
+            if (sequence != null) {
+                MetaObject metaObject = statement.getConfiguration().newMetaObject(parameter);
+                String keyProperty = statement.getKeyProperties()[0];
+                if (metaObject.getValue(keyProperty) == null) {
+                    metaObject.setValue(keyProperty, sequenceIdAllocator.next(sequence));
+                }
+            }
+        }
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,23 @@
+package org.zerock.board.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for per-user layout state operations.
+ * The state is the bitset produced by LayoutStateBits.
+ */
+@Mapper
+public interface UserLayoutStateRepository {
+    // Read
+    Optional<Long> findState(@Param("userId") Long userId, @Param("layoutId") Long layoutId);
+
+    // Create with state, or update an existing row to (state & keepMask) | setBits
+    void upsertState(@Param("userId") Long userId, @Param("layoutId") Long layoutId, @Param("state") long state,
+                     @Param("keepMask") long keepMask, @Param("setBits") long setBits);
+
+    // Delete
+    void deleteState(@Param("userId") Long userId, @Param("layoutId") Long layoutId);
+}
@@ -2,22 +2,21 @@ package org.zerock.board.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.zerock.board.event.BoardEvent;
 import org.zerock.board.model.Board;
 import org.zerock.board.model.Comment;
 import org.zerock.board.model.FileAttachment;
 import org.zerock.board.repository.BoardRepository;
+import org.zerock.board.repository.BulkWriter;
 import org.zerock.board.repository.CommentRepository;
 import org.zerock.board.repository.FileAttachmentRepository;
-import org.zerock.board.repository.ReplyRepository;
+import org.zerock.board.storage.FileStorage;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -29,10 +28,11 @@ public class BoardServiceImpl implements BoardService {
 
     private final BoardRepository boardRepository;
     private final FileAttachmentRepository fileAttachmentRepository;
+    private final BulkWriter bulkWriter;
+    private final FileStorage fileStorage;
     private final CommentRepository commentRepository;
-    private final ReplyRepository replyRepository;
-
-    private final String fileUploadDirectory = "files";
+    private final ReplyBatchLoader replyBatchLoader;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Content 최대 길이 설정 (데이터베이스 스키마에 맞게 조정)
     private static final int MAX_CONTENT_LENGTH = 16777216; // LONGTEXT 타입의 최대 길이 (16MB)
@@ -68,9 +68,7 @@ public class BoardServiceImpl implements BoardService {
 
         // Get comments with replies
         List<Comment> comments = commentRepository.findByBoardId(boardId);
-        comments.forEach(comment -> {
-            comment.setReplies(replyRepository.findByCommentId(comment.getCommentId()));
-        });
+        replyBatchLoader.loadInto(comments);
         board.setComments(comments);
 
         return board;
@@ -118,6 +116,7 @@ public class BoardServiceImpl implements BoardService {
     @Transactional
     public void incrementViewCount(Long boardId) {
         boardRepository.incrementViewCount(boardId);
+        eventPublisher.publishEvent(BoardEvent.view(boardId));
     }
 
     @Override
@@ -148,12 +147,6 @@ public class BoardServiceImpl implements BoardService {
     private void saveFiles(Long boardId, List<MultipartFile> multipartFiles) {
         List<FileAttachment> fileAttachments = new ArrayList<>();
 
-        // Create upload directory if it doesn't exist
-        File uploadDir = new File(fileUploadDirectory);
-        if (!uploadDir.exists()) {
-            uploadDir.mkdirs();
-        }
-
         for (MultipartFile multipartFile : multipartFiles) {
             if (!multipartFile.isEmpty()) {
                 try {
@@ -162,9 +155,8 @@ public class BoardServiceImpl implements BoardService {
                     String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
                     String storedFilename = UUID.randomUUID().toString() + extension;
 
-                    // Save file to disk
-                    Path filePath = Paths.get(fileUploadDirectory, storedFilename);
-                    Files.write(filePath, multipartFile.getBytes());
+                    // Save file to the NAS (spooled locally while it is unavailable)
+                    fileStorage.store(storedFilename, multipartFile.getBytes());
 
                     // Create file attachment entity
                     FileAttachment fileAttachment = FileAttachment.builder()
@@ -185,16 +177,11 @@ public class BoardServiceImpl implements BoardService {
 
         // Save file attachments to database
         if (!fileAttachments.isEmpty()) {
-            fileAttachmentRepository.insertBatch(fileAttachments);
+            bulkWriter.write(FileAttachmentRepository.class, FileAttachmentRepository::insert, fileAttachments);
         }
     }
 
     private void deletePhysicalFile(String storedFilename) {
-        try {
-            Path filePath = Paths.get(fileUploadDirectory, storedFilename);
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            log.error("Failed to delete file", e);
-        }
+        fileStorage.delete(storedFilename);
     }
 }
@@ -0,0 +1,81 @@
+package org.zerock.board.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.CommentChangeConfig;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.model.CommentChange;
+import org.zerock.board.repository.CommentChangeRepository;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retention of the comment change log: deletes changes older than comment-change.retention-days
+ * in batches. The newest old change of each board is kept, since it may be the token of a
+ * client polling a quiet board; a token whose row was deleted is reported as expired by the
+ * changes feed, and the client reloads the thread. Every node runs it; the deletes are idempotent.
+ */
+@Slf4j
+@Component
+public class CommentChangePruner {
+
+    private final CommentChangeRepository commentChangeRepository;
+    private final CommentChangeConfig config;
+    private final DatabaseConfig.DatabaseType databaseType;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("comment-change-pruner").daemon().factory());
+
+    public CommentChangePruner(CommentChangeRepository commentChangeRepository, CommentChangeConfig config,
+                               @Value("${spring.database.type:mariadb}") String databaseType) {
+        this.commentChangeRepository = commentChangeRepository;
+        this.config = config;
+        this.databaseType = "oracle".equalsIgnoreCase(databaseType)
+                ? DatabaseConfig.DatabaseType.ORACLE
+                : DatabaseConfig.DatabaseType.MARIADB;
+        if (config.getRetentionDays() > 0) {
+            long interval = Math.max(1, config.getPruneIntervalMinutes());
+            scheduler.scheduleWithFixedDelay(this::pruneQuietly, interval, interval, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Delete the changes older than the retention window; returns the number of rows deleted.
+     */
+    public int prune() {
+        int batchSize = Math.max(1, config.getPruneBatchSize());
+        int deleted = 0;
+        for (CommentChange newest : commentChangeRepository.findPrunableBoards(config.getRetentionDays())) {
+            int batch;
+            do {
+                // Each statement commits on its own, so locks are held for one batch only
+                batch = commentChangeRepository.deleteChangesBefore(newest.getBoardId(), newest.getChangeId(), batchSize);
+                deleted += batch;
+            } while (batch == batchSize);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} comment changes older than {} days", deleted, config.getRetentionDays());
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // Runs on the scheduler thread; must not throw, or the schedule stops
+    private void pruneQuietly() {
+        DatabaseConfig.setCurrentDatabase(databaseType);
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("Pruning the comment change log failed; retrying in {} minutes: {}",
+                    config.getPruneIntervalMinutes(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.zerock.board.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for the materialized ancestry path stored in comment.path.
+ * Each level is the zero-padded comment id followed by '/', so sorting by path
+ * yields the thread in display order and a subtree is a single prefix range.
+ */
+public final class CommentPaths {
+
+    public static final int SEGMENT_DIGITS = 10;
+    public static final int SEGMENT_LENGTH = SEGMENT_DIGITS + 1;
+
+    // Bounded by the width of the path column (1100 characters)
+    public static final int MAX_DEPTH = 100;
+
+    private CommentPaths() {
+    }
+
+    /**
+     * Build the path of a comment from its parent's path (null for top-level comments).
+     */
+    public static String childPath(String parentPath, Long commentId) {
+        String segment = String.format("%0" + SEGMENT_DIGITS + "d/", commentId);
+        return parentPath == null ? segment : parentPath + segment;
+    }
+
+    /**
+     * Ids of all ancestors encoded in a path, root first, excluding the comment itself.
+     */
+    public static List<Long> ancestorIds(String path) {
+        List<Long> ids = new ArrayList<>();
+        if (path == null) {
+            return ids;
+        }
+        for (int start = 0; start + SEGMENT_LENGTH < path.length(); start += SEGMENT_LENGTH) {
+            ids.add(Long.parseLong(path.substring(start, start + SEGMENT_DIGITS)));
+        }
+        return ids;
+    }
+}
@@ -1,5 +1,7 @@
 package org.zerock.board.service;
 
+import org.zerock.board.dto.CommentChangesResponseDTO;
+import org.zerock.board.dto.CommentPageResponseDTO;
 import org.zerock.board.model.Comment;
 
 import java.util.List;
@@ -15,11 +17,17 @@ public interface CommentService {
     List<Comment> getTopLevelCommentsByBoardId(Long boardId);
     List<Comment> getChildCommentsByParentId(Long parentCommentId);
     List<Comment> getCommentsByBoardIdWithNesting(Long boardId);
+    List<Comment> getAncestorComments(Long commentId);
+    CommentPageResponseDTO getCommentPageByBoardId(Long boardId, Long cursor, int size, int maxDepth, int childLimit);
+    CommentPageResponseDTO getChildCommentPage(Long parentCommentId, Long cursor, int size, int maxDepth, int childLimit);
+    CommentChangesResponseDTO getCommentChanges(Long boardId, Long since);
 
     // Update
     void updateComment(Comment comment);
+    void moveComment(Long commentId, Long newParentCommentId);
 
     // Delete
     void deleteComment(Long commentId);
     void deleteChildComments(Long parentCommentId);
+    void deleteCommentInChunks(Long commentId, int chunkSize);
 }
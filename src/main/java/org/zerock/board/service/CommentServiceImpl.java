@@ -2,14 +2,22 @@ package org.zerock.board.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.board.dto.CommentChangesResponseDTO;
+import org.zerock.board.dto.CommentPageResponseDTO;
+import org.zerock.board.event.BoardEvent;
 import org.zerock.board.model.Comment;
+import org.zerock.board.model.CommentChange;
+import org.zerock.board.repository.CommentChangeRepository;
 import org.zerock.board.repository.CommentRepository;
 import org.zerock.board.repository.ReplyRepository;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +28,27 @@ public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final ReplyRepository replyRepository;
+    private final ReplyBatchLoader replyBatchLoader;
+    private final CommentChangeRepository commentChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Oracle rejects IN-lists with more than 1000 elements
+    private static final int MAX_DELETE_CHUNK_SIZE = 1000;
+
+    // Upper bounds for paged thread requests so memory per request stays bounded
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_DEPTH = 10;
+    private static final int MAX_CHILD_LIMIT = 50;
+    private static final int MAX_NODES_PER_PAGE = 2000;
+
+    // Changes returned per poll; also keeps the follow-up IN-lists below Oracle's limit
+    private static final int MAX_CHANGES_PER_POLL = 500;
+
+    // change_id is assigned at insert, not at commit, so a lower id can become visible after a higher one.
+    // The token only advances over changes older than this (by the database clock); newer ones are
+    // returned again by the next poll. Must exceed the longest transaction that writes comment changes.
+    static final int CHANGE_SETTLE_SECONDS = 30;
 
     @Override
     @Transactional
@@ -27,6 +56,15 @@ public class CommentServiceImpl implements CommentService {
         // Ensure this is a top-level comment (no parent)
         comment.setParentCommentId(null);
         commentRepository.insert(comment);
+
+        // Maintain the ancestry path
+        comment.setPath(CommentPaths.childPath(null, comment.getCommentId()));
+        comment.setDepth(0);
+        commentRepository.updatePath(comment);
+
+        commentChangeRepository.insertCommentChange(comment.getCommentId(), CommentChange.CREATE);
+        eventPublisher.publishEvent(BoardEvent.comment(comment.getBoardId(), comment.getCommentId(), BoardEvent.CREATE));
+
         return comment.getCommentId();
     }
 
@@ -38,10 +76,24 @@ public class CommentServiceImpl implements CommentService {
             throw new RuntimeException("Parent comment ID is required for nested comments");
         }
 
-        commentRepository.findById(comment.getParentCommentId())
+        // Locked, so a concurrent move of the parent cannot leave this comment with the old path
+        Comment parent = commentRepository.findByIdForUpdate(comment.getParentCommentId())
                 .orElseThrow(() -> new RuntimeException("Parent comment not found with id: " + comment.getParentCommentId()));
 
+        if (parent.getDepth() + 1 >= CommentPaths.MAX_DEPTH) {
+            throw new IllegalArgumentException("Maximum comment nesting depth of " + CommentPaths.MAX_DEPTH + " exceeded");
+        }
+
         commentRepository.insert(comment);
+
+        // Maintain the ancestry path
+        comment.setPath(CommentPaths.childPath(parent.getPath(), comment.getCommentId()));
+        comment.setDepth(parent.getDepth() + 1);
+        commentRepository.updatePath(comment);
+
+        commentChangeRepository.insertCommentChange(comment.getCommentId(), CommentChange.CREATE);
+        eventPublisher.publishEvent(BoardEvent.comment(parent.getBoardId(), comment.getCommentId(), BoardEvent.CREATE));
+
         return comment.getCommentId();
     }
 
@@ -51,16 +103,11 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
 
-        // Load replies
-        comment.setReplies(replyRepository.findByCommentId(commentId));
-
-        // Load child comments
-        comment.setChildren(commentRepository.findByParentCommentId(commentId));
+        // Load the whole subtree with one range scan and assemble it in memory
+        List<Comment> subtree = commentRepository.findSubtreeByPath(comment.getPath());
+        loadReplies(subtree);
 
-        // Recursively load children for each child comment
-        loadChildComments(comment.getChildren());
-
-        return comment;
+        return buildTree(subtree).get(0);
     }
 
     @Override
@@ -69,9 +116,7 @@ public class CommentServiceImpl implements CommentService {
         List<Comment> comments = commentRepository.findByBoardId(boardId);
 
         // Load replies for each comment
-        comments.forEach(comment -> {
-            comment.setReplies(replyRepository.findByCommentId(comment.getCommentId()));
-        });
+        loadReplies(comments);
 
         return comments;
     }
@@ -82,9 +127,7 @@ public class CommentServiceImpl implements CommentService {
         List<Comment> comments = commentRepository.findTopLevelByBoardId(boardId);
 
         // Load replies for each comment
-        comments.forEach(comment -> {
-            comment.setReplies(replyRepository.findByCommentId(comment.getCommentId()));
-        });
+        loadReplies(comments);
 
         return comments;
     }
@@ -92,96 +135,368 @@ public class CommentServiceImpl implements CommentService {
     @Override
     @Transactional(readOnly = true)
     public List<Comment> getChildCommentsByParentId(Long parentCommentId) {
-        List<Comment> childComments = commentRepository.findByParentCommentId(parentCommentId);
+        Comment parent = commentRepository.findById(parentCommentId)
+                .orElseThrow(() -> new RuntimeException("Parent comment not found with id: " + parentCommentId));
 
-        // Load replies for each comment
-        childComments.forEach(comment -> {
-            comment.setReplies(replyRepository.findByCommentId(comment.getCommentId()));
-        });
-
-        // Recursively load children for each child comment
-        loadChildComments(childComments);
+        // Load the parent's subtree and return its children with their descendants attached
+        List<Comment> subtree = commentRepository.findSubtreeByPath(parent.getPath());
+        loadReplies(subtree);
 
-        return childComments;
+        return buildTree(subtree).get(0).getChildren();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Comment> getCommentsByBoardIdWithNesting(Long boardId) {
-        // Get top-level comments
-        List<Comment> topLevelComments = commentRepository.findTopLevelByBoardId(boardId);
+        // Load the whole thread in display order with one query
+        List<Comment> thread = commentRepository.findThreadByBoardId(boardId);
+        loadReplies(thread);
 
-        // Load replies for each comment
-        topLevelComments.forEach(comment -> {
-            comment.setReplies(replyRepository.findByCommentId(comment.getCommentId()));
+        return buildTree(thread);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Comment> getAncestorComments(Long commentId) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
+
+        // Ancestor ids are encoded in the path, so this is a single primary key lookup
+        List<Long> ancestorIds = CommentPaths.ancestorIds(comment.getPath());
+        if (ancestorIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return commentRepository.findByIds(ancestorIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageResponseDTO getCommentPageByBoardId(Long boardId, Long cursor, int size, int maxDepth, int childLimit) {
+        int pageSize = clamp(size, MAX_PAGE_SIZE);
+        List<Comment> roots = commentRepository.findTopLevelPage(boardId, cursor, pageSize + 1);
+
+        // Top-level comments have depth 0, so maxDepth is also the absolute depth limit
+        return buildPage(roots, pageSize, clampDepth(maxDepth), childLimit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageResponseDTO getChildCommentPage(Long parentCommentId, Long cursor, int size, int maxDepth, int childLimit) {
+        Comment parent = commentRepository.findById(parentCommentId)
+                .orElseThrow(() -> new RuntimeException("Parent comment not found with id: " + parentCommentId));
+
+        int pageSize = clamp(size, MAX_PAGE_SIZE);
+        List<Comment> roots = commentRepository.findChildPage(parentCommentId, cursor, pageSize + 1);
+
+        // Depth limit is relative to the page's comments, which sit one level below the parent
+        int absoluteMaxDepth = parent.getDepth() + 1 + clampDepth(maxDepth);
+        return buildPage(roots, pageSize, absoluteMaxDepth, childLimit);
+    }
+
+    // Helper method to attach a bounded window of descendants to a page of comments
+    private CommentPageResponseDTO buildPage(List<Comment> roots, int pageSize, int absoluteMaxDepth, int childLimit) {
+        // One extra row was fetched to detect whether another page exists
+        boolean hasMore = roots.size() > pageSize;
+        List<Comment> page = hasMore ? new ArrayList<>(roots.subList(0, pageSize)) : roots;
+
+        List<Comment> loaded = new ArrayList<>(page);
+        if (!page.isEmpty()) {
+            List<String> paths = new ArrayList<>();
+            page.forEach(comment -> paths.add(comment.getPath()));
+
+            List<Comment> descendants = commentRepository.findDescendantWindow(
+                    paths, absoluteMaxDepth, clamp(childLimit, MAX_CHILD_LIMIT), MAX_NODES_PER_PAGE);
+            loaded.addAll(attachDescendants(page, descendants));
+        }
+
+        // Mark nodes whose children were cut off by the depth, child or node limits
+        for (Comment comment : loaded) {
+            if (comment.getChildren() == null) {
+                comment.setChildren(new ArrayList<>());
+            }
+            int childCount = comment.getChildCount() == null ? 0 : comment.getChildCount();
+            boolean hasMoreChildren = childCount > comment.getChildren().size();
+            comment.setHasMoreChildren(hasMoreChildren);
+            if (hasMoreChildren && !comment.getChildren().isEmpty()) {
+                List<Comment> children = comment.getChildren();
+                comment.setNextChildCursor(children.get(children.size() - 1).getCommentId());
+            }
+        }
+
+        loadReplies(loaded);
+
+        return CommentPageResponseDTO.builder()
+                .comments(page)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? page.get(page.size() - 1).getCommentId() : null)
+                .build();
+    }
+
+    // Helper method to attach descendants ordered by path to the given roots, dropping nodes whose parent was cut off
+    private List<Comment> attachDescendants(List<Comment> roots, List<Comment> descendantsInPathOrder) {
+        Map<Long, Comment> commentsById = new HashMap<>();
+        roots.forEach(root -> {
+            root.setChildren(new ArrayList<>());
+            commentsById.put(root.getCommentId(), root);
         });
 
-        // Recursively load children for each top-level comment
-        loadChildComments(topLevelComments);
+        List<Comment> attached = new ArrayList<>();
+        for (Comment comment : descendantsInPathOrder) {
+            Comment parent = commentsById.get(comment.getParentCommentId());
+            if (parent == null) {
+                continue;
+            }
+            comment.setChildren(new ArrayList<>());
+            parent.getChildren().add(comment);
+            commentsById.put(comment.getCommentId(), comment);
+            attached.add(comment);
+        }
+
+        return attached;
+    }
+
+    private static int clamp(int value, int max) {
+        return Math.max(1, Math.min(value, max));
+    }
 
-        return topLevelComments;
+    private static int clampDepth(int maxDepth) {
+        return Math.max(0, Math.min(maxDepth, MAX_PAGE_DEPTH));
     }
 
-    // Helper method to recursively load child comments
-    private void loadChildComments(List<Comment> comments) {
-        if (comments == null || comments.isEmpty()) {
-            return;
+    @Override
+    @Transactional(readOnly = true)
+    public CommentChangesResponseDTO getCommentChanges(Long boardId, Long since) {
+        if (since == null) {
+            // Without a token the client loads the thread first and polls from the settled position;
+            // the first poll re-reads the unsettled changes, which the loaded thread may already contain
+            Long settled = commentChangeRepository.findSettledChangeId(boardId, CHANGE_SETTLE_SECONDS);
+            return CommentChangesResponseDTO.builder()
+                    .comments(new ArrayList<>())
+                    .replies(new ArrayList<>())
+                    .deleted(new ArrayList<>())
+                    .token(settled == null ? 0L : settled)
+                    .hasMore(false)
+                    .build();
         }
 
-        for (Comment comment : comments) {
-            // Load child comments
-            List<Comment> childComments = commentRepository.findByParentCommentId(comment.getCommentId());
-            comment.setChildren(childComments);
+        // A token is the change_id of one of the board's changes (or 0); once that row is pruned
+        // (CommentChangePruner), later changes may be gone as well
+        if (since > 0 && commentChangeRepository.countChange(boardId, since) == 0) {
+            return CommentChangesResponseDTO.builder()
+                    .comments(new ArrayList<>())
+                    .replies(new ArrayList<>())
+                    .deleted(new ArrayList<>())
+                    .token(since)
+                    .hasMore(false)
+                    .expired(true)
+                    .build();
+        }
 
-            // Load replies for each child comment
-            childComments.forEach(childComment -> {
-                childComment.setReplies(replyRepository.findByCommentId(childComment.getCommentId()));
-            });
+        List<CommentChange> changes = commentChangeRepository.findByBoardIdAfter(boardId, since, MAX_CHANGES_PER_POLL + 1, CHANGE_SETTLE_SECONDS);
+        boolean hasMore = changes.size() > MAX_CHANGES_PER_POLL;
+        if (hasMore) {
+            changes = changes.subList(0, MAX_CHANGES_PER_POLL);
+        }
+
+        // Only the latest change per entity matters; the response carries current state, so changes
+        // returned again from the unsettled window are idempotent for the client
+        Map<String, CommentChange> latestByEntity = new LinkedHashMap<>();
+        for (CommentChange change : changes) {
+            latestByEntity.put(change.getEntityType() + ":" + change.getEntityId(), change);
+        }
+
+        List<Long> commentIds = new ArrayList<>();
+        List<Long> replyIds = new ArrayList<>();
+        List<CommentChange> deleted = new ArrayList<>();
+        for (CommentChange change : latestByEntity.values()) {
+            if (CommentChange.DELETE.equals(change.getChangeType())) {
+                deleted.add(change);
+            } else if (CommentChange.ENTITY_REPLY.equals(change.getEntityType())) {
+                replyIds.add(change.getEntityId());
+            } else {
+                commentIds.add(change.getEntityId());
+            }
+        }
+
+        long token = settledToken(changes, since);
+        return CommentChangesResponseDTO.builder()
+                .comments(commentIds.isEmpty() ? new ArrayList<>() : commentRepository.findByIds(commentIds))
+                .replies(replyIds.isEmpty() ? new ArrayList<>() : replyRepository.findByIds(replyIds))
+                .deleted(deleted)
+                .token(token)
+                // A full page that is still unsettled does not move the token; the client waits for the next poll
+                .hasMore(hasMore && token > since)
+                .build();
+    }
 
-            // Recursively load children for each child comment
-            loadChildComments(childComments);
+    // The highest settled change_id of the page, or since. Ids are handed out in order, so a change that was
+    // not visible yet is younger than every higher id: it stays above the token and is read by the next poll.
+    private static long settledToken(List<CommentChange> changes, long since) {
+        long token = since;
+        for (CommentChange change : changes) {
+            if (change.isSettled()) {
+                token = change.getChangeId();
+            }
         }
+        return token;
+    }
+
+    // Helper method to load replies for the given comments in batched queries
+    private void loadReplies(List<Comment> comments) {
+        replyBatchLoader.loadInto(comments);
+    }
+
+    // Helper method to assemble comments ordered by path into trees, returning the roots
+    private List<Comment> buildTree(List<Comment> commentsInPathOrder) {
+        Map<Long, Comment> commentsById = new HashMap<>();
+        List<Comment> roots = new ArrayList<>();
+
+        for (Comment comment : commentsInPathOrder) {
+            comment.setChildren(new ArrayList<>());
+            commentsById.put(comment.getCommentId(), comment);
+
+            // Parents always precede their children in path order
+            Comment parent = comment.getParentCommentId() == null ? null : commentsById.get(comment.getParentCommentId());
+            if (parent != null) {
+                parent.getChildren().add(comment);
+            } else {
+                roots.add(comment);
+            }
+        }
+
+        return roots;
     }
 
     @Override
     @Transactional
     public void updateComment(Comment comment) {
         // Check if comment exists
-        commentRepository.findById(comment.getCommentId())
+        Comment existing = commentRepository.findById(comment.getCommentId())
                 .orElseThrow(() -> new RuntimeException("Comment not found with id: " + comment.getCommentId()));
 
         // Update comment
         commentRepository.update(comment);
+
+        commentChangeRepository.insertCommentChange(comment.getCommentId(), CommentChange.UPDATE);
+        eventPublisher.publishEvent(BoardEvent.comment(existing.getBoardId(), comment.getCommentId(), BoardEvent.UPDATE));
+    }
+
+    @Override
+    @Transactional
+    public void moveComment(Long commentId, Long newParentCommentId) {
+        // Both rows are locked in id order before their paths are checked, so two concurrent moves
+        // (e.g. A below B and B below A) run one after the other and the second sees the first's paths
+        Comment newParent = null;
+        if (newParentCommentId != null && newParentCommentId < commentId) {
+            newParent = lockComment(newParentCommentId, "Parent comment");
+        }
+        Comment comment = lockComment(commentId, "Comment");
+        if (newParentCommentId != null && newParent == null) {
+            newParent = lockComment(newParentCommentId, "Parent comment");
+        }
+
+        String newPath;
+        int newDepth;
+        if (newParent == null) {
+            newPath = CommentPaths.childPath(null, commentId);
+            newDepth = 0;
+        } else {
+            if (!newParent.getBoardId().equals(comment.getBoardId())) {
+                throw new IllegalArgumentException("Comments can only be moved within the same board");
+            }
+            if (newParent.getPath().startsWith(comment.getPath())) {
+                throw new IllegalArgumentException("A comment cannot be moved below itself or its descendants");
+            }
+
+            newPath = CommentPaths.childPath(newParent.getPath(), commentId);
+            newDepth = newParent.getDepth() + 1;
+        }
+
+        // The deepest descendant must still fit, as createNestedComment checks for a single comment
+        int maxRelativeDepth = commentRepository.findMaxDepthByPath(comment.getPath()) - comment.getDepth();
+        if (newDepth + maxRelativeDepth >= CommentPaths.MAX_DEPTH) {
+            throw new IllegalArgumentException("Maximum comment nesting depth of " + CommentPaths.MAX_DEPTH + " exceeded");
+        }
+
+        // Re-parent the root and rewrite the path prefix of the whole subtree in one statement
+        commentRepository.updateParent(commentId, newParentCommentId);
+        commentRepository.moveSubtree(comment.getPath(), comment.getPath().length(), newPath, newDepth - comment.getDepth());
+
+        commentChangeRepository.insertSubtreeChanges(newPath, true, CommentChange.UPDATE);
+        eventPublisher.publishEvent(BoardEvent.comment(comment.getBoardId(), commentId, BoardEvent.UPDATE));
+    }
+
+    // Helper method to read a comment and lock its row until the transaction ends
+    private Comment lockComment(Long commentId, String description) {
+        return commentRepository.findByIdForUpdate(commentId)
+                .orElseThrow(() -> new RuntimeException(description + " not found with id: " + commentId));
     }
 
     @Override
     @Transactional
     public void deleteComment(Long commentId) {
-        // Delete child comments first (this is handled by DB cascade, but we're being explicit)
-        deleteChildComments(commentId);
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
+
+        // Record tombstones for the whole subtree and its replies before the rows disappear
+        commentChangeRepository.insertSubtreeChanges(comment.getPath(), true, CommentChange.DELETE);
+
+        // Delete the whole subtree in a constant number of statements
+        deleteDescendants(comment.getPath());
 
         // Delete replies (this is handled by DB cascade, but we're being explicit)
         replyRepository.deleteByCommentId(commentId);
 
         // Delete comment
         commentRepository.deleteById(commentId);
+
+        // Descendants are implied by the deleted root
+        eventPublisher.publishEvent(BoardEvent.comment(comment.getBoardId(), commentId, BoardEvent.DELETE));
     }
 
     @Override
     @Transactional
     public void deleteChildComments(Long parentCommentId) {
-        // Get all child comments
-        List<Comment> childComments = commentRepository.findByParentCommentId(parentCommentId);
+        Comment parent = commentRepository.findById(parentCommentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found with id: " + parentCommentId));
+
+        commentChangeRepository.insertSubtreeChanges(parent.getPath(), false, CommentChange.DELETE);
+        deleteDescendants(parent.getPath());
 
-        // Recursively delete each child comment's children
-        for (Comment childComment : childComments) {
-            deleteChildComments(childComment.getCommentId());
+        eventPublisher.publishEvent(BoardEvent.comment(parent.getBoardId(), parentCommentId, BoardEvent.DELETE_CHILDREN));
+    }
 
-            // Delete replies for the child comment
-            replyRepository.deleteByCommentId(childComment.getCommentId());
+    // Helper method to delete every descendant of the comment with the given path
+    private void deleteDescendants(String path) {
+        // Replies of every descendant first, then the descendants themselves (leaf-first)
+        replyRepository.deleteByCommentDescendants(path);
+        commentRepository.deleteDescendants(path);
+    }
 
-            // Delete the child comment
-            commentRepository.deleteById(childComment.getCommentId());
+    @Override
+    public void deleteCommentInChunks(Long commentId, int chunkSize) {
+        int size = Math.max(1, Math.min(chunkSize, MAX_DELETE_CHUNK_SIZE));
+
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
+
+        // Collect the subtree once; ids are leaf-first so every chunk only removes rows without remaining children
+        List<Long> commentIds = new ArrayList<>(commentRepository.findDescendantIds(comment.getPath()));
+        commentIds.add(commentId);
+
+        log.debug("Deleting comment {} with {} descendants in chunks of {}", commentId, commentIds.size() - 1, size);
+
+        // Each chunk runs in its own short transaction so locks are not held for the whole walk
+        for (int from = 0; from < commentIds.size(); from += size) {
+            List<Long> chunk = commentIds.subList(from, Math.min(from + size, commentIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                commentChangeRepository.insertCommentChangesByIds(chunk, CommentChange.DELETE);
+                replyRepository.deleteByCommentIds(chunk);
+                commentRepository.deleteByIds(chunk);
+            });
         }
+
+        // Not inside a transaction, so the event is broadcast right away
+        eventPublisher.publishEvent(BoardEvent.comment(comment.getBoardId(), commentId, BoardEvent.DELETE));
     }
 }
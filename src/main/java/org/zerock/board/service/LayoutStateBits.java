@@ -0,0 +1,144 @@
+package org.zerock.board.service;
+
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+
+import java.util.List;
+
+/**
+ * Bit packing of the card and central menu flags of one layout into a single long.
+ * Each card position takes four bits (horizontalCollapse, verticalCollapse, titleOnly,
+ * expanded), followed by the two central menu bits (priority, expanded), 18 bits in total.
+ * PRESENT marks an encoded state, so a stored state with all flags off is distinguishable
+ * from "no state".
+ */
+public final class LayoutStateBits {
+
+    public static final String[] POSITIONS = {"LEFT_1", "LEFT_2", "RIGHT_1", "RIGHT_2"};
+
+    private static final int BITS_PER_CARD = 4;
+    private static final int HORIZONTAL_COLLAPSE = 0;
+    private static final int VERTICAL_COLLAPSE = 1;
+    private static final int TITLE_ONLY = 2;
+    private static final int EXPANDED = 3;
+
+    private static final int MENU_OFFSET = POSITIONS.length * BITS_PER_CARD;
+    private static final int MENU_PRIORITY = MENU_OFFSET;
+    private static final int MENU_EXPANDED = MENU_OFFSET + 1;
+
+    public static final long PRESENT = 1L << 62;
+
+    private LayoutStateBits() {
+    }
+
+    public static boolean isPresent(long bits) {
+        return (bits & PRESENT) != 0;
+    }
+
+    /**
+     * Encode the flags of the given cards and central menu (either may be null).
+     */
+    public static long encode(List<Card> cards, CentralMenu centralMenu) {
+        long bits = PRESENT;
+        if (cards != null) {
+            for (Card card : cards) {
+                bits = applyCard(bits, card);
+            }
+        }
+        if (centralMenu != null) {
+            bits = applyCentralMenu(bits, centralMenu);
+        }
+        return bits;
+    }
+
+    /**
+     * Set the non-null flags of the card at its position; unknown positions are rejected.
+     */
+    public static long applyCard(long bits, Card card) {
+        int base = positionIndex(card.getPosition()) * BITS_PER_CARD;
+        bits = set(bits, base + HORIZONTAL_COLLAPSE, card.getHorizontalCollapse());
+        bits = set(bits, base + VERTICAL_COLLAPSE, card.getVerticalCollapse());
+        bits = set(bits, base + TITLE_ONLY, card.getTitleOnly());
+        bits = set(bits, base + EXPANDED, card.getExpanded());
+        return bits | PRESENT;
+    }
+
+    /**
+     * Set the non-null flags of the central menu.
+     */
+    public static long applyCentralMenu(long bits, CentralMenu centralMenu) {
+        bits = set(bits, MENU_PRIORITY, centralMenu.getPriority());
+        bits = set(bits, MENU_EXPANDED, centralMenu.getExpanded());
+        return bits | PRESENT;
+    }
+
+    /**
+     * Bits that applyCard() writes for the card: its non-null flags and PRESENT.
+     */
+    public static long cardMask(Card card) {
+        int base = positionIndex(card.getPosition()) * BITS_PER_CARD;
+        return mask(base + HORIZONTAL_COLLAPSE, card.getHorizontalCollapse())
+                | mask(base + VERTICAL_COLLAPSE, card.getVerticalCollapse())
+                | mask(base + TITLE_ONLY, card.getTitleOnly())
+                | mask(base + EXPANDED, card.getExpanded())
+                | PRESENT;
+    }
+
+    /**
+     * Bits that applyCentralMenu() writes for the central menu: its non-null flags and PRESENT.
+     */
+    public static long centralMenuMask(CentralMenu centralMenu) {
+        return mask(MENU_PRIORITY, centralMenu.getPriority())
+                | mask(MENU_EXPANDED, centralMenu.getExpanded())
+                | PRESENT;
+    }
+
+    /**
+     * Copy the flags stored in bits into the given card (its position selects the bits).
+     */
+    public static void decodeInto(long bits, Card card) {
+        int base = positionIndex(card.getPosition()) * BITS_PER_CARD;
+        card.setHorizontalCollapse(get(bits, base + HORIZONTAL_COLLAPSE));
+        card.setVerticalCollapse(get(bits, base + VERTICAL_COLLAPSE));
+        card.setTitleOnly(get(bits, base + TITLE_ONLY));
+        card.setExpanded(get(bits, base + EXPANDED));
+    }
+
+    public static void decodeInto(long bits, CentralMenu centralMenu) {
+        centralMenu.setPriority(get(bits, MENU_PRIORITY));
+        centralMenu.setExpanded(get(bits, MENU_EXPANDED));
+    }
+
+    public static boolean isKnownPosition(String position) {
+        for (String known : POSITIONS) {
+            if (known.equals(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int positionIndex(String position) {
+        for (int i = 0; i < POSITIONS.length; i++) {
+            if (POSITIONS[i].equals(position)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown card position: " + position);
+    }
+
+    private static long set(long bits, int bit, Boolean value) {
+        if (value == null) {
+            return bits;
+        }
+        return value ? bits | (1L << bit) : bits & ~(1L << bit);
+    }
+
+    private static long mask(int bit, Boolean value) {
+        return value == null ? 0L : 1L << bit;
+    }
+
+    private static boolean get(long bits, int bit) {
+        return (bits & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,84 @@
+package org.zerock.board.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.Reply;
+import org.zerock.board.repository.ReplyRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DataLoader-style batcher for replies.
+ * Collects the comment ids of a whole page or tree, de-duplicates them and loads
+ * the replies with as few IN-list queries as the current database allows.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReplyBatchLoader {
+
+    // Oracle rejects IN-lists with more than 1000 elements (ORA-01795)
+    static final int ORACLE_CHUNK_SIZE = 1000;
+
+    // MariaDB has no hard limit, but very long IN-lists inflate packet size and parse time
+    static final int MARIADB_CHUNK_SIZE = 2000;
+
+    private final ReplyRepository replyRepository;
+
+    /**
+     * Load the replies of all given comments and attach them to each comment.
+     * Comments without replies get an empty list.
+     */
+    public void loadInto(Collection<Comment> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return;
+        }
+
+        List<Long> commentIds = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            commentIds.add(comment.getCommentId());
+        }
+
+        Map<Long, List<Reply>> repliesByCommentId = load(commentIds);
+        for (Comment comment : comments) {
+            comment.setReplies(repliesByCommentId.getOrDefault(comment.getCommentId(), new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Load the replies of the given comments grouped by comment id.
+     */
+    public Map<Long, List<Reply>> load(Collection<Long> commentIds) {
+        Map<Long, List<Reply>> repliesByCommentId = new HashMap<>();
+        if (commentIds == null || commentIds.isEmpty()) {
+            return repliesByCommentId;
+        }
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(commentIds);
+        uniqueIds.remove(null);
+        List<Long> ids = new ArrayList<>(uniqueIds);
+
+        int chunkSize = chunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            for (Reply reply : replyRepository.findByCommentIds(chunk)) {
+                repliesByCommentId.computeIfAbsent(reply.getCommentId(), id -> new ArrayList<>()).add(reply);
+            }
+        }
+
+        return repliesByCommentId;
+    }
+
+    private int chunkSize() {
+        return DatabaseConfig.getCurrentDatabase() == DatabaseConfig.DatabaseType.ORACLE
+                ? ORACLE_CHUNK_SIZE
+                : MARIADB_CHUNK_SIZE;
+    }
+}
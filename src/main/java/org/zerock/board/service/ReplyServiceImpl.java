@@ -2,9 +2,13 @@ package org.zerock.board.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.zerock.board.event.BoardEvent;
+import org.zerock.board.model.CommentChange;
 import org.zerock.board.model.Reply;
+import org.zerock.board.repository.CommentChangeRepository;
 import org.zerock.board.repository.ReplyRepository;
 
 import java.util.List;
@@ -15,11 +19,15 @@ import java.util.List;
 public class ReplyServiceImpl implements ReplyService {
 
     private final ReplyRepository replyRepository;
+    private final CommentChangeRepository commentChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public Long createReply(Reply reply) {
         replyRepository.insert(reply);
+        commentChangeRepository.insertReplyChange(reply.getReplyId(), CommentChange.CREATE);
+        publishReplyEvent(reply.getReplyId(), BoardEvent.CREATE);
         return reply.getReplyId();
     }
 
@@ -45,11 +53,22 @@ public class ReplyServiceImpl implements ReplyService {
 
         // Update reply
         replyRepository.update(reply);
+        commentChangeRepository.insertReplyChange(reply.getReplyId(), CommentChange.UPDATE);
+        publishReplyEvent(reply.getReplyId(), BoardEvent.UPDATE);
     }
 
     @Override
     @Transactional
     public void deleteReply(Long replyId) {
+        // Record the tombstone and resolve the board while the reply still exists
+        commentChangeRepository.insertReplyChange(replyId, CommentChange.DELETE);
+        publishReplyEvent(replyId, BoardEvent.DELETE);
         replyRepository.deleteById(replyId);
     }
+
+    // Helper method to publish a reply event; it is only broadcast once the transaction commits
+    private void publishReplyEvent(Long replyId, String changeType) {
+        replyRepository.findBoardIdByReplyId(replyId)
+                .ifPresent(boardId -> eventPublisher.publishEvent(BoardEvent.reply(boardId, replyId, changeType)));
+    }
 }
@@ -0,0 +1,182 @@
+package org.zerock.board.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.zerock.board.config.ScreenLayoutCacheConfig;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.ScreenLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Versioned in-memory cache of fully loaded screen layouts.
+ * Every invalidation bumps a version; a load only stores its result when the version
+ * did not change while it was running, so a read racing with a write can never put
+ * stale data back. Writers invalidate immediately and again when their transaction completes.
+ * Callers always receive copies, so cached instances are never mutated.
+ *
+ * Invalidations are local to this node. Entries expire after screen-layout.cache.ttl-ms, so a
+ * layout written on another node is served with its old content and version for at most that long.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScreenLayoutCache {
+
+    // Layouts are few; this only protects against unbounded growth
+    private static final int MAX_ENTRIES = 10000;
+
+    private final ScreenLayoutCacheConfig config;
+
+    private final Map<Long, Entry<ScreenLayout>> layouts = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> layoutVersions = new ConcurrentHashMap<>();
+
+    private volatile Entry<List<ScreenLayout>> allLayouts;
+    private final AtomicLong allLayoutsVersion = new AtomicLong();
+
+    public ScreenLayout get(Long layoutId, Supplier<ScreenLayout> loader) {
+        long version = version(layoutId);
+        Entry<ScreenLayout> entry = layouts.get(layoutId);
+        if (entry != null && entry.isValid(version)) {
+            return copy(entry.value);
+        }
+
+        ScreenLayout loaded = loader.get();
+        if (version(layoutId) == version && config.getTtlMs() > 0) {
+            if (layouts.size() >= MAX_ENTRIES) {
+                layouts.clear();
+            }
+            layouts.put(layoutId, new Entry<>(version, expiresAt(), copy(loaded)));
+        }
+        return loaded;
+    }
+
+    public List<ScreenLayout> getAll(Supplier<List<ScreenLayout>> loader) {
+        Entry<List<ScreenLayout>> entry = allLayouts;
+        if (entry != null && entry.isValid(allLayoutsVersion.get())) {
+            return copy(entry.value);
+        }
+
+        long loadVersion = allLayoutsVersion.get();
+        List<ScreenLayout> loaded = loader.get();
+        if (allLayoutsVersion.get() == loadVersion && config.getTtlMs() > 0) {
+            allLayouts = new Entry<>(loadVersion, expiresAt(), copy(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalidate a layout (null for a newly created one) and the list of all layouts,
+     * now and once more when the current transaction completes.
+     */
+    public void invalidate(Long layoutId) {
+        invalidateNow(layoutId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    // Also after rollback: a load during the transaction may have stored its uncommitted view
+                    invalidateNow(layoutId);
+                }
+            });
+        }
+    }
+
+    // Invalidation count of a layout. Reads never add entries, so lookups of unknown ids (which the
+    // loader rejects) cannot grow the map; only layouts that were written are tracked.
+    private long version(Long layoutId) {
+        AtomicLong version = layoutVersions.get(layoutId);
+        return version == null ? 0 : version.get();
+    }
+
+    private long expiresAt() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getTtlMs());
+    }
+
+    private void invalidateNow(Long layoutId) {
+        if (layoutId != null) {
+            layoutVersions.computeIfAbsent(layoutId, id -> new AtomicLong()).incrementAndGet();
+            layouts.remove(layoutId);
+        }
+        allLayoutsVersion.incrementAndGet();
+        allLayouts = null;
+    }
+
+    private List<ScreenLayout> copy(List<ScreenLayout> screenLayouts) {
+        List<ScreenLayout> copies = new ArrayList<>(screenLayouts.size());
+        for (ScreenLayout screenLayout : screenLayouts) {
+            copies.add(copy(screenLayout));
+        }
+        return copies;
+    }
+
+    static ScreenLayout copy(ScreenLayout screenLayout) {
+        List<Card> cards = null;
+        if (screenLayout.getCards() != null) {
+            cards = new ArrayList<>(screenLayout.getCards().size());
+            for (Card card : screenLayout.getCards()) {
+                cards.add(copy(card));
+            }
+        }
+
+        CentralMenu menu = screenLayout.getCentralMenu();
+        CentralMenu menuCopy = menu == null ? null : CentralMenu.builder()
+                .menuId(menu.getMenuId())
+                .layoutId(menu.getLayoutId())
+                .priority(menu.getPriority())
+                .expanded(menu.getExpanded())
+                .createdDate(menu.getCreatedDate())
+                .modifiedDate(menu.getModifiedDate())
+                .build();
+
+        return ScreenLayout.builder()
+                .layoutId(screenLayout.getLayoutId())
+                .name(screenLayout.getName())
+                .version(screenLayout.getVersion())
+                .createdDate(screenLayout.getCreatedDate())
+                .modifiedDate(screenLayout.getModifiedDate())
+                .cards(cards)
+                .centralMenu(menuCopy)
+                .build();
+    }
+
+    static Card copy(Card card) {
+        return Card.builder()
+                .cardId(card.getCardId())
+                .layoutId(card.getLayoutId())
+                .position(card.getPosition())
+                .title(card.getTitle())
+                .horizontalCollapse(card.getHorizontalCollapse())
+                .verticalCollapse(card.getVerticalCollapse())
+                .titleOnly(card.getTitleOnly())
+                .expanded(card.getExpanded())
+                .createdDate(card.getCreatedDate())
+                .modifiedDate(card.getModifiedDate())
+                .build();
+    }
+
+    private static final class Entry<T> {
+        private final long version;
+        private final long expiresAtNanos;
+        private final T value;
+
+        private Entry(long version, long expiresAtNanos, T value) {
+            this.version = version;
+            this.expiresAtNanos = expiresAtNanos;
+            this.value = value;
+        }
+
+        private boolean isValid(long currentVersion) {
+            return version == currentVersion && System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.zerock.board.service;
 
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
 import org.zerock.board.model.ScreenLayout;
 
 import java.util.List;
@@ -27,16 +29,40 @@ public interface ScreenLayoutService {
     /**
      * Get all screen layouts.
      *
-     * @return List of all screen layouts (without cards and central menu)
+     * @return List of all screen layouts, including their cards and central menu
      */
     List<ScreenLayout> getAllScreenLayouts();
 
     /**
      * Update an existing screen layout, including its cards and central menu.
+     * The update only succeeds when the layout's version still equals screenLayout.version
+     * (or, if no version is given, the version read at the start of the update).
      *
      * @param screenLayout The screen layout to update
+     * @return The new version of the screen layout
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the layout was modified concurrently
      */
-    void updateScreenLayout(ScreenLayout screenLayout);
+    Long updateScreenLayout(ScreenLayout screenLayout);
+
+    /**
+     * Update the state of a single card without rewriting the rest of the layout.
+     * Only the non-null fields of the given card are changed. The change is visible to reads
+     * immediately and written to the database after a short quiet period.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param position The position of the card ('LEFT_1', 'LEFT_2', 'RIGHT_1', 'RIGHT_2')
+     * @param card The fields to change
+     */
+    void updateCardState(Long layoutId, String position, Card card);
+
+    /**
+     * Update the state of the central menu of a layout.
+     * Only the non-null fields are changed; the write is coalesced like card state changes.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param centralMenu The fields to change
+     */
+    void updateCentralMenuState(Long layoutId, CentralMenu centralMenu);
 
     /**
      * Delete a screen layout by ID, including its cards and central menu.
@@ -2,16 +2,23 @@ package org.zerock.board.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.zerock.board.model.Card;
 import org.zerock.board.model.CentralMenu;
 import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.repository.BulkWriter;
 import org.zerock.board.repository.CardRepository;
 import org.zerock.board.repository.CentralMenuRepository;
 import org.zerock.board.repository.ScreenLayoutRepository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Implementation of ScreenLayoutService.
@@ -25,6 +32,9 @@ public class ScreenLayoutServiceImpl implements ScreenLayoutService {
     private final ScreenLayoutRepository screenLayoutRepository;
     private final CardRepository cardRepository;
     private final CentralMenuRepository centralMenuRepository;
+    private final BulkWriter bulkWriter;
+    private final ScreenLayoutCache screenLayoutCache;
+    private final ScreenLayoutWriteBuffer screenLayoutWriteBuffer;
 
     @Override
     @Transactional
@@ -34,13 +44,13 @@ public class ScreenLayoutServiceImpl implements ScreenLayoutService {
         // Insert the screen layout
         screenLayoutRepository.insert(screenLayout);
         Long layoutId = screenLayout.getLayoutId();
+        screenLayout.setVersion(0L);
+        screenLayoutCache.invalidate(layoutId);
 
-        // Insert cards if present
+        // Insert cards if present (one JDBC batch)
         if (screenLayout.getCards() != null && !screenLayout.getCards().isEmpty()) {
-            screenLayout.getCards().forEach(card -> {
-                card.setLayoutId(layoutId);
-                cardRepository.insert(card);
-            });
+            screenLayout.getCards().forEach(card -> card.setLayoutId(layoutId));
+            bulkWriter.write(CardRepository.class, CardRepository::insert, screenLayout.getCards());
         }
 
         // Insert central menu if present
@@ -52,78 +62,103 @@ public class ScreenLayoutServiceImpl implements ScreenLayoutService {
         return layoutId;
     }
 
+    // Not transactional: a cache hit must not borrow a connection, and a miss is a single query
     @Override
-    @Transactional(readOnly = true)
     public ScreenLayout getScreenLayoutById(Long layoutId) {
         log.debug("Getting screen layout by ID: {}", layoutId);
 
-        // Get the screen layout
-        ScreenLayout screenLayout = screenLayoutRepository.findById(layoutId)
-                .orElseThrow(() -> new RuntimeException("Screen layout not found with ID: " + layoutId));
-
-        // Load cards
-        List<Card> cards = cardRepository.findByLayoutId(layoutId);
-        screenLayout.setCards(cards);
-
-        // Load central menu
-        centralMenuRepository.findByLayoutId(layoutId).ifPresent(screenLayout::setCentralMenu);
+        // Layout, cards and central menu in one joined query
+        ScreenLayout screenLayout = screenLayoutCache.get(layoutId, () -> screenLayoutRepository.findDetailById(layoutId)
+                .orElseThrow(() -> new RuntimeException("Screen layout not found with ID: " + layoutId)));
 
-        return screenLayout;
+        // State changes that are still buffered win over the stored state
+        return screenLayoutWriteBuffer.overlay(screenLayout);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ScreenLayout> getAllScreenLayouts() {
         log.debug("Getting all screen layouts");
-        List<ScreenLayout> screenLayouts = screenLayoutRepository.findAll();
-
-        // Load cards and central menu for each layout
-        screenLayouts.forEach(layout -> {
-            // Load cards
-            List<Card> cards = cardRepository.findByLayoutId(layout.getLayoutId());
-            layout.setCards(cards);
-
-            // Load central menu
-            centralMenuRepository.findByLayoutId(layout.getLayoutId()).ifPresent(layout::setCentralMenu);
-        });
-
+        List<ScreenLayout> screenLayouts = screenLayoutCache.getAll(screenLayoutRepository::findAllDetails);
+        screenLayouts.forEach(screenLayoutWriteBuffer::overlay);
         return screenLayouts;
     }
 
     @Override
     @Transactional
-    public void updateScreenLayout(ScreenLayout screenLayout) {
+    public Long updateScreenLayout(ScreenLayout screenLayout) {
         log.debug("Updating screen layout: {}", screenLayout);
 
         // Check if the screen layout exists
         Long layoutId = screenLayout.getLayoutId();
-        screenLayoutRepository.findById(layoutId)
+        ScreenLayout stored = screenLayoutRepository.findById(layoutId)
                 .orElseThrow(() -> new RuntimeException("Screen layout not found with ID: " + layoutId));
 
-        // Update the screen layout
-        screenLayoutRepository.update(screenLayout);
+        // Without an expected version the caller edits what we just read; two such
+        // concurrent updates still cannot interleave because only one CAS succeeds
+        if (screenLayout.getVersion() == null) {
+            screenLayout.setVersion(stored.getVersion());
+        }
+
+        // Compare-and-set on the version; everything below only runs for the winner
+        if (screenLayoutRepository.updateIfVersion(screenLayout) == 0) {
+            throw new OptimisticLockingFailureException("Screen layout " + layoutId + " was modified concurrently (expected version "
+                    + screenLayout.getVersion() + ")");
+        }
+        Long newVersion = screenLayout.getVersion() + 1;
+
+        screenLayoutCache.invalidate(layoutId);
 
-        // Update cards
+        // A full save replaces whatever state changes are still buffered
+        screenLayoutWriteBuffer.discard(layoutId);
+
+        // Update cards: apply only the rows that differ from the stored state
         if (screenLayout.getCards() != null) {
-            // Delete existing cards
-            cardRepository.deleteByLayoutId(layoutId);
-
-            // Insert new cards
-            screenLayout.getCards().forEach(card -> {
-                card.setLayoutId(layoutId);
-                cardRepository.insert(card);
-            });
+            applyCardDiff(layoutId, screenLayout.getCards());
         }
 
-        // Update central menu
+        // Update central menu in place
         if (screenLayout.getCentralMenu() != null) {
-            // Delete existing central menu
-            centralMenuRepository.deleteByLayoutId(layoutId);
+            CentralMenu centralMenu = screenLayout.getCentralMenu();
+            centralMenu.setLayoutId(layoutId);
+
+            Optional<CentralMenu> storedMenu = centralMenuRepository.findByLayoutId(layoutId);
+            if (storedMenu.isEmpty()) {
+                centralMenuRepository.insert(centralMenu);
+            } else if (!sameState(storedMenu.get(), centralMenu)) {
+                centralMenu.setMenuId(storedMenu.get().getMenuId());
+                centralMenuRepository.update(centralMenu);
+            }
+        }
 
-            // Insert new central menu
-            screenLayout.getCentralMenu().setLayoutId(layoutId);
-            centralMenuRepository.insert(screenLayout.getCentralMenu());
+        screenLayout.setVersion(newVersion);
+        return newVersion;
+    }
+
+    @Override
+    public void updateCardState(Long layoutId, String position, Card card) {
+        log.debug("Buffering card state of layout {} at position {}: {}", layoutId, position, card);
+
+        // Validate against the (cached) layout; the write itself is coalesced and happens later
+        ScreenLayout screenLayout = getScreenLayoutById(layoutId);
+        boolean exists = screenLayout.getCards() != null
+                && screenLayout.getCards().stream().anyMatch(c -> position.equals(c.getPosition()));
+        if (!exists) {
+            throw new RuntimeException("Card not found at position " + position + " in screen layout with ID: " + layoutId);
+        }
+
+        screenLayoutWriteBuffer.bufferCardState(layoutId, screenLayout.getVersion(), position, card);
+    }
+
+    @Override
+    public void updateCentralMenuState(Long layoutId, CentralMenu centralMenu) {
+        log.debug("Buffering central menu state of layout {}: {}", layoutId, centralMenu);
+
+        ScreenLayout screenLayout = getScreenLayoutById(layoutId);
+        if (screenLayout.getCentralMenu() == null) {
+            throw new RuntimeException("Central menu not found in screen layout with ID: " + layoutId);
         }
+
+        screenLayoutWriteBuffer.bufferCentralMenuState(layoutId, screenLayout.getVersion(), centralMenu);
     }
 
     @Override
@@ -135,6 +170,9 @@ public class ScreenLayoutServiceImpl implements ScreenLayoutService {
         screenLayoutRepository.findById(layoutId)
                 .orElseThrow(() -> new RuntimeException("Screen layout not found with ID: " + layoutId));
 
+        screenLayoutCache.invalidate(layoutId);
+        screenLayoutWriteBuffer.discard(layoutId);
+
         // Delete cards and central menu (this is handled by DB cascade, but we're being explicit)
         cardRepository.deleteByLayoutId(layoutId);
         centralMenuRepository.deleteByLayoutId(layoutId);
@@ -142,4 +180,66 @@ public class ScreenLayoutServiceImpl implements ScreenLayoutService {
         // Delete the screen layout
         screenLayoutRepository.deleteById(layoutId);
     }
+
+    // Helper method to compare the submitted cards with the stored ones by position
+    // and write inserts, updates and deletes as at most one batch statement each
+    private void applyCardDiff(Long layoutId, List<Card> cards) {
+        Map<String, Card> storedByPosition = new HashMap<>();
+        for (Card stored : cardRepository.findByLayoutId(layoutId)) {
+            storedByPosition.put(stored.getPosition(), stored);
+        }
+
+        List<Card> inserts = new ArrayList<>();
+        List<Card> updates = new ArrayList<>();
+        for (Card card : cards) {
+            card.setLayoutId(layoutId);
+
+            Card stored = storedByPosition.remove(card.getPosition());
+            if (stored == null) {
+                inserts.add(card);
+            } else if (!sameState(stored, card)) {
+                card.setCardId(stored.getCardId());
+                updates.add(card);
+            } else {
+                card.setCardId(stored.getCardId());
+            }
+        }
+
+        // Whatever is left was not submitted anymore
+        List<Long> deletes = new ArrayList<>();
+        for (Card stored : storedByPosition.values()) {
+            deletes.add(stored.getCardId());
+        }
+
+        log.debug("Card diff for layout {}: {} inserts, {} updates, {} deletes",
+                layoutId, inserts.size(), updates.size(), deletes.size());
+
+        if (!deletes.isEmpty()) {
+            cardRepository.deleteByIds(deletes);
+        }
+        if (!updates.isEmpty()) {
+            bulkWriter.write(CardRepository.class, CardRepository::update, updates);
+        }
+        if (!inserts.isEmpty()) {
+            bulkWriter.write(CardRepository.class, CardRepository::insert, inserts);
+        }
+    }
+
+    private boolean sameState(Card stored, Card card) {
+        return Objects.equals(stored.getTitle(), card.getTitle())
+                && flag(stored.getHorizontalCollapse()) == flag(card.getHorizontalCollapse())
+                && flag(stored.getVerticalCollapse()) == flag(card.getVerticalCollapse())
+                && flag(stored.getTitleOnly()) == flag(card.getTitleOnly())
+                && flag(stored.getExpanded()) == flag(card.getExpanded());
+    }
+
+    private boolean sameState(CentralMenu stored, CentralMenu centralMenu) {
+        return flag(stored.getPriority()) == flag(centralMenu.getPriority())
+                && flag(stored.getExpanded()) == flag(centralMenu.getExpanded());
+    }
+
+    // Null flags are stored as false (column default on MariaDB, CASE on Oracle)
+    private boolean flag(Boolean value) {
+        return Boolean.TRUE.equals(value);
+    }
 }
@@ -0,0 +1,384 @@
+package org.zerock.board.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.board.config.ScreenLayoutBufferConfig;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.repository.CardRepository;
+import org.zerock.board.repository.CentralMenuRepository;
+import org.zerock.board.repository.ScreenLayoutRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces rapid card and central menu state changes per layout.
+ * Changes are merged in memory and written to card/central_menu in one transaction
+ * once the layout has been quiet for a while or the maximum delay has passed.
+ * Buffered values stay visible to reads until they have been written, and
+ * everything still buffered is flushed on shutdown.
+ *
+ * A flush bumps the layout version (compare-and-set, so If-Match clients see the change).
+ * The version the state was made on may be stale, e.g. read from the cache just before the
+ * previous flush invalidated it; a failed compare-and-set is then retried on the current
+ * version. Buffered state is only dropped when the layout no longer exists or was replaced:
+ * replace and delete call discard() before they commit, which starts a new PendingLayout, so
+ * a flush that was already running never touches state buffered after the discard.
+ */
+@Slf4j
+@Component
+public class ScreenLayoutWriteBuffer {
+
+    private final ScreenLayoutBufferConfig config;
+    private final CardRepository cardRepository;
+    private final CentralMenuRepository centralMenuRepository;
+    private final ScreenLayoutRepository screenLayoutRepository;
+    private final ScreenLayoutCache screenLayoutCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // Every change to a PendingLayout happens inside compute() of this map, which serializes it per layout;
+    // flushDue() reads the volatile timing fields without it
+    private final Map<Long, PendingLayout> pendingLayouts = new ConcurrentHashMap<>();
+
+    // Compare-and-set attempts of one flush before it counts as failed
+    private static final int MAX_VERSION_ATTEMPTS = 3;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("screen-layout-flusher").daemon().factory());
+
+    public ScreenLayoutWriteBuffer(ScreenLayoutBufferConfig config,
+                                   CardRepository cardRepository,
+                                   CentralMenuRepository centralMenuRepository,
+                                   ScreenLayoutRepository screenLayoutRepository,
+                                   ScreenLayoutCache screenLayoutCache,
+                                   TransactionTemplate transactionTemplate) {
+        this.config = config;
+        this.cardRepository = cardRepository;
+        this.centralMenuRepository = centralMenuRepository;
+        this.screenLayoutRepository = screenLayoutRepository;
+        this.screenLayoutCache = screenLayoutCache;
+        this.transactionTemplate = transactionTemplate;
+
+        long tick = Math.max(10, Math.min(100, config.getQuietPeriodMs()));
+        flusher.scheduleWithFixedDelay(this::flushDue, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Merge the non-null fields of the given card into the buffered state of its position.
+     * The version is the layout version the change was made on.
+     */
+    public void bufferCardState(Long layoutId, Long version, String position, Card card) {
+        pendingLayouts.compute(layoutId, (id, pending) -> {
+            pending = touch(pending, version);
+            Card buffered = pending.cards.computeIfAbsent(position,
+                    p -> Card.builder().layoutId(layoutId).position(p).build());
+            merge(buffered, card);
+            return pending;
+        });
+    }
+
+    /**
+     * Merge the non-null fields of the given central menu into the buffered state of the layout.
+     * The version is the layout version the change was made on.
+     */
+    public void bufferCentralMenuState(Long layoutId, Long version, CentralMenu centralMenu) {
+        pendingLayouts.compute(layoutId, (id, pending) -> {
+            pending = touch(pending, version);
+            if (pending.centralMenu == null) {
+                pending.centralMenu = CentralMenu.builder().layoutId(layoutId).build();
+            }
+            merge(pending.centralMenu, centralMenu);
+            return pending;
+        });
+    }
+
+    /**
+     * Apply buffered state on top of a loaded layout (which must be a private copy).
+     */
+    public ScreenLayout overlay(ScreenLayout screenLayout) {
+        pendingLayouts.computeIfPresent(screenLayout.getLayoutId(), (id, pending) -> {
+            if (screenLayout.getCards() != null) {
+                for (Card card : screenLayout.getCards()) {
+                    Card buffered = pending.cards.get(card.getPosition());
+                    if (buffered != null) {
+                        merge(card, buffered);
+                    }
+                }
+            }
+            if (pending.centralMenu != null && screenLayout.getCentralMenu() != null) {
+                merge(screenLayout.getCentralMenu(), pending.centralMenu);
+            }
+            return pending;
+        });
+        return screenLayout;
+    }
+
+    /**
+     * Drop buffered state, e.g. because the layout was replaced or deleted.
+     */
+    public void discard(Long layoutId) {
+        pendingLayouts.remove(layoutId);
+    }
+
+    /**
+     * Write the buffered state of a layout now.
+     */
+    public void flush(Long layoutId) {
+        List<Card> cards = new ArrayList<>();
+        CentralMenu[] centralMenu = new CentralMenu[1];
+        PendingLayout[] snapshotOf = new PendingLayout[1];
+
+        // Take a snapshot; the buffered values stay in place (and visible to reads) until written
+        pendingLayouts.computeIfPresent(layoutId, (id, pending) -> {
+            if (!pending.flushing) {
+                pending.flushing = true;
+                snapshotOf[0] = pending;
+                for (Card card : pending.cards.values()) {
+                    cards.add(ScreenLayoutCache.copy(card));
+                }
+                if (pending.centralMenu != null) {
+                    centralMenu[0] = copy(pending.centralMenu);
+                }
+            }
+            return pending;
+        });
+
+        PendingLayout flushed = snapshotOf[0];
+        if (flushed == null) {
+            return;
+        }
+        if (cards.isEmpty() && centralMenu[0] == null) {
+            pendingLayouts.computeIfPresent(layoutId, (id, pending) -> {
+                pending.flushing = false;
+                return pending.isEmpty() ? null : pending;
+            });
+            return;
+        }
+
+        Long[] version = {flushed.version};
+        try {
+            // The version row is locked until commit, so a concurrent PUT or DELETE either
+            // waits for this write or has discarded the state before the compare-and-set
+            Boolean written = transactionTemplate.execute(status -> {
+                for (int attempt = 1; screenLayoutRepository.incrementVersionIfVersion(layoutId, version[0]) == 0; attempt++) {
+                    if (pendingLayouts.get(layoutId) != flushed) {
+                        return false;
+                    }
+                    Long current = screenLayoutRepository.findVersionById(layoutId);
+                    if (current == null) {
+                        return false;
+                    }
+                    if (attempt >= MAX_VERSION_ATTEMPTS) {
+                        throw new OptimisticLockingFailureException("Screen layout " + layoutId + " keeps changing (version " + current + ")");
+                    }
+                    version[0] = current;
+                }
+                cards.forEach(cardRepository::updateStateByPosition);
+                if (centralMenu[0] != null) {
+                    centralMenuRepository.updateStateByLayoutId(centralMenu[0]);
+                }
+                return true;
+            });
+            screenLayoutCache.invalidate(layoutId);
+
+            if (!Boolean.TRUE.equals(written)) {
+                log.info("Dropping buffered state of layout {}: replaced or deleted", layoutId);
+                pendingLayouts.computeIfPresent(layoutId, (id, pending) -> pending == flushed ? null : pending);
+                return;
+            }
+            log.debug("Flushed {} buffered card states of layout {} (version {})", cards.size(), layoutId, version[0] + 1);
+
+            // Remove what was written unless it changed again in the meantime
+            pendingLayouts.computeIfPresent(layoutId, (id, pending) -> {
+                if (pending != flushed) {
+                    return pending;
+                }
+                for (Card card : cards) {
+                    if (sameState(pending.cards.get(card.getPosition()), card)) {
+                        pending.cards.remove(card.getPosition());
+                    }
+                }
+                if (centralMenu[0] != null && sameState(pending.centralMenu, centralMenu[0])) {
+                    pending.centralMenu = null;
+                }
+                pending.flushing = false;
+                pending.failedAttempts = 0;
+                pending.firstWriteNanos = pending.lastWriteNanos;
+                // Later changes are written on top of the version this flush created
+                pending.version = newer(pending.version, version[0] + 1);
+                return pending.isEmpty() ? null : pending;
+            });
+        } catch (RuntimeException e) {
+            pendingLayouts.computeIfPresent(layoutId, (id, pending) -> {
+                if (pending != flushed) {
+                    return pending;
+                }
+                pending.flushing = false;
+                if (++pending.failedAttempts >= config.getMaxFlushAttempts()) {
+                    log.error("Dropping buffered state of layout {} after {} failed writes", layoutId, pending.failedAttempts, e);
+                    return null;
+                }
+                long backoffMs = config.getRetryBackoffMs() << Math.min(pending.failedAttempts - 1, 10);
+                pending.retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMs);
+                log.warn("Writing buffered state of layout {} failed, will retry in {} ms: {}", layoutId, backoffMs, e.getMessage());
+                return pending;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The flusher no longer retries failed writes, so retry them here; flush() drops a
+        // layout's state (logged as an error) once it has failed maxFlushAttempts times
+        for (int round = 0; round <= config.getMaxFlushAttempts() && !pendingLayouts.isEmpty(); round++) {
+            if (round > 0 && !sleep(config.getRetryBackoffMs())) {
+                break;
+            }
+            for (Long layoutId : new ArrayList<>(pendingLayouts.keySet())) {
+                flush(layoutId);
+            }
+        }
+        pendingLayouts.forEach((layoutId, pending) ->
+                log.error("Dropping buffered state of layout {} on shutdown: it could not be written", layoutId));
+        pendingLayouts.clear();
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushDue() {
+        long now = System.nanoTime();
+        long quietNanos = TimeUnit.MILLISECONDS.toNanos(config.getQuietPeriodMs());
+        long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(config.getMaxDelayMs());
+
+        List<Long> due = new ArrayList<>();
+        pendingLayouts.forEach((layoutId, pending) -> {
+            if (pending.failedAttempts > 0 && now - pending.retryAtNanos < 0) {
+                return;
+            }
+            if (now - pending.lastWriteNanos >= quietNanos || now - pending.firstWriteNanos >= maxDelayNanos) {
+                due.add(layoutId);
+            }
+        });
+
+        for (Long layoutId : due) {
+            try {
+                flush(layoutId);
+            } catch (RuntimeException e) {
+                log.error("Unexpected error while flushing layout {}", layoutId, e);
+            }
+        }
+    }
+
+    private PendingLayout touch(PendingLayout pending, Long version) {
+        long now = System.nanoTime();
+        if (pending == null) {
+            pending = new PendingLayout();
+            pending.firstWriteNanos = now;
+        } else if (pending.isEmpty()) {
+            pending.firstWriteNanos = now;
+        }
+        pending.lastWriteNanos = now;
+        // A change made on a stale (cached) version must not move the expected version back
+        pending.version = newer(pending.version, version);
+        return pending;
+    }
+
+    private static Long newer(Long a, Long b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.max(a, b);
+    }
+
+    private void merge(Card target, Card changes) {
+        if (changes.getTitle() != null) {
+            target.setTitle(changes.getTitle());
+        }
+        if (changes.getHorizontalCollapse() != null) {
+            target.setHorizontalCollapse(changes.getHorizontalCollapse());
+        }
+        if (changes.getVerticalCollapse() != null) {
+            target.setVerticalCollapse(changes.getVerticalCollapse());
+        }
+        if (changes.getTitleOnly() != null) {
+            target.setTitleOnly(changes.getTitleOnly());
+        }
+        if (changes.getExpanded() != null) {
+            target.setExpanded(changes.getExpanded());
+        }
+    }
+
+    private void merge(CentralMenu target, CentralMenu changes) {
+        if (changes.getPriority() != null) {
+            target.setPriority(changes.getPriority());
+        }
+        if (changes.getExpanded() != null) {
+            target.setExpanded(changes.getExpanded());
+        }
+    }
+
+    private boolean sameState(Card buffered, Card written) {
+        return buffered != null
+                && Objects.equals(buffered.getTitle(), written.getTitle())
+                && Objects.equals(buffered.getHorizontalCollapse(), written.getHorizontalCollapse())
+                && Objects.equals(buffered.getVerticalCollapse(), written.getVerticalCollapse())
+                && Objects.equals(buffered.getTitleOnly(), written.getTitleOnly())
+                && Objects.equals(buffered.getExpanded(), written.getExpanded());
+    }
+
+    private boolean sameState(CentralMenu buffered, CentralMenu written) {
+        return buffered != null
+                && Objects.equals(buffered.getPriority(), written.getPriority())
+                && Objects.equals(buffered.getExpanded(), written.getExpanded());
+    }
+
+    private CentralMenu copy(CentralMenu centralMenu) {
+        return CentralMenu.builder()
+                .layoutId(centralMenu.getLayoutId())
+                .priority(centralMenu.getPriority())
+                .expanded(centralMenu.getExpanded())
+                .build();
+    }
+
+    private static final class PendingLayout {
+        private final Map<String, Card> cards = new LinkedHashMap<>();
+        private CentralMenu centralMenu;
+        private Long version;
+        private volatile long firstWriteNanos;
+        private volatile long lastWriteNanos;
+        private boolean flushing;
+        private volatile int failedAttempts;
+        private volatile long retryAtNanos;
+
+        private boolean isEmpty() {
+            return cards.isEmpty() && centralMenu == null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.zerock.board.service;
+
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.ScreenLayout;
+
+/**
+ * Service interface for per-user screen layout state.
+ * Users share the layout definition but keep their own card and central menu flags.
+ */
+public interface UserLayoutStateService {
+    /**
+     * Get a screen layout with the card and central menu flags of the given user.
+     * Users without own state see the layout's flags.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param userId The ID of the user
+     * @return The screen layout with the user's state applied
+     */
+    ScreenLayout getUserLayout(Long layoutId, Long userId);
+
+    /**
+     * Change the user's flags of the card at the given position; only non-null flags are changed.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param userId The ID of the user
+     * @param position The position of the card ('LEFT_1', 'LEFT_2', 'RIGHT_1', 'RIGHT_2')
+     * @param card The flags to change
+     */
+    void updateUserCardState(Long layoutId, Long userId, String position, Card card);
+
+    /**
+     * Change the user's central menu flags; only non-null flags are changed.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param userId The ID of the user
+     * @param centralMenu The flags to change
+     */
+    void updateUserCentralMenuState(Long layoutId, Long userId, CentralMenu centralMenu);
+
+    /**
+     * Drop the user's own state so the layout's flags apply again.
+     *
+     * @param layoutId The ID of the screen layout
+     * @param userId The ID of the user
+     */
+    void resetUserLayoutState(Long layoutId, Long userId);
+}
@@ -0,0 +1,184 @@
+package org.zerock.board.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.repository.UserLayoutStateRepository;
+import org.zerock.board.util.StripedLongLongMap;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Implementation of UserLayoutStateService.
+ * States are bitsets (see LayoutStateBits) cached in a primitive long-to-long map keyed by
+ * user and layout id and loaded lazily from user_layout_state.
+ * A write stores only the flags it changes, merged into the stored bits by the database
+ * ((state & ~mask) | value), so concurrent writes through other nodes are not overwritten
+ * by a stale cached value; the merged result is read back into the cache. The cache itself
+ * is per node: a state changed through another node is seen here only after this node
+ * writes that state again or evicts it, and a change that matches the (stale) cached
+ * bits is skipped as a no-op.
+ */
+@Slf4j
+@Service
+public class UserLayoutStateServiceImpl implements UserLayoutStateService {
+
+    // Cache values: MISSING = not loaded, ABSENT = loaded, no row; anything else carries LayoutStateBits.PRESENT
+    private static final long MISSING = -1L;
+    private static final long ABSENT = 0L;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ScreenLayoutService screenLayoutService;
+    private final UserLayoutStateRepository userLayoutStateRepository;
+    private final StripedLongLongMap states;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public UserLayoutStateServiceImpl(ScreenLayoutService screenLayoutService,
+                                      UserLayoutStateRepository userLayoutStateRepository,
+                                      @Value("${user-layout-state.cache-max-entries:1000000}") int cacheMaxEntries) {
+        this.screenLayoutService = screenLayoutService;
+        this.userLayoutStateRepository = userLayoutStateRepository;
+        this.states = new StripedLongLongMap(cacheMaxEntries, LOCK_STRIPES);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public ScreenLayout getUserLayout(Long layoutId, Long userId) {
+        log.debug("Getting screen layout {} for user {}", layoutId, userId);
+
+        ScreenLayout screenLayout = screenLayoutService.getScreenLayoutById(layoutId);
+        long bits = loadState(userId, layoutId);
+        if (!LayoutStateBits.isPresent(bits)) {
+            return screenLayout;
+        }
+
+        if (screenLayout.getCards() != null) {
+            for (Card card : screenLayout.getCards()) {
+                if (LayoutStateBits.isKnownPosition(card.getPosition())) {
+                    LayoutStateBits.decodeInto(bits, card);
+                }
+            }
+        }
+        if (screenLayout.getCentralMenu() != null) {
+            LayoutStateBits.decodeInto(bits, screenLayout.getCentralMenu());
+        }
+        return screenLayout;
+    }
+
+    @Override
+    public void updateUserCardState(Long layoutId, Long userId, String position, Card card) {
+        log.debug("Updating card state of layout {} at position {} for user {}: {}", layoutId, position, userId, card);
+
+        ScreenLayout screenLayout = screenLayoutService.getScreenLayoutById(layoutId);
+        boolean exists = LayoutStateBits.isKnownPosition(position)
+                && screenLayout.getCards() != null
+                && screenLayout.getCards().stream().anyMatch(c -> position.equals(c.getPosition()));
+        if (!exists) {
+            throw new RuntimeException("Card not found at position " + position + " in screen layout with ID: " + layoutId);
+        }
+
+        card.setPosition(position);
+        updateState(userId, screenLayout, bits -> LayoutStateBits.applyCard(bits, card), LayoutStateBits.cardMask(card));
+    }
+
+    @Override
+    public void updateUserCentralMenuState(Long layoutId, Long userId, CentralMenu centralMenu) {
+        log.debug("Updating central menu state of layout {} for user {}: {}", layoutId, userId, centralMenu);
+
+        ScreenLayout screenLayout = screenLayoutService.getScreenLayoutById(layoutId);
+        if (screenLayout.getCentralMenu() == null) {
+            throw new RuntimeException("Central menu not found in screen layout with ID: " + layoutId);
+        }
+
+        updateState(userId, screenLayout, bits -> LayoutStateBits.applyCentralMenu(bits, centralMenu),
+                LayoutStateBits.centralMenuMask(centralMenu));
+    }
+
+    @Override
+    public void resetUserLayoutState(Long layoutId, Long userId) {
+        log.debug("Resetting state of layout {} for user {}", layoutId, userId);
+
+        ReentrantLock lock = lockFor(userId, layoutId);
+        lock.lock();
+        try {
+            userLayoutStateRepository.deleteState(userId, layoutId);
+            cache(userId, layoutId, ABSENT);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Helper method to apply a change to the user's state, starting from the layout's flags for new users;
+    // mask holds the bits the change writes
+    private void updateState(Long userId, ScreenLayout screenLayout, LongUnaryOperator change, long mask) {
+        Long layoutId = screenLayout.getLayoutId();
+
+        ReentrantLock lock = lockFor(userId, layoutId);
+        lock.lock();
+        try {
+            long bits = loadState(userId, layoutId);
+            boolean stored = LayoutStateBits.isPresent(bits);
+            if (!stored) {
+                bits = LayoutStateBits.encode(screenLayout.getCards(), screenLayout.getCentralMenu());
+            }
+
+            // Repeated clicks that change nothing cost no write
+            long updated = change.applyAsLong(bits);
+            if (!stored || updated != bits) {
+                // A new row gets the whole state, an existing one only the masked bits; the sign bit is
+                // never used, which keeps the keep mask non-negative for Oracle's BITAND
+                userLayoutStateRepository.upsertState(userId, layoutId, updated, ~mask & Long.MAX_VALUE, updated & mask);
+                cache(userId, layoutId, userLayoutStateRepository.findState(userId, layoutId).orElse(updated));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Helper method to read a state from the cache, loading it from the database on a miss
+    private long loadState(Long userId, Long layoutId) {
+        long key = cacheKey(userId, layoutId);
+        if (key != StripedLongLongMap.EMPTY_KEY) {
+            long cached = states.get(key, MISSING);
+            if (cached != MISSING) {
+                return cached;
+            }
+        }
+
+        long bits = userLayoutStateRepository.findState(userId, layoutId).orElse(ABSENT);
+        if (key != StripedLongLongMap.EMPTY_KEY) {
+            // A concurrent writer may have cached a newer value meanwhile; keep that one
+            bits = states.putIfAbsent(key, bits, MISSING);
+        }
+        return bits;
+    }
+
+    private void cache(Long userId, Long layoutId, long bits) {
+        long key = cacheKey(userId, layoutId);
+        if (key != StripedLongLongMap.EMPTY_KEY) {
+            states.put(key, bits);
+        }
+    }
+
+    // Both ids packed into one long; ids outside 0..2^31-1 are not cached (EMPTY_KEY)
+    private long cacheKey(Long userId, Long layoutId) {
+        if (userId == null || layoutId == null
+                || userId < 0 || userId > Integer.MAX_VALUE
+                || layoutId < 0 || layoutId > Integer.MAX_VALUE) {
+            return StripedLongLongMap.EMPTY_KEY;
+        }
+        return (userId << 32) | layoutId;
+    }
+
+    private ReentrantLock lockFor(Long userId, Long layoutId) {
+        int hash = 31 * Long.hashCode(userId) + Long.hashCode(layoutId);
+        return writeLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
@@ -0,0 +1,334 @@
+package org.zerock.board.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.FileUploadConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Stores uploaded files on the NAS (file.upload.directory) without letting a slow or
+ * unreachable NAS block startup or requests.
+ *
+ * - Every NAS call runs on a virtual thread and is abandoned after file.upload.timeout-ms.
+ * - A circuit breaker stops sending calls to a NAS that keeps failing.
+ * - While the NAS is unavailable, uploads are written to the local spool directory.
+ * - A background health check probes the NAS (creating the directory if needed), closes the
+ *   circuit once it recovers and then moves the spooled files to the NAS.
+ * - Deletes that cannot reach the NAS leave a marker in the spool and are replayed the same way.
+ *
+ * Lookups check the spool first, so spooled files can be downloaded before they are replicated.
+ * NAS files are copied to a local temporary file within file.upload.read-timeout-ms before they
+ * are served, so a NAS that hangs mid-read never blocks the request thread streaming the response.
+ */
+@Slf4j
+@Component
+public class FileStorage {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String PENDING_DELETES = "deleted";
+    private static final String DOWNLOADS = "downloads";
+
+    private final FileUploadConfig config;
+    private final Path nasDirectory;
+    private final Path spoolDirectory;
+    private final Path pendingDeletes;
+    private final Path downloads;
+    private final CircuitBreaker circuitBreaker;
+
+    // Probe file of this instance, so nodes sharing the NAS do not interfere
+    private final String probeFilename = ".health-check-" + UUID.randomUUID();
+
+    // Serializes replication of a file with deletes, so a deleted file is not copied back to the NAS
+    private final ReentrantLock spoolLock = new ReentrantLock();
+
+    // A hanging NAS call parks one of these virtual threads instead of a request thread
+    private final ExecutorService nasCalls = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("nas-call-", 0).factory());
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("nas-health-check").daemon().factory());
+
+    private volatile boolean nasAvailable;
+    private volatile Instant lastCheck;
+    private volatile String lastError;
+
+    public FileStorage(FileUploadConfig config) {
+        this.config = config;
+        this.nasDirectory = Paths.get(config.resolveDirectory());
+        this.spoolDirectory = Paths.get(config.getSpoolDirectory()).toAbsolutePath();
+        this.pendingDeletes = spoolDirectory.resolve(PENDING_DELETES);
+        this.downloads = spoolDirectory.resolve(DOWNLOADS);
+        this.circuitBreaker = new CircuitBreaker(config.getFailureThreshold(), config.getOpenSeconds() * 1000);
+
+        // Local disk only: copies left behind by a crash are no longer referenced
+        for (Path leftover : listFiles(downloads)) {
+            try {
+                Files.deleteIfExists(leftover);
+            } catch (IOException e) {
+                log.warn("Could not delete download copy {}: {}", leftover, e.getMessage());
+            }
+        }
+
+        // First check right away, but on the checker thread: startup does not wait for the NAS
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, Math.max(1, config.getHealthCheckIntervalSeconds()), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Write a file to the NAS, or to the spool when the NAS is unavailable.
+     */
+    public void store(String storedFilename, byte[] content) throws IOException {
+        if (circuitBreaker.tryAcquire()) {
+            try {
+                callNas(() -> Files.write(nasDirectory.resolve(storedFilename), content));
+                return;
+            } catch (IOException e) {
+                log.warn("NAS write of {} failed, spooling it locally: {}", storedFilename, e.getMessage());
+            }
+        }
+
+        Files.createDirectories(spoolDirectory);
+        Path part = spoolDirectory.resolve(storedFilename + PART_SUFFIX);
+        Files.write(part, content);
+        // Replication only picks up complete files
+        Files.move(part, spoolDirectory.resolve(storedFilename), StandardCopyOption.ATOMIC_MOVE);
+        log.info("Spooled {} until the NAS is available", storedFilename);
+    }
+
+    /**
+     * The stored file, from the spool or the NAS; empty when it exists in neither.
+     * A NAS file is returned as a local copy that is deleted once the returned stream is closed.
+     *
+     * @throws StorageUnavailableException when the file is not spooled and the NAS cannot be read
+     */
+    public Optional<Resource> load(String storedFilename) {
+        Path spooled = spoolDirectory.resolve(storedFilename);
+        if (Files.isRegularFile(spooled)) {
+            return Optional.of(new FileSystemResource(spooled));
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            throw new StorageUnavailableException("NAS is unavailable (circuit open)");
+        }
+        Path path = nasDirectory.resolve(storedFilename);
+        Path copy = null;
+        try {
+            Files.createDirectories(downloads);
+            copy = Files.createTempFile(downloads, "download-", ".tmp");
+            Path target = copy;
+            boolean found = callNas(() -> {
+                if (!Files.isRegularFile(path)) {
+                    return false;
+                }
+                Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+                return true;
+            }, config.getReadTimeoutMs());
+            if (!found) {
+                Files.deleteIfExists(copy);
+                return Optional.empty();
+            }
+            InputStream content = Files.newInputStream(copy, StandardOpenOption.DELETE_ON_CLOSE);
+            return Optional.of(new InputStreamResource(content, storedFilename));
+        } catch (IOException e) {
+            deleteQuietly(copy);
+            throw new StorageUnavailableException("NAS read of " + storedFilename + " failed", e);
+        }
+    }
+
+    /**
+     * Delete a stored file; a NAS copy that cannot be deleted now is deleted once the NAS recovers.
+     */
+    public void delete(String storedFilename) {
+        spoolLock.lock();
+        try {
+            Files.deleteIfExists(spoolDirectory.resolve(storedFilename));
+            if (circuitBreaker.tryAcquire()) {
+                try {
+                    callNas(() -> Files.deleteIfExists(nasDirectory.resolve(storedFilename)));
+                    return;
+                } catch (IOException e) {
+                    log.warn("NAS delete of {} failed, deleting it once the NAS is available: {}", storedFilename, e.getMessage());
+                }
+            }
+            Files.createDirectories(pendingDeletes);
+            Files.write(pendingDeletes.resolve(storedFilename), new byte[0]);
+        } catch (IOException e) {
+            log.error("Failed to delete file {}", storedFilename, e);
+        } finally {
+            spoolLock.unlock();
+        }
+    }
+
+    /**
+     * NAS state, circuit state and spool backlog, for the health endpoint.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("nasDirectory", nasDirectory.toString());
+        details.put("nasAvailable", nasAvailable);
+        details.put("circuit", circuitBreaker.state().name());
+        details.put("lastCheck", lastCheck == null ? null : lastCheck.toString());
+        details.put("lastError", lastError);
+        details.put("spoolDirectory", spoolDirectory.toString());
+        details.put("spooledFiles", spooledFiles().size());
+        details.put("pendingDeletes", listFiles(pendingDeletes).size());
+        return details;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        healthChecker.shutdownNow();
+        nasCalls.shutdownNow();
+    }
+
+    // Runs on the checker thread; must not throw, or the schedule stops
+    private void checkHealth() {
+        lastCheck = Instant.now();
+        try {
+            callNas(() -> {
+                Files.createDirectories(nasDirectory);
+                Path probe = nasDirectory.resolve(probeFilename);
+                Files.write(probe, new byte[0]);
+                Files.delete(probe);
+                return null;
+            });
+        } catch (Exception e) {
+            if (nasAvailable || lastError == null) {
+                log.warn("NAS {} is unavailable; uploads are spooled to {}: {}", nasDirectory, spoolDirectory, e.getMessage());
+            }
+            nasAvailable = false;
+            lastError = e.getMessage();
+            return;
+        }
+
+        if (!nasAvailable) {
+            log.info("NAS {} is available", nasDirectory);
+        }
+        nasAvailable = true;
+        lastError = null;
+        try {
+            replicate();
+        } catch (Exception e) {
+            log.warn("Replication of spooled files stopped: {}", e.getMessage());
+        }
+    }
+
+    // Move spooled files to the NAS and replay pending deletes; stops at the first NAS failure
+    private void replicate() throws IOException {
+        List<Path> spooled = spooledFiles();
+        for (Path file : spooled) {
+            spoolLock.lock();
+            try {
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                Path target = nasDirectory.resolve(file.getFileName().toString());
+                Path part = nasDirectory.resolve(file.getFileName() + PART_SUFFIX);
+                callNas(() -> {
+                    Files.copy(file, part, StandardCopyOption.REPLACE_EXISTING);
+                    return Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+                });
+                Files.delete(file);
+            } finally {
+                spoolLock.unlock();
+            }
+        }
+
+        List<Path> deletes = listFiles(pendingDeletes);
+        for (Path marker : deletes) {
+            callNas(() -> Files.deleteIfExists(nasDirectory.resolve(marker.getFileName().toString())));
+            Files.deleteIfExists(marker);
+        }
+        if (!spooled.isEmpty() || !deletes.isEmpty()) {
+            log.info("Replicated {} spooled files and {} deletes to the NAS", spooled.size(), deletes.size());
+        }
+    }
+
+    private <T> T callNas(Callable<T> call) throws IOException {
+        return callNas(call, config.getTimeoutMs());
+    }
+
+    // Runs a NAS call with the timeout and records the outcome in the circuit breaker
+    private <T> T callNas(Callable<T> call, long timeoutMs) throws IOException {
+        Future<T> future = nasCalls.submit(call);
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            circuitBreaker.recordSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuitBreaker.recordFailure();
+            throw new IOException("NAS call timed out after " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            circuitBreaker.recordFailure();
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the NAS", e);
+        }
+    }
+
+    // Best effort: a copy abandoned by a timed-out read may still be open; leftovers are removed on the next start
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete download copy {}: {}", file, e.getMessage());
+        }
+    }
+
+    private List<Path> spooledFiles() {
+        List<Path> files = new ArrayList<>();
+        for (Path file : listFiles(spoolDirectory)) {
+            if (!file.getFileName().toString().endsWith(PART_SUFFIX)) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static List<Path> listFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        } catch (IOException e) {
+            log.warn("Could not list {}", directory, e);
+            return List.of();
+        }
+    }
+}
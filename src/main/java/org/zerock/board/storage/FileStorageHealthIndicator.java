@@ -0,0 +1,23 @@
+package org.zerock.board.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * "fileStorage" entry of /actuator/health, from the last background check of FileStorage
+ * (the NAS is not accessed here). Uploads keep working through the spool while the NAS is
+ * unavailable, so the status stays UP and the NAS state is reported in the details.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileStorageHealthIndicator implements HealthIndicator {
+
+    private final FileStorage fileStorage;
+
+    @Override
+    public Health health() {
+        return Health.up().withDetails(fileStorage.describe()).build();
+    }
+}
@@ -0,0 +1,16 @@
+package org.zerock.board.storage;
+
+/**
+ * Thrown when a stored file can only be on the NAS and the NAS is unavailable
+ * (open circuit, timeout or I/O error).
+ */
+public class StorageUnavailableException extends RuntimeException {
+
+    public StorageUnavailableException(String message) {
+        super(message);
+    }
+
+    public StorageUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,274 @@
+package org.zerock.board.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Concurrent map from primitive long keys to primitive long values.
+ * Entries live in open-addressing tables (parallel long arrays, linear probing) split
+ * into independently locked stripes, so an entry costs 16 bytes plus load-factor slack
+ * instead of two boxed Longs and a node object.
+ *
+ * The map is bounded: a stripe that reaches its capacity is cleared. It is meant as a
+ * cache in front of a durable store, not as the source of truth.
+ *
+ * Stripes start small and double as entries arrive, so memory follows actual use instead
+ * of being reserved for maxEntries up front.
+ */
+public final class StripedLongLongMap {
+
+    // Marks free slots; this key cannot be stored
+    public static final long EMPTY_KEY = Long.MIN_VALUE;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    // Slots of a stripe before its first resize
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param maxEntries Upper bound of entries kept in memory
+     * @param stripeCount Number of independently locked stripes (rounded up to a power of two)
+     */
+    public StripedLongLongMap(int maxEntries, int stripeCount) {
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+
+        int perStripe = Math.max(16, maxEntries / count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Value of the key, or missingValue when the key is not present.
+     */
+    public long get(long key, long missingValue) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.get(key, missingValue);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    public void put(long key, long value) {
+        checkKey(key);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.put(key, value);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Store the value only if the key is absent; returns the value now associated with the key.
+     */
+    public long putIfAbsent(long key, long value, long missingValue) {
+        checkKey(key);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.writeLock().lock();
+        try {
+            long current = stripe.get(key, missingValue);
+            if (current != missingValue) {
+                return current;
+            }
+            stripe.put(key, value);
+            return value;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically replace the value of a present key; returns the new value, or missingValue
+     * (without calling the function) when the key is absent.
+     */
+    public long computeIfPresent(long key, LongUnaryOperator function, long missingValue) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.writeLock().lock();
+        try {
+            long current = stripe.get(key, missingValue);
+            if (current == missingValue) {
+                return missingValue;
+            }
+            long updated = function.applyAsLong(current);
+            stripe.put(key, updated);
+            return updated;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.remove(key);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.writeLock().lock();
+            try {
+                stripe.clear();
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Stripe stripeFor(long key) {
+        return stripes[(int) (mix(key) >>> 32) & stripeMask];
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key " + EMPTY_KEY + " is reserved");
+        }
+    }
+
+    // 64-bit finalizer from MurmurHash3; spreads sequential ids over stripes and slots
+    static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final int maxEntries;
+        private final int maxCapacity;
+        private long[] keys;
+        private long[] values;
+        private int mask;
+        private int size;
+
+        private Stripe(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.maxCapacity = Integer.highestOneBit((int) Math.ceil(maxEntries / LOAD_FACTOR)) << 1;
+            allocate(Math.min(INITIAL_CAPACITY, maxCapacity));
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY_KEY);
+        }
+
+        // Doubles the table and reinserts every entry at its slot for the new mask
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            allocate(keys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY) {
+                    int slot = (int) mix(oldKeys[i]) & mask;
+                    while (keys[slot] != EMPTY_KEY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private long get(long key, long missingValue) {
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return missingValue;
+        }
+
+        private void put(long key, long value) {
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if (size >= maxEntries) {
+                // Bounded memory: drop this stripe, entries are reloaded lazily
+                clear();
+                slot = (int) mix(key) & mask;
+            } else if (size + 1 > keys.length * LOAD_FACTOR && keys.length < maxCapacity) {
+                grow();
+                slot = (int) mix(key) & mask;
+                while (keys[slot] != EMPTY_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        private void remove(long key) {
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY_KEY) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            // Backward-shift deletion keeps probe chains intact without tombstones
+            int free = slot;
+            int next = (free + 1) & mask;
+            while (keys[next] != EMPTY_KEY) {
+                int home = (int) mix(keys[next]) & mask;
+                // Move the entry if its home slot is not between the free slot and its current slot (cyclically)
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    keys[free] = keys[next];
+                    values[free] = values[next];
+                    free = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[free] = EMPTY_KEY;
+            values[free] = 0;
+            size--;
+        }
+
+        private void clear() {
+            Arrays.fill(keys, EMPTY_KEY);
+            Arrays.fill(values, 0);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.zerock.board.warmup;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.config.WarmupConfig;
+import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.monitoring.ConnectionPools;
+import org.zerock.board.repository.BoardRepository;
+import org.zerock.board.service.BoardService;
+import org.zerock.board.service.ScreenLayoutService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Opt-in warmup (warmup.enabled) that runs after the schema migration and before the
+ * application reports readiness: Spring Boot only switches readiness to ACCEPTING_TRAFFIC
+ * once all runners have returned, so a load balancer routes no traffic to a cold node.
+ *
+ * Steps, bounded by warmup.timeout-seconds in total:
+ * 1. open the pool's minimum idle connections of the active database
+ * 2. prepare the SQL of every mapped statement on each of these connections (driver statement caches)
+ * 3. load the hottest boards and the most recent layouts through the services (layout cache, buffer pool)
+ * 4. replay the recorded GET requests against the local server (JIT, serialization, MVC caches)
+ * A failing step is logged and skipped; warmup never prevents the application from starting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupConfig warmupConfig;
+    private final ConnectionPools connectionPools;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final BoardRepository boardRepository;
+    private final BoardService boardService;
+    private final ScreenLayoutService screenLayoutService;
+    private final ResourceLoader resourceLoader;
+    private final WebServerApplicationContext webServerApplicationContext;
+    private final ApplicationStartup applicationStartup;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!warmupConfig.isEnabled()) {
+            return;
+        }
+
+        DatabaseConfig.DatabaseType databaseType = DatabaseConfig.getCurrentDatabase();
+        long start = System.currentTimeMillis();
+        StartupStep step = applicationStartup.start("board.warmup");
+        Thread warmup = Thread.ofVirtual().name("warmup").start(() -> {
+            DatabaseConfig.setCurrentDatabase(databaseType);
+            warmUp(databaseType);
+        });
+
+        boolean finished = warmup.join(Duration.ofSeconds(warmupConfig.getTimeoutSeconds()));
+        step.tag("finished", String.valueOf(finished)).end();
+        if (!finished) {
+            warmup.interrupt();
+            log.warn("Warmup did not finish within {} s; reporting readiness anyway", warmupConfig.getTimeoutSeconds());
+            return;
+        }
+        log.info("Warmup finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void warmUp(DatabaseConfig.DatabaseType databaseType) {
+        String target = databaseType == DatabaseConfig.DatabaseType.ORACLE ? "oracle" : "mariadb";
+
+        step("connections and statements", () -> warmUpConnections(target));
+        List<Long> boardIds = new ArrayList<>();
+        List<Long> layoutIds = new ArrayList<>();
+        step("hot data", () -> preloadHotData(boardIds, layoutIds));
+        step("request replay", () -> replayRequests(boardIds, layoutIds));
+    }
+
+    // Holds minimumIdle connections at once, so the pool really opens that many, and prepares every statement on each
+    private void warmUpConnections(String target) throws SQLException {
+        HikariDataSource dataSource = connectionPools.all().get(target);
+        if (dataSource == null) {
+            log.info("Warmup: no pool registered for {}", target);
+            return;
+        }
+
+        List<String> statements = statementTexts();
+        int connectionCount = Math.max(1, dataSource.getMinimumIdle());
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < connectionCount && !Thread.currentThread().isInterrupted(); i++) {
+                connections.add(dataSource.getConnection());
+            }
+            int prepared = 0;
+            for (Connection connection : connections) {
+                for (String sql : statements) {
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        prepared++;
+                    } catch (SQLException e) {
+                        log.debug("Warmup: could not prepare {}: {}", sql, e.getMessage());
+                    }
+                }
+            }
+            log.info("Warmup: opened {} {} connections, prepared {} statement texts ({} preparations)",
+                    connections.size(), target, statements.size(), prepared);
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    // SQL of every mapped statement of the active database; statements whose text depends on a list (foreach) are skipped
+    private List<String> statementTexts() {
+        Set<MappedStatement> mappedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+        mappedStatements.addAll(sqlSessionFactory.getConfiguration().getMappedStatements());
+
+        Set<String> texts = new LinkedHashSet<>();
+        int skipped = 0;
+        for (MappedStatement mappedStatement : mappedStatements) {
+            try {
+                BoundSql boundSql = mappedStatement.getBoundSql(new HashMap<String, Object>());
+                texts.add(boundSql.getSql());
+            } catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        log.debug("Warmup: {} statement texts, {} statements skipped", texts.size(), skipped);
+        return new ArrayList<>(texts);
+    }
+
+    private void preloadHotData(List<Long> boardIds, List<Long> layoutIds) {
+        boardIds.addAll(boardRepository.findMostViewedIds(warmupConfig.getHotBoards()));
+        for (Long boardId : boardIds) {
+            boardService.getBoardById(boardId);
+        }
+
+        List<ScreenLayout> layouts = screenLayoutService.getAllScreenLayouts();
+        for (ScreenLayout layout : layouts.subList(0, Math.min(warmupConfig.getHotLayouts(), layouts.size()))) {
+            layoutIds.add(layout.getLayoutId());
+            screenLayoutService.getScreenLayoutById(layout.getLayoutId());
+        }
+        log.info("Warmup: loaded {} boards and {} layouts", boardIds.size(), layoutIds.size());
+    }
+
+    private void replayRequests(List<Long> boardIds, List<Long> layoutIds) throws Exception {
+        Resource resource = resourceLoader.getResource(warmupConfig.getRequestsLocation());
+        if (!resource.exists()) {
+            log.info("Warmup: no recorded requests at {}", warmupConfig.getRequestsLocation());
+            return;
+        }
+
+        List<String> paths = new ArrayList<>();
+        for (String line : resource.getContentAsString(StandardCharsets.UTF_8).lines().toList()) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+            if (parts.length != 2 || !"GET".equalsIgnoreCase(parts[0])) {
+                log.warn("Warmup: skipping recorded request '{}', only GET requests are replayed", trimmed);
+                continue;
+            }
+            paths.addAll(expand(parts[1], boardIds, layoutIds));
+        }
+
+        String baseUrl = "http://localhost:" + webServerApplicationContext.getWebServer().getPort();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        int requests = 0;
+        int failures = 0;
+        for (int iteration = 0; iteration < warmupConfig.getReplayIterations(); iteration++) {
+            for (String path : paths) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                requests++;
+                if (status >= 500) {
+                    failures++;
+                }
+            }
+        }
+        log.info("Warmup: replayed {} requests ({} server errors)", requests, failures);
+    }
+
+    // One path per hot id for each placeholder; lines with a placeholder but no ids are dropped
+    private static List<String> expand(String path, List<Long> boardIds, List<Long> layoutIds) {
+        List<String> paths = new ArrayList<>(List.of(path));
+        paths = substitute(paths, "{boardId}", boardIds);
+        paths = substitute(paths, "{layoutId}", layoutIds);
+        return paths;
+    }
+
+    private static List<String> substitute(List<String> paths, String placeholder, List<Long> ids) {
+        List<String> result = new ArrayList<>();
+        for (String path : paths) {
+            if (!path.contains(placeholder)) {
+                result.add(path);
+                continue;
+            }
+            for (Long id : ids) {
+                result.add(path.replace(placeholder, String.valueOf(id)));
+            }
+        }
+        return result;
+    }
+
+    private void step(String name, WarmupStep step) {
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            step.run();
+            log.debug("Warmup step '{}' took {} ms", name, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warmup step '{}' failed; continuing", name, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
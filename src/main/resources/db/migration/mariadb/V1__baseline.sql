@@ -0,0 +1,119 @@
+-- V1: baseline MariaDB schema (board, comments, attachments, screen layouts)
+
+-- Board table for Q&A posts
+CREATE TABLE IF NOT EXISTS board (
+    board_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    content LONGTEXT NOT NULL,
+    writer VARCHAR(100) NOT NULL,
+    view_count INT DEFAULT 0,
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- File table for file attachments
+CREATE TABLE IF NOT EXISTS file (
+    file_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_type VARCHAR(100),
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (board_id) REFERENCES board(board_id) ON DELETE CASCADE
+);
+
+-- Comment table for comments on posts
+CREATE TABLE IF NOT EXISTS comment (
+    comment_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    parent_comment_id BIGINT NULL,
+    -- Materialized ancestry path: zero-padded ids of every ancestor and the comment itself, e.g. '0000000001/0000000007/'
+    path VARCHAR(1100) CHARACTER SET ascii COLLATE ascii_bin NULL,
+    depth INT NOT NULL DEFAULT 0,
+    content LONGTEXT NOT NULL,
+    writer VARCHAR(100) NOT NULL,
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (board_id) REFERENCES board(board_id) ON DELETE CASCADE,
+    FOREIGN KEY (parent_comment_id) REFERENCES comment(comment_id) ON DELETE CASCADE
+);
+
+-- Reply table for replies to comments
+CREATE TABLE IF NOT EXISTS reply (
+    reply_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    comment_id BIGINT NOT NULL,
+    content LONGTEXT NOT NULL,
+    writer VARCHAR(100) NOT NULL,
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (comment_id) REFERENCES comment(comment_id) ON DELETE CASCADE
+);
+
+-- Change log for incremental comment/reply feeds (deletes are kept as tombstones)
+CREATE TABLE IF NOT EXISTS comment_change (
+    change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    board_id BIGINT NOT NULL,
+    entity_type VARCHAR(10) NOT NULL, -- 'COMMENT', 'REPLY'
+    entity_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL, -- 'CREATE', 'UPDATE', 'DELETE'
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (board_id) REFERENCES board(board_id) ON DELETE CASCADE
+);
+
+-- Create indexes for better performance
+CREATE INDEX IF NOT EXISTS idx_file_board_id ON file(board_id);
+CREATE INDEX IF NOT EXISTS idx_comment_board_id ON comment(board_id);
+CREATE INDEX IF NOT EXISTS idx_reply_comment_id ON reply(comment_id);
+CREATE INDEX IF NOT EXISTS idx_comment_board_path ON comment(board_id, path);
+CREATE INDEX IF NOT EXISTS idx_comment_path ON comment(path);
+CREATE INDEX IF NOT EXISTS idx_comment_change_board ON comment_change(board_id, change_id);
+
+-- Screen layout table for storing layout configurations
+CREATE TABLE IF NOT EXISTS screen_layout (
+    layout_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0, -- optimistic concurrency, incremented by every layout update
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Card table for storing card components
+CREATE TABLE IF NOT EXISTS card (
+    card_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    layout_id BIGINT NOT NULL,
+    position VARCHAR(10) NOT NULL, -- 'LEFT_1', 'LEFT_2', 'RIGHT_1', 'RIGHT_2'
+    title VARCHAR(255) NOT NULL,
+    horizontal_collapse BOOLEAN DEFAULT FALSE,
+    vertical_collapse BOOLEAN DEFAULT FALSE,
+    title_only BOOLEAN DEFAULT FALSE,
+    expanded BOOLEAN DEFAULT FALSE,
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (layout_id) REFERENCES screen_layout(layout_id) ON DELETE CASCADE
+);
+
+-- Central menu table for storing central menu component
+CREATE TABLE IF NOT EXISTS central_menu (
+    menu_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    layout_id BIGINT NOT NULL,
+    priority BOOLEAN DEFAULT FALSE,
+    expanded BOOLEAN DEFAULT FALSE,
+    created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (layout_id) REFERENCES screen_layout(layout_id) ON DELETE CASCADE
+);
+
+-- Create indexes for screen layout tables
+CREATE INDEX IF NOT EXISTS idx_card_layout_id ON card(layout_id);
+CREATE INDEX IF NOT EXISTS idx_menu_layout_id ON central_menu(layout_id);
+
+-- Per-user layout state: card and central menu flags of all positions packed into one bitset
+CREATE TABLE IF NOT EXISTS user_layout_state (
+    user_id BIGINT NOT NULL,
+    layout_id BIGINT NOT NULL,
+    state BIGINT NOT NULL, -- see LayoutStateBits
+    modified_date DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, layout_id),
+    FOREIGN KEY (layout_id) REFERENCES screen_layout(layout_id) ON DELETE CASCADE
+);
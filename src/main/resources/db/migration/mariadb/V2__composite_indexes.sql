@@ -0,0 +1,26 @@
+-- V2: composite indexes matching the WHERE and ORDER BY of the mapper statements
+-- migration: online
+-- InnoDB builds secondary indexes in place without blocking reads or writes; the new
+-- indexes are created before the single-column ones they replace are dropped, so every
+-- foreign key keeps a usable index throughout.
+
+-- CommentMapper.findByBoardId, deleteByBoardId: board_id = ? ORDER BY comment_id
+CREATE INDEX IF NOT EXISTS idx_comment_board_comment ON comment(board_id, comment_id);
+
+-- CommentMapper.findTopLevelByBoardId, findTopLevelPage: board_id = ? AND parent_comment_id IS NULL [AND comment_id > ?] ORDER BY comment_id
+CREATE INDEX IF NOT EXISTS idx_comment_board_parent ON comment(board_id, parent_comment_id, comment_id);
+
+-- CommentMapper.findByParentCommentId, findChildPage, deleteByParentCommentId and the child_count subqueries:
+-- parent_comment_id = ? [AND comment_id > ?] ORDER BY comment_id
+CREATE INDEX IF NOT EXISTS idx_comment_parent ON comment(parent_comment_id, comment_id);
+
+-- ReplyMapper.findByCommentId, findByCommentIds, deleteByCommentId: comment_id = ? / IN (...) ORDER BY comment_id, reply_id
+CREATE INDEX IF NOT EXISTS idx_reply_comment_reply ON reply(comment_id, reply_id);
+
+-- CardMapper.findByLayoutId, updateStateByPosition: layout_id = ? [AND position = ?] ORDER BY position
+CREATE INDEX IF NOT EXISTS idx_card_layout_position ON card(layout_id, position);
+
+-- Prefixes of the indexes above
+DROP INDEX IF EXISTS idx_comment_board_id ON comment;
+DROP INDEX IF EXISTS idx_reply_comment_id ON reply;
+DROP INDEX IF EXISTS idx_card_layout_id ON card;
@@ -0,0 +1,6 @@
+-- V3: index for pruning comment_change rows older than the retention window
+-- migration: online
+-- InnoDB builds the index in place without blocking reads or writes.
+
+-- CommentChangeMapper.findPrunableBoards: created_date < ? GROUP BY board_id
+CREATE INDEX IF NOT EXISTS idx_comment_change_created ON comment_change(created_date);
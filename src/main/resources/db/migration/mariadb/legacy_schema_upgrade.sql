@@ -0,0 +1,9 @@
+-- Runs before V1 on databases created by the former drop-and-recreate schema.sql (no schema_version table).
+-- V1 only creates missing tables, so the columns it added to existing tables are added here;
+-- the migrator then fills comment.path and comment.depth from parent_comment_id.
+-- Columns that already exist are skipped by the migrator, so the script can be re-run.
+
+ALTER TABLE comment ADD COLUMN path VARCHAR(1100) CHARACTER SET ascii COLLATE ascii_bin NULL AFTER parent_comment_id;
+ALTER TABLE comment ADD COLUMN depth INT NOT NULL DEFAULT 0 AFTER path;
+
+ALTER TABLE screen_layout ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER name;
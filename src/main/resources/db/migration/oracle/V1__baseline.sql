@@ -1,68 +1,13 @@
--- Oracle database schema for Q&A board
-
--- Drop sequences if they exist
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE board_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE file_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE comment_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE reply_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
--- Drop tables if they exist
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE reply';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE comment';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE file';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE board';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
+-- V1: baseline Oracle schema (board, comments, attachments, screen layouts)
+-- Objects that already exist are skipped by the migrator (ORA-00955), so the script can be re-run
 
 -- Create sequences for auto-increment
+-- Triggers only fill in ids that are not given, so bulk loads can insert explicit ids
 CREATE SEQUENCE board_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE file_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE comment_seq START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE reply_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE comment_change_seq START WITH 1 INCREMENT BY 1;
 
 -- Board table for Q&A posts
 CREATE TABLE board (
@@ -80,7 +25,9 @@ CREATE OR REPLACE TRIGGER board_trigger
 BEFORE INSERT ON board
 FOR EACH ROW
 BEGIN
-    SELECT board_seq.NEXTVAL INTO :NEW.board_id FROM DUAL;
+    IF :NEW.board_id IS NULL THEN
+        SELECT board_seq.NEXTVAL INTO :NEW.board_id FROM DUAL;
+    END IF;
 END;
 /
 
@@ -101,7 +48,9 @@ CREATE OR REPLACE TRIGGER file_trigger
 BEFORE INSERT ON file
 FOR EACH ROW
 BEGIN
-    SELECT file_seq.NEXTVAL INTO :NEW.file_id FROM DUAL;
+    IF :NEW.file_id IS NULL THEN
+        SELECT file_seq.NEXTVAL INTO :NEW.file_id FROM DUAL;
+    END IF;
 END;
 /
 
@@ -110,6 +59,9 @@ CREATE TABLE comment (
     comment_id NUMBER PRIMARY KEY,
     board_id NUMBER NOT NULL,
     parent_comment_id NUMBER NULL,
+    -- Materialized ancestry path: zero-padded ids of every ancestor and the comment itself, e.g. '0000000001/0000000007/'
+    path VARCHAR2(1100) NULL,
+    depth NUMBER DEFAULT 0 NOT NULL,
     content CLOB NOT NULL,
     writer VARCHAR2(100) NOT NULL,
     created_date TIMESTAMP DEFAULT SYSTIMESTAMP,
@@ -123,7 +75,9 @@ CREATE OR REPLACE TRIGGER comment_trigger
 BEFORE INSERT ON comment
 FOR EACH ROW
 BEGIN
-    SELECT comment_seq.NEXTVAL INTO :NEW.comment_id FROM DUAL;
+    IF :NEW.comment_id IS NULL THEN
+        SELECT comment_seq.NEXTVAL INTO :NEW.comment_id FROM DUAL;
+    END IF;
 END;
 /
 
@@ -143,58 +97,41 @@ CREATE OR REPLACE TRIGGER reply_trigger
 BEFORE INSERT ON reply
 FOR EACH ROW
 BEGIN
-    SELECT reply_seq.NEXTVAL INTO :NEW.reply_id FROM DUAL;
+    IF :NEW.reply_id IS NULL THEN
+        SELECT reply_seq.NEXTVAL INTO :NEW.reply_id FROM DUAL;
+    END IF;
 END;
 /
 
--- Create indexes for better performance
-CREATE INDEX idx_file_board_id ON file(board_id);
-CREATE INDEX idx_comment_board_id ON comment(board_id);
-CREATE INDEX idx_reply_comment_id ON reply(comment_id);
-
--- Drop screen layout sequences if they exist
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE screen_layout_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE card_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
-BEGIN
-   EXECUTE IMMEDIATE 'DROP SEQUENCE central_menu_seq';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
-
--- Drop screen layout tables if they exist
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE card';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
+-- Change log for incremental comment/reply feeds (deletes are kept as tombstones)
+CREATE TABLE comment_change (
+    change_id NUMBER PRIMARY KEY,
+    board_id NUMBER NOT NULL,
+    entity_type VARCHAR2(10) NOT NULL, -- 'COMMENT', 'REPLY'
+    entity_id NUMBER NOT NULL,
+    change_type VARCHAR2(10) NOT NULL, -- 'CREATE', 'UPDATE', 'DELETE'
+    created_date TIMESTAMP DEFAULT SYSTIMESTAMP,
+    CONSTRAINT fk_change_board FOREIGN KEY (board_id) REFERENCES board(board_id) ON DELETE CASCADE
+);
 
+-- Create trigger for comment_change auto-increment
+CREATE OR REPLACE TRIGGER comment_change_trigger
+BEFORE INSERT ON comment_change
+FOR EACH ROW
 BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE central_menu';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
+    IF :NEW.change_id IS NULL THEN
+        SELECT comment_change_seq.NEXTVAL INTO :NEW.change_id FROM DUAL;
+    END IF;
 END;
 /
 
-BEGIN
-   EXECUTE IMMEDIATE 'DROP TABLE screen_layout';
-EXCEPTION
-   WHEN OTHERS THEN NULL;
-END;
-/
+-- Create indexes for better performance
+CREATE INDEX idx_file_board_id ON file(board_id);
+CREATE INDEX idx_comment_board_id ON comment(board_id);
+CREATE INDEX idx_reply_comment_id ON reply(comment_id);
+CREATE INDEX idx_comment_board_path ON comment(board_id, path);
+CREATE INDEX idx_comment_path ON comment(path);
+CREATE INDEX idx_comment_change_board ON comment_change(board_id, change_id);
 
 -- Create sequences for screen layout tables
 CREATE SEQUENCE screen_layout_seq START WITH 1 INCREMENT BY 1;
@@ -205,6 +142,7 @@ CREATE SEQUENCE central_menu_seq START WITH 1 INCREMENT BY 1;
 CREATE TABLE screen_layout (
     layout_id NUMBER PRIMARY KEY,
     name VARCHAR2(255) NOT NULL,
+    version NUMBER DEFAULT 0 NOT NULL, -- optimistic concurrency, incremented by every layout update
     created_date TIMESTAMP DEFAULT SYSTIMESTAMP,
     modified_date TIMESTAMP DEFAULT SYSTIMESTAMP
 );
@@ -214,7 +152,9 @@ CREATE OR REPLACE TRIGGER screen_layout_trigger
 BEFORE INSERT ON screen_layout
 FOR EACH ROW
 BEGIN
-    SELECT screen_layout_seq.NEXTVAL INTO :NEW.layout_id FROM DUAL;
+    IF :NEW.layout_id IS NULL THEN
+        SELECT screen_layout_seq.NEXTVAL INTO :NEW.layout_id FROM DUAL;
+    END IF;
 END;
 /
 
@@ -238,7 +178,9 @@ CREATE OR REPLACE TRIGGER card_trigger
 BEFORE INSERT ON card
 FOR EACH ROW
 BEGIN
-    SELECT card_seq.NEXTVAL INTO :NEW.card_id FROM DUAL;
+    IF :NEW.card_id IS NULL THEN
+        SELECT card_seq.NEXTVAL INTO :NEW.card_id FROM DUAL;
+    END IF;
 END;
 /
 
@@ -258,10 +200,22 @@ CREATE OR REPLACE TRIGGER central_menu_trigger
 BEFORE INSERT ON central_menu
 FOR EACH ROW
 BEGIN
-    SELECT central_menu_seq.NEXTVAL INTO :NEW.menu_id FROM DUAL;
+    IF :NEW.menu_id IS NULL THEN
+        SELECT central_menu_seq.NEXTVAL INTO :NEW.menu_id FROM DUAL;
+    END IF;
 END;
 /
 
 -- Create indexes for screen layout tables
 CREATE INDEX idx_card_layout_id ON card(layout_id);
 CREATE INDEX idx_menu_layout_id ON central_menu(layout_id);
+
+-- Per-user layout state: card and central menu flags of all positions packed into one bitset
+CREATE TABLE user_layout_state (
+    user_id NUMBER NOT NULL,
+    layout_id NUMBER NOT NULL,
+    state NUMBER(19) NOT NULL, -- see LayoutStateBits
+    modified_date TIMESTAMP DEFAULT SYSTIMESTAMP,
+    CONSTRAINT pk_user_layout_state PRIMARY KEY (user_id, layout_id),
+    CONSTRAINT fk_user_state_layout FOREIGN KEY (layout_id) REFERENCES screen_layout(layout_id) ON DELETE CASCADE
+);
@@ -0,0 +1,27 @@
+-- V2: composite indexes matching the WHERE and ORDER BY of the mapper statements
+-- migration: online
+-- ONLINE builds keep the tables writable; the new indexes are created before the
+-- single-column ones they replace are dropped. On a re-run existing indexes (ORA-00955)
+-- and already dropped ones (ORA-01418) are skipped by the migrator.
+
+-- CommentMapper.findByBoardId, deleteByBoardId: board_id = ? ORDER BY comment_id
+CREATE INDEX idx_comment_board_comment ON comment(board_id, comment_id) ONLINE;
+
+-- CommentMapper.findTopLevelByBoardId, findTopLevelPage: board_id = ? AND parent_comment_id IS NULL [AND comment_id > ?] ORDER BY comment_id
+-- (board_id is NOT NULL, so rows with a NULL parent are indexed)
+CREATE INDEX idx_comment_board_parent ON comment(board_id, parent_comment_id, comment_id) ONLINE;
+
+-- CommentMapper.findByParentCommentId, findChildPage, deleteByParentCommentId and the child_count subqueries:
+-- parent_comment_id = ? [AND comment_id > ?] ORDER BY comment_id
+CREATE INDEX idx_comment_parent ON comment(parent_comment_id, comment_id) ONLINE;
+
+-- ReplyMapper.findByCommentId, findByCommentIds, deleteByCommentId: comment_id = ? / IN (...) ORDER BY comment_id, reply_id
+CREATE INDEX idx_reply_comment_reply ON reply(comment_id, reply_id) ONLINE;
+
+-- CardMapper.findByLayoutId, updateStateByPosition: layout_id = ? [AND position = ?] ORDER BY position
+CREATE INDEX idx_card_layout_position ON card(layout_id, position) ONLINE;
+
+-- Prefixes of the indexes above
+DROP INDEX idx_comment_board_id ONLINE;
+DROP INDEX idx_reply_comment_id ONLINE;
+DROP INDEX idx_card_layout_id ONLINE;
@@ -0,0 +1,4 @@
+-- V3: hand out comment_change ids in request order on every instance
+-- The change feed token relies on a higher change_id never being assigned before a lower one;
+-- without ORDER each RAC instance serves its own cached range of comment_change_seq.
+ALTER SEQUENCE comment_change_seq ORDER;
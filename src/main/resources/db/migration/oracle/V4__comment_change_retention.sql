@@ -0,0 +1,7 @@
+-- V4: index for pruning comment_change rows older than the retention window
+-- migration: online
+-- The ONLINE build keeps comment_change writable. On a re-run an existing index (ORA-00955)
+-- is skipped by the migrator.
+
+-- CommentChangeMapper.findPrunableBoards: created_date < ? GROUP BY board_id
+CREATE INDEX idx_comment_change_created ON comment_change(created_date) ONLINE;
@@ -0,0 +1,9 @@
+-- Runs before V1 on databases created by the former drop-and-recreate schema-oracle.sql (no schema_version table).
+-- V1 only creates missing tables, so the columns it added to existing tables are added here;
+-- the migrator then fills comment.path and comment.depth from parent_comment_id.
+-- Columns that already exist (ORA-01430) are skipped by the migrator, so the script can be re-run.
+
+ALTER TABLE comment ADD (path VARCHAR2(1100) NULL);
+ALTER TABLE comment ADD (depth NUMBER DEFAULT 0 NOT NULL);
+
+ALTER TABLE screen_layout ADD (version NUMBER DEFAULT 0 NOT NULL);
@@ -11,11 +11,14 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.zerock.board.config.MonitoringConfig;
 import org.zerock.board.dto.BoardListResponseDTO;
 import org.zerock.board.dto.BoardResponseDTO;
 import org.zerock.board.model.Board;
 import org.zerock.board.model.Comment;
 import org.zerock.board.model.FileAttachment;
+import org.zerock.board.monitoring.RequestMetrics;
+import org.zerock.board.monitoring.ServerTimingFilter;
 import org.zerock.board.service.BoardService;
 
 import java.time.LocalDateTime;
@@ -23,7 +26,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -234,4 +239,39 @@ public class BoardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("게시글이 성공적으로 삭제되었습니다"));
     }
+
+    /**
+     * Server-Timing 헤더 테스트
+     * 요청별 SQL 실행 횟수와 소요 시간이 Server-Timing 헤더로 반환되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("Server-Timing 헤더 테스트")
+    public void testServerTimingHeader() throws Exception {
+        // 테스트 데이터 준비
+        Board board = Board.builder()
+                .boardId(1L)
+                .title("테스트 게시글")
+                .build();
+        MonitoringConfig monitoringConfig = new MonitoringConfig();
+        monitoringConfig.setEnabled(true);
+        MockMvc timedMockMvc = MockMvcBuilders.standaloneSetup(boardController)
+                .addFilters(new ServerTimingFilter(monitoringConfig))
+                .build();
+
+        // Mock 서비스 동작 설정 (SQL 2회 실행을 기록)
+        doAnswer(invocation -> {
+            RequestMetrics.recordStatement(1_000_000L);
+            return null;
+        }).when(boardService).incrementViewCount(1L);
+        when(boardService.getBoardById(1L)).thenAnswer(invocation -> {
+            RequestMetrics.recordStatement(2_000_000L);
+            return board;
+        });
+
+        // API 호출 및 검증
+        timedMockMvc.perform(get("/api/boards/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("db;dur=3.0;desc=\"2 statements\"")))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
 }
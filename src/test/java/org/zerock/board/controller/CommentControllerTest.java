@@ -10,8 +10,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.board.dto.CommentChangesResponseDTO;
+import org.zerock.board.dto.CommentPageResponseDTO;
 import org.zerock.board.dto.CommentResponseDTO;
+import org.zerock.board.event.BoardEventBroadcaster;
 import org.zerock.board.model.Comment;
+import org.zerock.board.model.CommentChange;
 import org.zerock.board.model.Reply;
 import org.zerock.board.service.CommentService;
 
@@ -22,6 +27,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +44,9 @@ public class CommentControllerTest {
     @Mock
     private CommentService commentService;
 
+    @Mock
+    private BoardEventBroadcaster boardEventBroadcaster;
+
     @InjectMocks
     private CommentController commentController;
 
@@ -204,4 +213,167 @@ public class CommentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("댓글이 성공적으로 삭제되었습니다"));
     }
+
+    /**
+     * 청크 단위 댓글 삭제 테스트
+     * chunkSize 파라미터가 있으면 청크 단위 삭제가 호출되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("청크 단위 댓글 삭제 테스트")
+    public void testDeleteCommentInChunks() throws Exception {
+        // Mock 서비스 동작 설정
+        doNothing().when(commentService).deleteCommentInChunks(anyLong(), anyInt());
+
+        // API 호출 및 검증
+        mockMvc.perform(delete("/api/comments/1").param("chunkSize", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("댓글이 성공적으로 삭제되었습니다"));
+
+        verify(commentService).deleteCommentInChunks(1L, 500);
+    }
+
+    /**
+     * 상위 댓글 조회 테스트
+     * 특정 댓글의 상위 댓글 목록 조회 요청을 테스트합니다.
+     */
+    @Test
+    @DisplayName("상위 댓글 조회 테스트")
+    public void testGetAncestorComments() throws Exception {
+        // 테스트 데이터 준비
+        List<Comment> ancestors = Arrays.asList(
+                Comment.builder()
+                        .commentId(1L)
+                        .boardId(1L)
+                        .path("0000000001/")
+                        .depth(0)
+                        .content("최상위 댓글")
+                        .writer("댓글 작성자1")
+                        .build(),
+                Comment.builder()
+                        .commentId(2L)
+                        .boardId(1L)
+                        .parentCommentId(1L)
+                        .path("0000000001/0000000002/")
+                        .depth(1)
+                        .content("대댓글")
+                        .writer("댓글 작성자2")
+                        .build()
+        );
+
+        // Mock 서비스 동작 설정
+        when(commentService.getAncestorComments(anyLong())).thenReturn(ancestors);
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/comments/3/ancestors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].commentId").value(1))
+                .andExpect(jsonPath("$[1].depth").value(1));
+    }
+
+    /**
+     * 계층형 댓글 페이지 조회 테스트
+     * 페이지 크기, 깊이, 하위 댓글 수 제한이 서비스로 전달되고 커서가 반환되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("계층형 댓글 페이지 조회 테스트")
+    public void testGetNestedCommentPage() throws Exception {
+        // 테스트 데이터 준비
+        Comment comment = Comment.builder()
+                .commentId(10L)
+                .boardId(1L)
+                .content("최상위 댓글")
+                .writer("댓글 작성자")
+                .childCount(7)
+                .hasMoreChildren(true)
+                .nextChildCursor(15L)
+                .children(new ArrayList<>())
+                .replies(new ArrayList<>())
+                .build();
+
+        CommentPageResponseDTO page = CommentPageResponseDTO.builder()
+                .comments(Arrays.asList(comment))
+                .hasMore(true)
+                .nextCursor(10L)
+                .build();
+
+        // Mock 서비스 동작 설정
+        when(commentService.getCommentPageByBoardId(1L, null, 1, 1, 3)).thenReturn(page);
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/comments/board/1/nested")
+                .param("size", "1")
+                .param("maxDepth", "1")
+                .param("childLimit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(10))
+                .andExpect(jsonPath("$.comments[0].childCount").value(7))
+                .andExpect(jsonPath("$.comments[0].hasMoreChildren").value(true))
+                .andExpect(jsonPath("$.comments[0].nextChildCursor").value(15));
+    }
+
+    /**
+     * 댓글 변경분 조회 테스트
+     * since 토큰이 서비스로 전달되고 변경된 댓글, tombstone, 새 토큰이 반환되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("댓글 변경분 조회 테스트")
+    public void testGetCommentChanges() throws Exception {
+        // 테스트 데이터 준비
+        Comment comment = Comment.builder()
+                .commentId(3L)
+                .boardId(1L)
+                .content("수정된 댓글")
+                .writer("댓글 작성자")
+                .build();
+
+        CommentChange tombstone = CommentChange.builder()
+                .changeId(41L)
+                .boardId(1L)
+                .entityType(CommentChange.ENTITY_REPLY)
+                .entityId(7L)
+                .changeType(CommentChange.DELETE)
+                .build();
+
+        CommentChangesResponseDTO changes = CommentChangesResponseDTO.builder()
+                .comments(Arrays.asList(comment))
+                .replies(new ArrayList<>())
+                .deleted(Arrays.asList(tombstone))
+                .token(42L)
+                .hasMore(false)
+                .build();
+
+        // Mock 서비스 동작 설정
+        when(commentService.getCommentChanges(1L, 40L)).thenReturn(changes);
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/comments/board/1/changes")
+                .param("since", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value(42))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.comments[0].commentId").value(3))
+                .andExpect(jsonPath("$.deleted[0].entityType").value("REPLY"))
+                .andExpect(jsonPath("$.deleted[0].entityId").value(7));
+    }
+
+    /**
+     * 게시글 이벤트 스트림 구독 테스트
+     * Last-Event-ID 헤더가 전달되고 비동기 SSE 응답이 시작되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("게시글 이벤트 스트림 구독 테스트")
+    public void testStreamBoardEvents() throws Exception {
+        // Mock 서비스 동작 설정
+        when(boardEventBroadcaster.subscribe(1L, "5f3a-42")).thenReturn(new SseEmitter());
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/comments/board/1/stream")
+                .header("Last-Event-ID", "5f3a-42")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(boardEventBroadcaster).subscribe(1L, "5f3a-42");
+    }
 }
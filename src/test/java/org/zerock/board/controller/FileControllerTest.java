@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.MediaType;
@@ -15,6 +16,7 @@ import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.zerock.board.model.FileAttachment;
 import org.zerock.board.repository.FileAttachmentRepository;
+import org.zerock.board.storage.FileStorage;
 
 import java.net.MalformedURLException;
 import java.nio.file.Path;
@@ -41,6 +43,9 @@ public class FileControllerTest {
     @Mock
     private FileAttachmentRepository fileAttachmentRepository;
 
+    @Mock
+    private FileStorage fileStorage;
+
     @InjectMocks
     private FileController fileController;
 
@@ -113,6 +118,7 @@ public class FileControllerTest {
 
         // Mock 리포지토리 동작 설정
         when(fileAttachmentRepository.findById(anyLong())).thenReturn(Optional.of(fileAttachment));
+        when(fileStorage.load("uuid-test.txt")).thenReturn(Optional.of(new ByteArrayResource(new byte[1024])));
 
         // 실제 파일 시스템 접근을 피하기 위해 테스트를 제한적으로 수행
         // 실제 파일 다운로드 로직은 통합 테스트에서 테스트하는 것이 더 적합
@@ -0,0 +1,220 @@
+package org.zerock.board.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.service.ScreenLayoutService;
+import org.zerock.board.service.UserLayoutStateService;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 화면 레이아웃 컨트롤러 테스트 클래스
+ * 화면 레이아웃 관련 API 엔드포인트의 기능을 테스트합니다.
+ */
+@SpringBootTest
+public class ScreenLayoutControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ScreenLayoutService screenLayoutService;
+
+    @Mock
+    private UserLayoutStateService userLayoutStateService;
+
+    @InjectMocks
+    private ScreenLayoutController screenLayoutController;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(screenLayoutController).build();
+        objectMapper.findAndRegisterModules(); // LocalDateTime 직렬화를 위해 필요
+    }
+
+    /**
+     * 카드 상태 수정 테스트
+     * 지정한 위치의 카드 상태만 수정하는 요청을 테스트합니다.
+     */
+    @Test
+    @DisplayName("카드 상태 수정 테스트")
+    public void testUpdateCardState() throws Exception {
+        // 테스트 데이터 준비
+        Card card = Card.builder()
+                .horizontalCollapse(true)
+                .build();
+
+        // Mock 서비스 동작 설정
+        doNothing().when(screenLayoutService).updateCardState(eq(1L), eq("LEFT_1"), any(Card.class));
+
+        // API 호출 및 검증
+        mockMvc.perform(patch("/api/screen-layouts/1/cards/LEFT_1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(card)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("카드 상태 변경이 접수되었습니다"));
+
+        verify(screenLayoutService).updateCardState(eq(1L), eq("LEFT_1"), any(Card.class));
+    }
+
+    /**
+     * 존재하지 않는 카드 상태 수정 테스트
+     * 해당 위치에 카드가 없으면 404를 반환하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("존재하지 않는 카드 상태 수정 테스트")
+    public void testUpdateCardStateNotFound() throws Exception {
+        // Mock 서비스 동작 설정
+        doThrow(new RuntimeException("Card not found at position RIGHT_2 in screen layout with ID: 1"))
+                .when(screenLayoutService).updateCardState(eq(1L), eq("RIGHT_2"), any(Card.class));
+
+        // API 호출 및 검증
+        mockMvc.perform(patch("/api/screen-layouts/1/cards/RIGHT_2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"expanded\": true}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    /**
+     * 중앙 메뉴 상태 수정 테스트
+     * 중앙 메뉴 상태 변경 요청이 접수되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("중앙 메뉴 상태 수정 테스트")
+    public void testUpdateCentralMenuState() throws Exception {
+        // 테스트 데이터 준비
+        CentralMenu centralMenu = CentralMenu.builder()
+                .expanded(true)
+                .build();
+
+        // Mock 서비스 동작 설정
+        doNothing().when(screenLayoutService).updateCentralMenuState(eq(1L), any(CentralMenu.class));
+
+        // API 호출 및 검증
+        mockMvc.perform(patch("/api/screen-layouts/1/central-menu")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(centralMenu)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("중앙 메뉴 상태 변경이 접수되었습니다"));
+
+        verify(screenLayoutService).updateCentralMenuState(eq(1L), any(CentralMenu.class));
+    }
+
+    /**
+     * 화면 레이아웃 조회 ETag 테스트
+     * 조회 응답에 레이아웃 버전이 ETag로 포함되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("화면 레이아웃 조회 ETag 테스트")
+    public void testGetScreenLayoutETag() throws Exception {
+        // 테스트 데이터 준비
+        ScreenLayout screenLayout = ScreenLayout.builder()
+                .layoutId(1L)
+                .name("기본 레이아웃")
+                .version(3L)
+                .build();
+
+        // Mock 서비스 동작 설정
+        when(screenLayoutService.getScreenLayoutById(1L)).thenReturn(screenLayout);
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/screen-layouts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    /**
+     * 화면 레이아웃 동시 수정 충돌 테스트
+     * If-Match 헤더의 버전이 최신이 아니면 412를 반환하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("화면 레이아웃 동시 수정 충돌 테스트")
+    public void testUpdateScreenLayoutConflict() throws Exception {
+        // 테스트 데이터 준비
+        ScreenLayout screenLayout = ScreenLayout.builder()
+                .name("수정된 레이아웃")
+                .build();
+
+        // Mock 서비스 동작 설정
+        when(screenLayoutService.updateScreenLayout(argThat(layout -> Long.valueOf(3L).equals(layout.getVersion()))))
+                .thenThrow(new OptimisticLockingFailureException("Screen layout 1 was modified concurrently"));
+
+        // API 호출 및 검증
+        mockMvc.perform(put("/api/screen-layouts/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(screenLayout)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    /**
+     * 화면 레이아웃 버전 수정 테스트
+     * 수정 성공 시 새 버전이 ETag로 반환되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("화면 레이아웃 버전 수정 테스트")
+    public void testUpdateScreenLayoutReturnsNewETag() throws Exception {
+        // 테스트 데이터 준비
+        ScreenLayout screenLayout = ScreenLayout.builder()
+                .name("수정된 레이아웃")
+                .version(3L)
+                .build();
+
+        // Mock 서비스 동작 설정
+        when(screenLayoutService.updateScreenLayout(any(ScreenLayout.class))).thenReturn(4L);
+
+        // API 호출 및 검증
+        mockMvc.perform(put("/api/screen-layouts/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(screenLayout)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+    }
+
+    /**
+     * 사용자별 카드 상태 수정 테스트
+     * 사용자 본인의 카드 상태 변경이 서비스로 전달되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("사용자별 카드 상태 수정 테스트")
+    public void testUpdateUserCardState() throws Exception {
+        // 테스트 데이터 준비
+        Card card = Card.builder()
+                .titleOnly(true)
+                .build();
+
+        // Mock 서비스 동작 설정
+        doNothing().when(userLayoutStateService).updateUserCardState(eq(1L), eq(7L), eq("RIGHT_1"), any(Card.class));
+
+        // API 호출 및 검증
+        mockMvc.perform(patch("/api/screen-layouts/1/users/7/state/cards/RIGHT_1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(card)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("카드 상태가 성공적으로 수정되었습니다"));
+
+        verify(userLayoutStateService).updateUserCardState(eq(1L), eq(7L), eq("RIGHT_1"), any(Card.class));
+    }
+}
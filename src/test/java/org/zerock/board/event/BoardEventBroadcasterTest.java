@@ -0,0 +1,291 @@
+package org.zerock.board.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.board.config.BoardEventConfig;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 게시글 이벤트 브로드캐스터 테스트 클래스
+ * Last-Event-ID 재생, reset 이벤트, 다른 노드의 이벤트 ID, 느린 구독자 제거, 구독자 수 제한, heartbeat를 테스트합니다.
+ */
+public class BoardEventBroadcasterTest {
+
+    private static final Long BOARD_ID = 1L;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private CountDownLatch sendGate;
+    private BoardEventBroadcaster broadcaster;
+
+    @AfterEach
+    public void shutdown() {
+        if (sendGate != null) {
+            sendGate.countDown();
+        }
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    /**
+     * 이벤트 재생 테스트
+     * Last-Event-ID 이후의 해당 게시글 이벤트만 재생되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("이벤트 재생 테스트")
+    public void testReplaysEventsAfterLastEventId() throws Exception {
+        // 테스트 데이터 준비
+        broadcaster = createBroadcaster(16, 8, 10, 60000);
+        publish(BOARD_ID, 11L);
+        publish(BOARD_ID, 12L);
+        publish(2L, 21L);
+        publish(BOARD_ID, 13L);
+
+        // API 호출 및 검증
+        broadcaster.subscribe(BOARD_ID, broadcaster.streamId(1));
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals("comment:12", emitter.next());
+        assertEquals("comment:13", emitter.next());
+
+        publish(BOARD_ID, 14L);
+        assertEquals("comment:14", emitter.next());
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 만료된 이벤트 ID 재생 테스트
+     * 재생 로그에 없는 Last-Event-ID로 재연결하면 reset 이벤트를 보내는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("만료된 이벤트 ID 재생 테스트")
+    public void testSendsResetWhenLastEventIdIsNoLongerLogged() throws Exception {
+        // 테스트 데이터 준비
+        broadcaster = createBroadcaster(4, 8, 10, 60000);
+        for (long commentId = 1; commentId <= 10; commentId++) {
+            publish(BOARD_ID, commentId);
+        }
+
+        // API 호출 및 검증
+        broadcaster.subscribe(BOARD_ID, broadcaster.streamId(1));
+        assertEquals("reset", emitters.get(0).next());
+        assertNull(emitters.get(0).sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 다른 노드 이벤트 ID 재생 테스트
+     * 다른 노드나 재시작 전의 이벤트 ID, 접두사 없는 숫자로 재연결하면 재생 대신 reset 이벤트를 보내는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("다른 노드 이벤트 ID 재생 테스트")
+    public void testSendsResetForEventIdOfAnotherNode() throws Exception {
+        // 테스트 데이터 준비: the ids exist in this node's log, but under another epoch
+        broadcaster = createBroadcaster(16, 8, 10, 60000);
+        for (long commentId = 1; commentId <= 3; commentId++) {
+            publish(BOARD_ID, commentId);
+        }
+        BoardEventBroadcaster otherNode = createBroadcaster(16, 8, 10, 60000);
+        String foreignId = otherNode.streamId(1);
+        otherNode.shutdown();
+
+        // API 호출 및 검증
+        broadcaster.subscribe(BOARD_ID, foreignId);
+        broadcaster.subscribe(BOARD_ID, "1");
+        for (RecordingEmitter emitter : emitters.subList(emitters.size() - 2, emitters.size())) {
+            assertEquals("reset", emitter.next());
+            assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+        }
+
+        // The reset carries a stream id of this node, which resumes normally
+        broadcaster.subscribe(BOARD_ID, emitters.getLast().lastId);
+        publish(BOARD_ID, 4L);
+        assertEquals("comment:4", emitters.getLast().next());
+    }
+
+    /**
+     * 버퍼 초과 재생 테스트
+     * 재생할 이벤트가 구독자 버퍼보다 많으면 일부만 보내지 않고 reset 이벤트를 보내는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("버퍼 초과 재생 테스트")
+    public void testSendsResetWhenReplayExceedsSubscriberBuffer() throws Exception {
+        // 테스트 데이터 준비
+        broadcaster = createBroadcaster(16, 2, 10, 60000);
+        for (long commentId = 1; commentId <= 5; commentId++) {
+            publish(BOARD_ID, commentId);
+        }
+
+        // API 호출 및 검증
+        broadcaster.subscribe(BOARD_ID, broadcaster.streamId(0));
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals("reset", emitter.next());
+
+        // The stream stays open and continues after the reset
+        publish(BOARD_ID, 6L);
+        assertEquals("comment:6", emitter.next());
+        assertEquals(1, broadcaster.getSubscriberCount());
+    }
+
+    /**
+     * 느린 구독자 제거 테스트
+     * 전송이 막힌 구독자의 버퍼가 가득 차면 스트림을 닫고 제거하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("느린 구독자 제거 테스트")
+    public void testEvictsSlowSubscriber() {
+        // 테스트 데이터 준비: sends block until the gate opens
+        sendGate = new CountDownLatch(1);
+        broadcaster = createBroadcaster(16, 2, 10, 60000);
+        broadcaster.subscribe(BOARD_ID, null);
+        RecordingEmitter emitter = emitters.get(0);
+
+        // API 호출 및 검증: one event in send, two queued, the next one overflows
+        for (long commentId = 1; commentId <= 5 && !emitter.completed; commentId++) {
+            publish(BOARD_ID, commentId);
+            sleep(50);
+        }
+        assertTrue(emitter.completed);
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    /**
+     * 구독자 수 제한 테스트
+     * 최대 구독자 수를 넘으면 503으로 거절하고, 구독이 끝나면 다시 받는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("구독자 수 제한 테스트")
+    public void testRejectsSubscribersOverLimit() {
+        // 테스트 데이터 준비
+        broadcaster = createBroadcaster(16, 8, 1, 60000);
+        broadcaster.subscribe(BOARD_ID, null);
+
+        // API 호출 및 검증
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> broadcaster.subscribe(2L, null));
+        assertEquals(503, rejected.getStatusCode().value());
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        broadcaster.shutdown();
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    /**
+     * heartbeat 테스트
+     * 이벤트가 없는 스트림에 heartbeat 주석을 보내는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("heartbeat 테스트")
+    public void testSendsHeartbeatToIdleStreams() throws Exception {
+        // 테스트 데이터 준비
+        broadcaster = createBroadcaster(16, 8, 10, 50);
+
+        // API 호출 및 검증
+        broadcaster.subscribe(BOARD_ID, null);
+        assertEquals("heartbeat", emitters.get(0).next());
+    }
+
+    private BoardEventBroadcaster createBroadcaster(int replaySize, int bufferSize, int maxSubscribers, long heartbeatIntervalMs) {
+        BoardEventConfig config = new BoardEventConfig();
+        config.setReplaySize(replaySize);
+        config.setSubscriberBufferSize(bufferSize);
+        config.setMaxSubscribers(maxSubscribers);
+        config.setHeartbeatIntervalMs(heartbeatIntervalMs);
+        return new BoardEventBroadcaster(config) {
+            @Override
+            SseEmitter createEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter(sendGate);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private void publish(Long boardId, Long commentId) {
+        broadcaster.onBoardEvent(BoardEvent.comment(boardId, commentId, BoardEvent.CREATE));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Records each sent event as "name:entityId", "reset" or "heartbeat", and the last stream id
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern EVENT_NAME = Pattern.compile("event:(\\w+)");
+
+        private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private volatile String lastId;
+        private final CountDownLatch gate;
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch gate) {
+            super(0L);
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            StringBuilder text = new StringBuilder();
+            BoardEvent event = null;
+            for (DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof BoardEvent boardEvent) {
+                    event = boardEvent;
+                } else {
+                    text.append(data.getData());
+                }
+            }
+            if (text.toString().startsWith(":heartbeat")) {
+                sent.add("heartbeat");
+                return;
+            }
+            Matcher id = EVENT_ID.matcher(text);
+            if (id.find()) {
+                lastId = id.group(1);
+            }
+            Matcher name = EVENT_NAME.matcher(text);
+            String recorded = name.find() ? name.group(1) : "?";
+            if (event != null && !BoardEvent.RESET.equals(event.getChangeType())) {
+                recorded += ":" + event.getEntityId();
+            }
+            sent.add(recorded);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private String next() throws InterruptedException {
+            return sent.poll(2, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.zerock.board.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.zerock.board.config.MigrationConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 스키마 마이그레이션 테스트 클래스
+ * 이전 drop-and-recreate 방식의 schema.sql로 만든 DB가 마이그레이션으로 데이터를 유지한 채 업그레이드되는지 테스트합니다.
+ * MariaDB 모드의 H2 인메모리 DB를 사용합니다.
+ */
+public class SchemaMigratorTest {
+
+    private static final String DATABASE_ID = "mariadb";
+
+    private DriverManagerDataSource dataSource;
+    private SchemaMigrator migrator;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        migrator = new SchemaMigrator(new MigrationConfig());
+    }
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        execute("SHUTDOWN");
+    }
+
+    /**
+     * 이전 스키마 업그레이드 테스트
+     * 이전 schema.sql로 만든 DB에 컬럼이 추가되고, 기존 댓글의 경로와 깊이가 채워지는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("이전 스키마 업그레이드 테스트")
+    public void testUpgradesLegacySchema() throws Exception {
+        // 테스트 데이터 준비: a thread 1 > 2 > 3, a second top-level comment 4 and a reply
+        createLegacySchema();
+        execute("INSERT INTO board (board_id, title, content, writer) VALUES (1, 'title', 'content', 'writer')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (1, 1, NULL, 'c1', 'w')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (2, 1, 1, 'c2', 'w')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (3, 1, 2, 'c3', 'w')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (4, 1, NULL, 'c4', 'w')");
+        execute("INSERT INTO reply (reply_id, comment_id, content, writer) VALUES (1, 3, 'r1', 'w')");
+        execute("INSERT INTO screen_layout (layout_id, name) VALUES (1, 'layout')");
+
+        // API 호출 및 검증
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        assertEquals(List.of(
+                "1|0000000001/|0",
+                "2|0000000001/0000000002/|1",
+                "3|0000000001/0000000002/0000000003/|2",
+                "4|0000000004/|0"), query("SELECT comment_id, path, depth FROM comment ORDER BY comment_id"));
+        assertEquals(List.of("1|layout|0"), query("SELECT layout_id, name, version FROM screen_layout"));
+        assertEquals(List.of("1|3"), query("SELECT reply_id, comment_id FROM reply"));
+        assertEquals(query("SELECT version FROM schema_version ORDER BY version"),
+                query("SELECT version FROM schema_version WHERE success = 1 ORDER BY version"));
+
+        // Tables added by V1 exist, and the next start finds the schema current
+        assertEquals(List.of("0"), query("SELECT COUNT(*) FROM comment_change"));
+        assertTrue(migrator.migrate(dataSource, DATABASE_ID).isEmpty());
+    }
+
+    /**
+     * 업그레이드 재실행 테스트
+     * 업그레이드가 중간에 실패한 뒤 다시 실행해도 완료되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("업그레이드 재실행 테스트")
+    public void testUpgradeCanBeRerunAfterPartialFailure() throws Exception {
+        // 테스트 데이터 준비: the columns were added and one comment filled before the previous attempt failed
+        createLegacySchema();
+        execute("INSERT INTO board (board_id, title, content, writer) VALUES (1, 'title', 'content', 'writer')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (1, 1, NULL, 'c1', 'w')");
+        execute("INSERT INTO comment (comment_id, board_id, parent_comment_id, content, writer) VALUES (2, 1, 1, 'c2', 'w')");
+        execute("ALTER TABLE comment ADD COLUMN path VARCHAR(1100) NULL");
+        execute("ALTER TABLE comment ADD COLUMN depth INT NOT NULL DEFAULT 0");
+        execute("UPDATE comment SET path = '0000000001/' WHERE comment_id = 1");
+
+        // API 호출 및 검증
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        assertEquals(List.of("1|0000000001/|0", "2|0000000001/0000000002/|1"),
+                query("SELECT comment_id, path, depth FROM comment ORDER BY comment_id"));
+        assertEquals(List.of("0"), query("SELECT COUNT(*) FROM screen_layout WHERE version <> 0"));
+    }
+
+    /**
+     * 신규 DB 마이그레이션 테스트
+     * 빈 DB에는 이전 스키마 업그레이드 없이 모든 마이그레이션이 적용되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("신규 DB 마이그레이션 테스트")
+    public void testMigratesEmptyDatabase() throws Exception {
+        // API 호출 및 검증
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        List<Migration> migrations = MigrationScripts.load(new MigrationConfig().getLocation(), DATABASE_ID);
+        assertEquals(List.of(String.valueOf(migrations.size())), query("SELECT COUNT(*) FROM schema_version WHERE success = 1"));
+        assertEquals(List.of("0"), query("SELECT COUNT(*) FROM comment"));
+    }
+
+    // Run the former schema.sql as the old startup did
+    private void createLegacySchema() throws Exception {
+        String script = new ClassPathResource("db/legacy/schema.sql").getContentAsString(StandardCharsets.UTF_8);
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : MigrationScripts.split(script)) {
+                try {
+                    statement.execute(sql);
+                } catch (SQLException e) {
+                    // H2 index names are unique per schema, MariaDB ones per table: the second idx_board_id
+                    // and idx_layout_id are not created
+                    if (!"42S11".equals(e.getSQLState())) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    private void execute(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    // Rows as "column1|column2|..."
+    private List<String> query(String sql) throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                List<String> values = new ArrayList<>();
+                for (int column = 1; column <= columns; column++) {
+                    values.add(resultSet.getString(column));
+                }
+                rows.add(String.join("|", values));
+            }
+        }
+        return rows;
+    }
+}
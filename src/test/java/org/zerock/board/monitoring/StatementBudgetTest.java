@@ -0,0 +1,155 @@
+package org.zerock.board.monitoring;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.config.MonitoringConfig;
+import org.zerock.board.controller.CommentController;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.model.Comment;
+import org.zerock.board.repository.CommentChangeRepository;
+import org.zerock.board.repository.CommentRepository;
+import org.zerock.board.repository.ReplyRepository;
+import org.zerock.board.service.CommentServiceImpl;
+import org.zerock.board.service.ReplyBatchLoader;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL 실행 횟수 제한 테스트 클래스
+ * 실제 매퍼 요청에서 StatementMetricsInterceptor가 SQL 실행 횟수를 세고, FAIL 모드에서 제한을 넘는 요청이 오류 응답으로 끝나는지 테스트합니다.
+ * 스키마는 애플리케이션의 MariaDB 마이그레이션으로 MariaDB 모드의 H2 인메모리 DB에 생성합니다.
+ */
+public class StatementBudgetTest {
+
+    private static final String DATABASE_ID = "mariadb";
+
+    private DriverManagerDataSource dataSource;
+    private CommentServiceImpl commentService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:budget-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+        factoryBean.setPlugins(new StatementMetricsInterceptor());
+        Configuration config = new Configuration();
+        config.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(config);
+        SqlSessionTemplate session = new SqlSessionTemplate(factoryBean.getObject());
+
+        ReplyRepository replyRepository = session.getMapper(ReplyRepository.class);
+        commentService = new CommentServiceImpl(
+                session.getMapper(CommentRepository.class),
+                replyRepository,
+                new ReplyBatchLoader(replyRepository),
+                session.getMapper(CommentChangeRepository.class),
+                null,
+                event -> { });
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO board (board_id, title, content, writer) VALUES (1, 'title', 'content', 'writer')");
+        }
+    }
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * SQL 실행 횟수 제한 초과 테스트
+     * FAIL 모드에서 SQL 실행 횟수 제한을 넘는 요청은 초과한 SQL을 실행하지 않고 500 오류로 끝나는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("SQL 실행 횟수 제한 초과 테스트")
+    public void testFailModeAnswersServerError() throws Exception {
+        // 테스트 데이터 준비: the comment lookup runs findById, findSubtreeByPath and the reply batch
+        Long commentId = createThread();
+        MockMvc mockMvc = createMockMvc(2);
+
+        // API 호출 및 검증: the reply batch would be the third statement
+        mockMvc.perform(get("/api/comments/" + commentId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(status().reason(containsString("exceeded its statement budget at statement 3, budget is 2")))
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("desc=\"2 statements\"")));
+    }
+
+    /**
+     * SQL 실행 횟수 제한 이내 테스트
+     * SQL 실행 횟수가 제한 이내인 요청은 정상 응답과 함께 실제 실행 횟수를 Server-Timing 헤더로 반환하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("SQL 실행 횟수 제한 이내 테스트")
+    public void testRequestWithinBudgetSucceeds() throws Exception {
+        // 테스트 데이터 준비
+        Long commentId = createThread();
+        MockMvc mockMvc = createMockMvc(3);
+
+        // API 호출 및 검증
+        mockMvc.perform(get("/api/comments/" + commentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.children.length()").value(1))
+                .andExpect(jsonPath("$.replies.length()").value(1))
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("desc=\"3 statements\"")));
+    }
+
+    private MockMvc createMockMvc(int maxStatements) {
+        MonitoringConfig.StatementBudget budget = new MonitoringConfig.StatementBudget();
+        budget.setMethod("GET");
+        budget.setPattern("/api/comments/*");
+        budget.setMaxStatements(maxStatements);
+
+        MonitoringConfig monitoringConfig = new MonitoringConfig();
+        monitoringConfig.setEnabled(true);
+        monitoringConfig.setBudgetMode(MonitoringConfig.BudgetMode.FAIL);
+        monitoringConfig.getBudgets().add(budget);
+
+        return MockMvcBuilders.standaloneSetup(new CommentController(commentService, null))
+                .addFilters(new ServerTimingFilter(monitoringConfig))
+                .build();
+    }
+
+    // A comment with one nested comment and one reply, created outside any request; returns the comment
+    private Long createThread() throws Exception {
+        Long commentId = commentService.createComment(comment(null));
+        commentService.createNestedComment(comment(commentId));
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO reply (comment_id, content, writer) VALUES (" + commentId + ", 'reply', 'writer')");
+        }
+        return commentId;
+    }
+
+    private static Comment comment(Long parentCommentId) {
+        return Comment.builder().boardId(1L).parentCommentId(parentCommentId).content("content").writer("writer").build();
+    }
+}
@@ -0,0 +1,154 @@
+package org.zerock.board.repository;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.board.config.BulkWriteConfig;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.model.Card;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 일괄 쓰기 테스트 클래스
+ * 배치 크기 경계(정확히 N건, N+1건, 0건), MariaDB 모드의 생성 키 반환, 바깥 Spring 트랜잭션과의 커밋·롤백을 테스트합니다.
+ * 스키마는 애플리케이션의 MariaDB 마이그레이션으로 MariaDB 모드의 H2 인메모리 DB에 생성합니다.
+ */
+public class BulkWriterTest {
+
+    private static final String DATABASE_ID = "mariadb";
+    private static final int BATCH_SIZE = 3;
+    private static final long LAYOUT_ID = 1L;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private BulkWriter bulkWriter;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+        Configuration config = new Configuration();
+        config.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(config);
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+
+        BulkWriteConfig bulkWriteConfig = new BulkWriteConfig();
+        bulkWriteConfig.setBatchSize(BATCH_SIZE);
+        bulkWriter = new BulkWriter(sqlSessionFactory, bulkWriteConfig);
+
+        // JdbcTemplate and the batch session both join the transaction's connection
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.update("INSERT INTO screen_layout (layout_id, name) VALUES (?, 'layout')", LAYOUT_ID);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    /**
+     * 배치 크기 경계 테스트
+     * 배치 크기와 같은 건수, 하나 더 많은 건수, 0건에서 모든 행이 한 번씩 쓰이는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("배치 크기 경계 테스트")
+    public void testBatchBoundaries() {
+        // API 호출 및 검증: exactly one batch
+        assertArrayEquals(new int[]{1, 1, 1}, bulkWriter.write(CardRepository.class, CardRepository::insert, cards(BATCH_SIZE)));
+        assertEquals(BATCH_SIZE, countCards());
+
+        // One full batch and a batch of one
+        assertArrayEquals(new int[]{1, 1, 1, 1}, bulkWriter.write(CardRepository.class, CardRepository::insert, cards(BATCH_SIZE + 1)));
+        assertEquals(2 * BATCH_SIZE + 1, countCards());
+
+        // Nothing to write
+        assertArrayEquals(new int[0], bulkWriter.write(CardRepository.class, CardRepository::insert, List.of()));
+        assertEquals(2 * BATCH_SIZE + 1, countCards());
+    }
+
+    /**
+     * 생성 키 반환 테스트
+     * 여러 배치에 걸친 INSERT 후 모든 행에 AUTO_INCREMENT 키가 설정되고 저장된 행과 일치하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("생성 키 반환 테스트")
+    public void testInsertedRowsCarryGeneratedKeys() {
+        // 테스트 데이터 준비
+        List<Card> cards = cards(2 * BATCH_SIZE + 1);
+
+        // API 호출 및 검증
+        bulkWriter.write(CardRepository.class, CardRepository::insert, cards);
+
+        Set<Long> ids = new HashSet<>();
+        for (Card card : cards) {
+            assertNotNull(card.getCardId(), card.getTitle() + " has no id");
+            ids.add(card.getCardId());
+            assertEquals(card.getTitle(), jdbcTemplate.queryForObject(
+                    "SELECT title FROM card WHERE card_id = ?", String.class, card.getCardId()));
+        }
+        assertEquals(cards.size(), ids.size());
+    }
+
+    /**
+     * 트랜잭션 참여 테스트
+     * 바깥 트랜잭션 안의 일괄 쓰기가 같은 트랜잭션에서 보이고, 롤백되면 함께 취소되며 커밋되면 남는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("트랜잭션 참여 테스트")
+    public void testJoinsSurroundingTransaction() {
+        // API 호출 및 검증: rolled back with the transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            bulkWriter.write(CardRepository.class, CardRepository::insert, cards(BATCH_SIZE + 1));
+            assertEquals(BATCH_SIZE + 1, countCards());
+            status.setRollbackOnly();
+        });
+        assertEquals(0, countCards());
+
+        // Committed with the transaction
+        transactionTemplate.executeWithoutResult(status ->
+                bulkWriter.write(CardRepository.class, CardRepository::insert, cards(BATCH_SIZE + 1)));
+        assertEquals(BATCH_SIZE + 1, countCards());
+    }
+
+    private int countCards() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card", Integer.class);
+    }
+
+    private static List<Card> cards(int count) {
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.builder().layoutId(LAYOUT_ID).position("LEFT_1").title("card " + i)
+                    .horizontalCollapse(false).verticalCollapse(false).titleOnly(false).expanded(false).build());
+        }
+        return cards;
+    }
+}
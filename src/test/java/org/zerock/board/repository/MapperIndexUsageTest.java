@@ -0,0 +1,281 @@
+package org.zerock.board.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.service.CommentPaths;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 매퍼 인덱스 사용 테스트 클래스
+ * 모든 매퍼 문장의 실행 계획(EXPLAIN)이 전체 테이블 스캔 없이 인덱스를 사용하는지 테스트합니다.
+ * 스키마는 애플리케이션의 MariaDB 마이그레이션으로 MariaDB 모드의 H2 인메모리 DB에 생성합니다.
+ */
+public class MapperIndexUsageTest {
+
+    private static final String DATABASE_ID = "mariadb";
+
+    // Statements that read every row by design (unfiltered lists and counts), or that H2 cannot parse
+    private static final Map<String, String> EXEMPT = Map.of(
+            "BoardRepository.findAll", "lists all boards",
+            "BoardRepository.findAllWithPaging", "pages over all boards",
+            "BoardRepository.count", "counts all boards",
+            "BoardRepository.findMostViewedIds", "runs once per start (warmup); view_count is too hot to index",
+            "ScreenLayoutRepository.findAll", "lists all layouts",
+            "ScreenLayoutRepository.findAllDetails", "lists all layouts",
+            "CommentRepository.deleteDescendants", "DELETE ... ORDER BY is MariaDB only; same WHERE as findDescendantIds");
+
+    // Table access in an H2 plan: /* schema.index: condition */ or /* schema.table.tableScan */;
+    // plans of derived tables are nested as /++ ... ++/
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/(?:\\*|\\+\\+) ([\\w\"]+\\.[\\w.\"]+)(:.*?)? (?:\\*|\\+\\+)/", Pattern.DOTALL);
+
+    private static DriverManagerDataSource dataSource;
+    private static Configuration configuration;
+
+    @BeforeAll
+    public static void setup() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:index-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        // Blocking and online migrations, as a fully migrated node has them
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+        Configuration config = new Configuration();
+        config.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(config);
+        SqlSessionFactory sqlSessionFactory = factoryBean.getObject();
+        configuration = sqlSessionFactory.getConfiguration();
+    }
+
+    @AfterAll
+    public static void shutdown() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * 매퍼 문장 인덱스 사용 테스트
+     * 조회, 수정, 삭제 문장과 INSERT ... SELECT 문장의 실행 계획에 전체 스캔이 없는지 테스트합니다.
+     */
+    @TestFactory
+    @DisplayName("매퍼 문장 인덱스 사용 테스트")
+    public Stream<DynamicTest> testStatementsUseIndexes() throws Exception {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Class<?> repository : repositories()) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String id = repository.getName() + "." + method.getName();
+                if (!configuration.hasStatement(id, false)) {
+                    continue;
+                }
+                MappedStatement statement = configuration.getMappedStatement(id, false);
+                if (!readsRows(statement, method)) {
+                    continue;
+                }
+
+                String name = repository.getSimpleName() + "." + method.getName();
+                tests.add(DynamicTest.dynamicTest(name, () -> {
+                    // 테스트 데이터 준비
+                    Object parameter = new ParamNameResolver(configuration, method).getNamedParams(sampleArguments(method));
+                    String sql = render(statement, parameter);
+
+                    // 실행 계획 조회 및 검증
+                    for (String part : sql.split(";")) {
+                        if (part.isBlank()) {
+                            continue;
+                        }
+                        String plan = explain(part);
+                        assertFalse(plan.isEmpty(), "No plan for " + name);
+                        if (!EXEMPT.containsKey(name)) {
+                            List<String> scans = scans(plan);
+                            assertTrue(scans.isEmpty(), name + " scans " + scans + " without an index condition:\n" + plan);
+                        }
+                    }
+                }));
+            }
+        }
+        assertFalse(tests.isEmpty(), "No mapper statements found");
+        return tests.stream();
+    }
+
+    // Mapper interfaces of this package
+    private static List<Class<?>> repositories() throws Exception {
+        List<Class<?>> repositories = new ArrayList<>();
+        for (var resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:org/zerock/board/repository/*.class")) {
+            String className = "org.zerock.board.repository." + resource.getFilename().replace(".class", "");
+            Class<?> type = Class.forName(className);
+            if (type.isInterface() && type.isAnnotationPresent(Mapper.class)) {
+                repositories.add(type);
+            }
+        }
+        return repositories;
+    }
+
+    // Everything but plain INSERT ... VALUES touches existing rows
+    private static boolean readsRows(MappedStatement statement, Method method) throws Exception {
+        if (statement.getSqlCommandType() != SqlCommandType.INSERT) {
+            return true;
+        }
+        String sql = render(statement, new ParamNameResolver(configuration, method).getNamedParams(sampleArguments(method)));
+        return sql.toUpperCase().contains("SELECT");
+    }
+
+    // Bound SQL with the parameters inlined as literals, so H2 folds LIKE patterns into index ranges
+    private static String render(MappedStatement statement, Object parameter) {
+        BoundSql boundSql = statement.getBoundSql(parameter);
+        String sql = boundSql.getSql();
+        StringBuilder rendered = new StringBuilder(sql.length() + 64);
+        int mapping = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                rendered.append(literal(value(boundSql, boundSql.getParameterMappings().get(mapping++), parameter)));
+            } else {
+                rendered.append(c);
+            }
+        }
+        return rendered.toString();
+    }
+
+    // Same lookup order as MyBatis' DefaultParameterHandler
+    private static Object value(BoundSql boundSql, ParameterMapping mapping, Object parameter) {
+        String property = mapping.getProperty();
+        if (boundSql.hasAdditionalParameter(property)) {
+            return boundSql.getAdditionalParameter(property);
+        }
+        if (parameter == null) {
+            return null;
+        }
+        if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+            return parameter;
+        }
+        MetaObject metaObject = configuration.newMetaObject(parameter);
+        return metaObject.getValue(property);
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP '" + dateTime.withNano(0).toString().replace('T', ' ') + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    private static String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql.trim())) {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+            return plan.toString();
+        }
+    }
+
+    // Table accesses of the plan that are full scans or index scans without a condition
+    private static List<String> scans(String plan) {
+        List<String> scans = new ArrayList<>();
+        Matcher matcher = TABLE_ACCESS.matcher(plan);
+        while (matcher.find()) {
+            if (matcher.group(1).endsWith(".tableScan") || matcher.group(2) == null) {
+                scans.add(matcher.group(1));
+            }
+        }
+        return scans;
+    }
+
+    private static Object[] sampleArguments(Method method) throws Exception {
+        Object[] arguments = new Object[method.getParameterCount()];
+        for (int i = 0; i < arguments.length; i++) {
+            Param param = method.getParameters()[i].getAnnotation(Param.class);
+            String name = param != null ? param.value() : method.getParameters()[i].getName();
+            arguments[i] = sample(method.getParameterTypes()[i], method.getGenericParameterTypes()[i], name);
+        }
+        return arguments;
+    }
+
+    // Ids of 1, a one-segment comment path, small counts; model objects get every field set
+    private static Object sample(Class<?> type, Type genericType, String name) throws Exception {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 10;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == String.class) {
+            // DELETE, so the reply tombstone branches of the change log inserts are rendered too
+            return "changeType".equals(name) ? "DELETE" : CommentPaths.childPath(null, 1L);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (List.class.isAssignableFrom(type)) {
+            Type elementType = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            Class<?> elementClass = (Class<?>) elementType;
+            return List.of(sample(elementClass, elementClass, name), sample(elementClass, elementClass, name));
+        }
+
+        Object model = type.getDeclaredConstructor().newInstance();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || List.class.isAssignableFrom(field.getType())) {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(model, "position".equals(field.getName()) ? "LEFT_1" : sample(field.getType(), field.getGenericType(), field.getName()));
+        }
+        return model;
+    }
+}
@@ -0,0 +1,149 @@
+package org.zerock.board.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.board.config.IdAllocationConfig;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 시퀀스 ID 할당 테스트 클래스
+ * 여러 스레드에서 받은 ID의 중복과 블록 내 누락이 없는지, 백그라운드 보충이 실패하면 동기 조회로 대체하는지 테스트합니다.
+ * 블록 조회(NEXTVAL ... CONNECT BY)는 Oracle 시퀀스처럼 연속 값을 돌려주는 스텁으로 대체합니다.
+ */
+public class SequenceIdAllocatorTest {
+
+    private static final String SEQUENCE = "board_seq";
+
+    /**
+     * 동시 할당 테스트
+     * 여러 스레드가 받은 ID가 모두 다르고, 사용된 블록의 값이 빠짐없이 할당되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("동시 할당 테스트")
+    public void testConcurrentIdsAreUniqueWithoutGapsInBlocks() throws Exception {
+        // 테스트 데이터 준비
+        int blockSize = 50;
+        int threads = 16;
+        int idsPerThread = 1000;
+        StubSequence stub = new StubSequence();
+        SequenceIdAllocator allocator = new SequenceIdAllocator(stub, config(blockSize, 10));
+
+        // API 호출 및 검증
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = allocator.next(SEQUENCE);
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> handedOut = new HashSet<>();
+        for (Future<long[]> result : results) {
+            for (long id : result.get(30, TimeUnit.SECONDS)) {
+                assertTrue(handedOut.add(id), "id " + id + " handed out twice");
+            }
+        }
+        executor.shutdown();
+        assertEquals(threads * idsPerThread, handedOut.size());
+
+        // A value may only be missing together with its whole block (prefetched, never used)
+        long max = handedOut.stream().mapToLong(Long::longValue).max().orElseThrow();
+        for (long id = 1; id <= max; id++) {
+            if (!handedOut.contains(id)) {
+                long blockStart = (id - 1) / blockSize * blockSize + 1;
+                assertFalse(LongStream.range(blockStart, blockStart + blockSize).anyMatch(v -> handedOut.contains(v)),
+                        "id " + id + " skipped inside a used block");
+            }
+        }
+    }
+
+    /**
+     * 백그라운드 보충 실패 테스트
+     * 백그라운드 보충이 실패하면 블록이 소진될 때 호출 스레드가 다음 블록을 동기 조회하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("백그라운드 보충 실패 테스트")
+    public void testFallsBackToSynchronousFetchAfterFailedRefill() throws Exception {
+        // 테스트 데이터 준비: blocks of 5, the refill starts with 2 values left
+        StubSequence stub = new StubSequence();
+        SequenceIdAllocator allocator = new SequenceIdAllocator(stub, config(5, 2));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(allocator.next(SEQUENCE));
+        }
+
+        // API 호출 및 검증: the fourth id triggers the refill, which fails
+        stub.failures.set(1);
+        ids.add(allocator.next(SEQUENCE));
+        assertTrue(stub.failed.await(5, TimeUnit.SECONDS));
+
+        ids.add(allocator.next(SEQUENCE));
+        ids.add(allocator.next(SEQUENCE));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), ids);
+
+        // Block 1 and block 2 were both fetched by the caller
+        assertEquals(2, stub.fetchThreads.size());
+        assertEquals(Thread.currentThread(), stub.fetchThreads.get(0));
+        assertEquals(Thread.currentThread(), stub.fetchThreads.get(1));
+    }
+
+    private static IdAllocationConfig config(int blockSize, int refillThreshold) {
+        IdAllocationConfig config = new IdAllocationConfig();
+        config.setBlockSize(blockSize);
+        config.setRefillThreshold(refillThreshold);
+        return config;
+    }
+
+    // Answers the block query like an Oracle sequence with a cache of blockSize: the next blockSize values,
+    // not necessarily in order
+    private static final class StubSequence extends JdbcTemplate {
+
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicInteger failures = new AtomicInteger();
+        final CountDownLatch failed = new CountDownLatch(1);
+        final List<Thread> fetchThreads = new CopyOnWriteArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                failed.countDown();
+                throw new DataAccessResourceFailureException("connection refused");
+            }
+            fetchThreads.add(Thread.currentThread());
+            int blockSize = (Integer) args[0];
+            long first = sequence.getAndAdd(blockSize) + 1;
+            List<Long> values = new ArrayList<>();
+            for (long value = first + blockSize - 1; value >= first; value--) {
+                values.add(value);
+            }
+            return (List<T>) values;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.zerock.board.repository;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.zerock.board.model.Board;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시퀀스 키 인터셉터 테스트 클래스
+ * Oracle INSERT에만 미리 받은 시퀀스 값으로 ID를 설정하고, 이미 설정된 ID는 유지하는지 테스트합니다.
+ */
+public class SequenceKeyInterceptorTest {
+
+    private SequenceIdAllocator sequenceIdAllocator;
+    private SequenceKeyInterceptor interceptor;
+    private Executor executor;
+
+    @BeforeEach
+    public void setup() {
+        sequenceIdAllocator = mock(SequenceIdAllocator.class);
+        when(sequenceIdAllocator.next("board_seq")).thenReturn(42L);
+        interceptor = new SequenceKeyInterceptor(sequenceIdAllocator);
+        executor = mock(Executor.class);
+    }
+
+    /**
+     * Oracle INSERT ID 설정 테스트
+     * ID가 없는 엔티티의 Oracle INSERT에 시퀀스 값이 설정되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("Oracle INSERT ID 설정 테스트")
+    public void testSetsIdOfOracleInsert() throws Throwable {
+        // 테스트 데이터 준비
+        Board board = Board.builder().title("title").build();
+
+        // API 호출 및 검증
+        intercept("oracle", SqlCommandType.INSERT, board);
+        assertEquals(42L, board.getBoardId());
+        verify(executor).update(any(), eq(board));
+    }
+
+    /**
+     * 기존 ID 유지 테스트
+     * 이미 ID가 설정된 엔티티는 시퀀스 값을 받지 않고 그대로 INSERT하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("기존 ID 유지 테스트")
+    public void testKeepsPresetId() throws Throwable {
+        // 테스트 데이터 준비
+        Board board = Board.builder().boardId(7L).title("title").build();
+
+        // API 호출 및 검증
+        intercept("oracle", SqlCommandType.INSERT, board);
+        assertEquals(7L, board.getBoardId());
+        verify(sequenceIdAllocator, never()).next(anyString());
+    }
+
+    /**
+     * Oracle INSERT 외 문장 테스트
+     * MariaDB INSERT와 Oracle UPDATE에는 ID를 설정하지 않는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("Oracle INSERT 외 문장 테스트")
+    public void testLeavesOtherStatementsUntouched() throws Throwable {
+        // 테스트 데이터 준비
+        Board mariadbInsert = Board.builder().title("title").build();
+        Board oracleUpdate = Board.builder().title("title").build();
+
+        // API 호출 및 검증
+        intercept("mariadb", SqlCommandType.INSERT, mariadbInsert);
+        intercept("oracle", SqlCommandType.UPDATE, oracleUpdate);
+        assertNull(mariadbInsert.getBoardId());
+        assertNull(oracleUpdate.getBoardId());
+        verify(sequenceIdAllocator, never()).next(anyString());
+    }
+
+    // Run the interceptor on Executor.update of a statement with keyProperty boardId
+    private void intercept(String databaseId, SqlCommandType commandType, Object parameter) throws Throwable {
+        Configuration configuration = new Configuration();
+        configuration.setDatabaseId(databaseId);
+        MappedStatement statement = new MappedStatement.Builder(configuration, "BoardRepository.save",
+                new StaticSqlSource(configuration, "INSERT INTO board (board_id, title) VALUES (?, ?)"), commandType)
+                .keyProperty("boardId")
+                .build();
+        interceptor.intercept(new Invocation(executor,
+                Executor.class.getMethod("update", MappedStatement.class, Object.class),
+                new Object[]{statement, parameter}));
+    }
+}
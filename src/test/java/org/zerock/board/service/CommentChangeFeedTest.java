@@ -0,0 +1,261 @@
+package org.zerock.board.service;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.zerock.board.config.CommentChangeConfig;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.dto.CommentChangesResponseDTO;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.CommentChange;
+import org.zerock.board.repository.CommentChangeRepository;
+import org.zerock.board.repository.CommentRepository;
+import org.zerock.board.repository.ReplyRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 댓글 변경분 피드 테스트 클래스
+ * change_id가 커밋 순서와 다르게 보이는 경우에도 변경분이 누락되지 않는지, 하위 트리 삭제의 답글 tombstone과
+ * 보관 기간이 지난 변경분의 삭제를 테스트합니다.
+ * 스키마는 애플리케이션의 MariaDB 마이그레이션으로 MariaDB 모드의 H2 인메모리 DB에 생성합니다.
+ */
+public class CommentChangeFeedTest {
+
+    private static final String DATABASE_ID = "mariadb";
+    private static final long BOARD_ID = 1L;
+
+    private DriverManagerDataSource dataSource;
+    private CommentChangeRepository commentChangeRepository;
+    private CommentServiceImpl commentService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:changes-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+        Configuration config = new Configuration();
+        config.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(config);
+        SqlSessionTemplate session = new SqlSessionTemplate(factoryBean.getObject());
+
+        commentChangeRepository = session.getMapper(CommentChangeRepository.class);
+        commentService = new CommentServiceImpl(
+                session.getMapper(CommentRepository.class),
+                session.getMapper(ReplyRepository.class),
+                null,
+                commentChangeRepository,
+                null,
+                event -> { });
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO board (board_id, title, content, writer) VALUES (1, 'title', 'content', 'writer')");
+        }
+    }
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * 순서가 뒤바뀐 커밋 변경분 조회 테스트
+     * 먼저 발급된 change_id가 나중에 커밋되어도 다음 폴링에서 반환되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("순서가 뒤바뀐 커밋 변경분 조회 테스트")
+    public void testChangesCommittedOutOfOrder() throws Exception {
+        // 테스트 데이터 준비
+        long token = commentService.getCommentChanges(BOARD_ID, null).getToken();
+        try (Connection slow = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            long first = insertChange(slow, 11L);    // id N, still uncommitted
+            long second;
+            try (Connection fast = dataSource.getConnection()) {
+                second = insertChange(fast, 12L);    // id N+1, committed first
+            }
+
+            // API 호출 및 검증: N+1 is returned, but the token does not pass the unsettled N
+            CommentChangesResponseDTO beforeCommit = commentService.getCommentChanges(BOARD_ID, token);
+            assertEquals(List.of(12L), deletedIds(beforeCommit));
+            assertEquals(token, beforeCommit.getToken());
+
+            slow.commit();
+
+            // API 호출 및 검증: the next poll returns N, and N+1 again
+            CommentChangesResponseDTO afterCommit = commentService.getCommentChanges(BOARD_ID, beforeCommit.getToken());
+            assertEquals(List.of(11L, 12L), deletedIds(afterCommit));
+            assertEquals(token, afterCommit.getToken());
+
+            // Once the changes are older than the settle window, the token moves past them
+            age(CommentServiceImpl.CHANGE_SETTLE_SECONDS * 2);
+            CommentChangesResponseDTO settled = commentService.getCommentChanges(BOARD_ID, afterCommit.getToken());
+            assertEquals(List.of(11L, 12L), deletedIds(settled));
+            assertEquals(Math.max(first, second), settled.getToken());
+            assertEquals(List.of(), deletedIds(commentService.getCommentChanges(BOARD_ID, settled.getToken())));
+        }
+    }
+
+    /**
+     * 초기 토큰 조회 테스트
+     * since 없이 조회하면 정착된 변경분까지만 토큰으로 반환하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("초기 토큰 조회 테스트")
+    public void testInitialTokenTrailsUnsettledChanges() throws Exception {
+        // 테스트 데이터 준비
+        long settledId;
+        try (Connection connection = dataSource.getConnection()) {
+            settledId = insertChange(connection, 21L);
+            age(CommentServiceImpl.CHANGE_SETTLE_SECONDS * 2);
+            insertChange(connection, 22L);
+        }
+
+        // API 호출 및 검증
+        CommentChangesResponseDTO initial = commentService.getCommentChanges(BOARD_ID, null);
+        assertEquals(settledId, initial.getToken());
+        assertEquals(List.of(22L), deletedIds(commentService.getCommentChanges(BOARD_ID, initial.getToken())));
+    }
+
+    /**
+     * 하위 트리 삭제 답글 tombstone 테스트
+     * 댓글 하위 트리를 삭제하면 함께 삭제된 답글의 tombstone도 기록되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("하위 트리 삭제 답글 tombstone 테스트")
+    public void testSubtreeDeleteRecordsReplyTombstones() throws Exception {
+        // 테스트 데이터 준비: a root with a child, each with a reply, and a reply on an unrelated comment
+        Long root = commentService.createComment(comment(null));
+        Long child = commentService.createNestedComment(comment(root));
+        Long other = commentService.createComment(comment(null));
+        long rootReply = insertReply(root);
+        long childReply = insertReply(child);
+        insertReply(other);
+
+        // API 호출 및 검증
+        commentService.deleteComment(root);
+        CommentChangesResponseDTO changes = commentService.getCommentChanges(BOARD_ID, 0L);
+        assertEquals(List.of(root, child), deletedIds(changes, CommentChange.ENTITY_COMMENT));
+        assertEquals(List.of(rootReply, childReply), deletedIds(changes, CommentChange.ENTITY_REPLY));
+    }
+
+    /**
+     * 변경분 보관 기간 테스트
+     * 보관 기간이 지난 변경분이 게시글별 가장 최근 것만 남기고 삭제되고, 삭제된 토큰은 만료로 응답하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("변경분 보관 기간 테스트")
+    public void testPrunesChangesOlderThanRetention() throws Exception {
+        // 테스트 데이터 준비: three changes from eight days ago and a recent one
+        long first;
+        long newestOld;
+        long recent;
+        try (Connection connection = dataSource.getConnection()) {
+            first = insertChange(connection, 31L);
+            insertChange(connection, 32L);
+            newestOld = insertChange(connection, 33L);
+            age(8 * 24 * 60 * 60);
+            recent = insertChange(connection, 34L);
+        }
+        CommentChangeConfig config = new CommentChangeConfig();
+        config.setRetentionDays(7);
+        config.setPruneBatchSize(1);
+        CommentChangePruner pruner = new CommentChangePruner(commentChangeRepository, config, DATABASE_ID);
+
+        // API 호출 및 검증
+        try {
+            assertEquals(2, pruner.prune());
+            assertEquals(0, pruner.prune());
+        } finally {
+            pruner.shutdown();
+        }
+
+        CommentChangesResponseDTO expired = commentService.getCommentChanges(BOARD_ID, first);
+        assertTrue(expired.isExpired());
+        assertEquals(List.of(), deletedIds(expired));
+
+        // A client at the newest old change (a quiet board) keeps polling
+        CommentChangesResponseDTO current = commentService.getCommentChanges(BOARD_ID, newestOld);
+        assertFalse(current.isExpired());
+        assertEquals(List.of(34L), deletedIds(current));
+        assertEquals(recent, current.getDeleted().getFirst().getChangeId());
+    }
+
+    // Tombstones need no comment rows, so the feed can be exercised on comment_change alone
+    private long insertChange(Connection connection, long entityId) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO comment_change (board_id, entity_type, entity_id, change_type) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            statement.setLong(1, BOARD_ID);
+            statement.setString(2, CommentChange.ENTITY_COMMENT);
+            statement.setLong(3, entityId);
+            statement.setString(4, CommentChange.DELETE);
+            statement.executeUpdate();
+            try (var keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private void age(int seconds) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE comment_change SET created_date = TIMESTAMPADD(SECOND, -" + seconds + ", created_date)");
+        }
+    }
+
+    private long insertReply(Long commentId) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO reply (comment_id, content, writer) VALUES (?, 'reply', 'writer')",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setLong(1, commentId);
+            statement.executeUpdate();
+            try (var keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private static Comment comment(Long parentCommentId) {
+        return Comment.builder().boardId(BOARD_ID).parentCommentId(parentCommentId).content("content").writer("writer").build();
+    }
+
+    private static List<Long> deletedIds(CommentChangesResponseDTO changes) {
+        return changes.getDeleted().stream().map(CommentChange::getEntityId).sorted().toList();
+    }
+
+    private static List<Long> deletedIds(CommentChangesResponseDTO changes, String entityType) {
+        return changes.getDeleted().stream()
+                .filter(change -> entityType.equals(change.getEntityType()))
+                .map(CommentChange::getEntityId).sorted().toList();
+    }
+}
@@ -0,0 +1,160 @@
+package org.zerock.board.service;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.zerock.board.config.MigrationConfig;
+import org.zerock.board.migration.SchemaMigrator;
+import org.zerock.board.model.Comment;
+import org.zerock.board.repository.CommentChangeRepository;
+import org.zerock.board.repository.CommentRepository;
+import org.zerock.board.repository.ReplyRepository;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 댓글 이동 테스트 클래스
+ * 하위 트리 이동 시 경로와 깊이 갱신, 최대 깊이 초과와 순환 이동의 거절을 테스트합니다.
+ * 스키마는 애플리케이션의 MariaDB 마이그레이션으로 MariaDB 모드의 H2 인메모리 DB에 생성합니다.
+ */
+public class CommentMoveTest {
+
+    private static final String DATABASE_ID = "mariadb";
+    private static final long BOARD_ID = 1L;
+
+    private DriverManagerDataSource dataSource;
+    private CommentRepository commentRepository;
+    private CommentServiceImpl commentService;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:move-" + UUID.randomUUID() + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        SchemaMigrator migrator = new SchemaMigrator(new MigrationConfig());
+        migrator.applyPending(dataSource, DATABASE_ID, migrator.migrate(dataSource, DATABASE_ID));
+
+        SqlSessionFactoryBean factoryBean = new SqlSessionFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mappers/**/*.xml"));
+        factoryBean.setTypeAliasesPackage("org.zerock.board.model");
+        factoryBean.setDatabaseIdProvider(ds -> DATABASE_ID);
+        Configuration config = new Configuration();
+        config.setMapUnderscoreToCamelCase(true);
+        factoryBean.setConfiguration(config);
+        SqlSessionTemplate session = new SqlSessionTemplate(factoryBean.getObject());
+
+        commentRepository = session.getMapper(CommentRepository.class);
+        commentService = new CommentServiceImpl(
+                commentRepository,
+                session.getMapper(ReplyRepository.class),
+                null,
+                session.getMapper(CommentChangeRepository.class),
+                null,
+                event -> { });
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO board (board_id, title, content, writer) VALUES (1, 'title', 'content', 'writer')");
+        }
+    }
+
+    @AfterEach
+    public void shutdown() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    /**
+     * 하위 트리 이동 테스트
+     * 이동한 댓글과 모든 하위 댓글의 경로와 깊이가 새 부모 기준으로 바뀌는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("하위 트리 이동 테스트")
+    public void testMoveRewritesSubtree() {
+        // 테스트 데이터 준비
+        Long target = commentService.createComment(comment(null));
+        Long moved = createChain(null, 3);
+        Long deepest = deepestOf(moved);
+
+        // API 호출 및 검증
+        commentService.moveComment(moved, target);
+        Comment movedRoot = commentRepository.findById(moved).orElseThrow();
+        assertEquals(1, movedRoot.getDepth());
+        assertEquals(CommentPaths.childPath(CommentPaths.childPath(null, target), moved), movedRoot.getPath());
+        assertEquals(3, commentRepository.findById(deepest).orElseThrow().getDepth());
+    }
+
+    /**
+     * 최대 깊이 초과 이동 테스트
+     * 이동 후 하위 트리의 가장 깊은 댓글이 최대 깊이를 넘으면 이동을 거절하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("최대 깊이 초과 이동 테스트")
+    public void testRejectsMoveBeyondMaxDepth() {
+        // 테스트 데이터 준비: a parent at depth 59 and a subtree 41 levels deep
+        Long deepParent = deepestOf(createChain(null, 60));
+        Long subtree = createChain(null, 41);
+
+        // API 호출 및 검증: 60 + 40 would put the deepest comment at depth 100
+        assertThrows(IllegalArgumentException.class, () -> commentService.moveComment(subtree, deepParent));
+        assertEquals(0, commentRepository.findById(subtree).orElseThrow().getDepth());
+
+        // One level less fits exactly
+        Long shallowerSubtree = createChain(null, 40);
+        commentService.moveComment(shallowerSubtree, deepParent);
+        assertEquals(CommentPaths.MAX_DEPTH - 1, commentRepository.findById(deepestOf(shallowerSubtree)).orElseThrow().getDepth());
+    }
+
+    /**
+     * 순환 이동 거절 테스트
+     * 댓글을 자신이나 자신의 하위 댓글 아래로 이동하면 거절하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("순환 이동 거절 테스트")
+    public void testRejectsMoveBelowOwnDescendant() {
+        // 테스트 데이터 준비
+        Long root = createChain(null, 3);
+        Long descendant = deepestOf(root);
+
+        // API 호출 및 검증
+        assertThrows(IllegalArgumentException.class, () -> commentService.moveComment(root, descendant));
+        assertThrows(IllegalArgumentException.class, () -> commentService.moveComment(root, root));
+    }
+
+    // A chain of the given number of comments below the parent (null for a new top-level chain); returns its first comment
+    private Long createChain(Long parentCommentId, int length) {
+        Long first = null;
+        Long parent = parentCommentId;
+        for (int i = 0; i < length; i++) {
+            parent = parent == null
+                    ? commentService.createComment(comment(null))
+                    : commentService.createNestedComment(comment(parent));
+            if (first == null) {
+                first = parent;
+            }
+        }
+        return first;
+    }
+
+    private Long deepestOf(Long commentId) {
+        Comment root = commentRepository.findById(commentId).orElseThrow();
+        return commentRepository.findSubtreeByPath(root.getPath()).getLast().getCommentId();
+    }
+
+    private static Comment comment(Long parentCommentId) {
+        return Comment.builder().boardId(BOARD_ID).parentCommentId(parentCommentId).content("content").writer("writer").build();
+    }
+}
@@ -0,0 +1,155 @@
+package org.zerock.board.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.CentralMenu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 레이아웃 상태 비트 테스트 클래스
+ * 모든 카드 위치와 중앙 메뉴의 각 플래그가 다른 비트에 영향 없이 인코딩, 디코딩되는지 테스트합니다.
+ */
+public class LayoutStateBitsTest {
+
+    private static final List<BiConsumer<Card, Boolean>> CARD_SETTERS = List.of(
+            Card::setHorizontalCollapse, Card::setVerticalCollapse, Card::setTitleOnly, Card::setExpanded);
+    private static final List<Function<Card, Boolean>> CARD_GETTERS = List.of(
+            Card::getHorizontalCollapse, Card::getVerticalCollapse, Card::getTitleOnly, Card::getExpanded);
+
+    /**
+     * 카드 플래그 왕복 테스트
+     * 각 위치의 각 플래그 하나만 켜서 인코딩한 뒤 디코딩하면 그 플래그만 켜져 있는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("카드 플래그 왕복 테스트")
+    public void testEveryCardFlagRoundTrips() {
+        for (String position : LayoutStateBits.POSITIONS) {
+            for (int flag = 0; flag < CARD_SETTERS.size(); flag++) {
+                // 테스트 데이터 준비
+                Card card = Card.builder().position(position).build();
+                CARD_SETTERS.get(flag).accept(card, true);
+
+                // API 호출 및 검증
+                long bits = LayoutStateBits.applyCard(0L, card);
+                assertTrue(LayoutStateBits.isPresent(bits));
+                for (String decodedPosition : LayoutStateBits.POSITIONS) {
+                    Card decoded = Card.builder().position(decodedPosition).build();
+                    LayoutStateBits.decodeInto(bits, decoded);
+                    for (int decodedFlag = 0; decodedFlag < CARD_GETTERS.size(); decodedFlag++) {
+                        boolean expected = decodedPosition.equals(position) && decodedFlag == flag;
+                        assertEquals(expected, CARD_GETTERS.get(decodedFlag).apply(decoded),
+                                position + " flag " + flag + " decoded at " + decodedPosition + " flag " + decodedFlag);
+                    }
+                }
+                CentralMenu menu = new CentralMenu();
+                LayoutStateBits.decodeInto(bits, menu);
+                assertFalse(menu.getPriority());
+                assertFalse(menu.getExpanded());
+
+                // Clearing the flag again leaves only PRESENT
+                CARD_SETTERS.get(flag).accept(card, false);
+                assertEquals(LayoutStateBits.PRESENT, LayoutStateBits.applyCard(bits, card));
+            }
+        }
+    }
+
+    /**
+     * 중앙 메뉴 플래그 왕복 테스트
+     * 중앙 메뉴의 각 플래그가 카드 비트와 겹치지 않고 왕복되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("중앙 메뉴 플래그 왕복 테스트")
+    public void testCentralMenuFlagsRoundTrip() {
+        // 테스트 데이터 준비
+        long priority = LayoutStateBits.applyCentralMenu(0L, CentralMenu.builder().priority(true).build());
+        long expanded = LayoutStateBits.applyCentralMenu(0L, CentralMenu.builder().expanded(true).build());
+
+        // API 호출 및 검증
+        CentralMenu decoded = new CentralMenu();
+        LayoutStateBits.decodeInto(priority, decoded);
+        assertTrue(decoded.getPriority());
+        assertFalse(decoded.getExpanded());
+
+        LayoutStateBits.decodeInto(expanded, decoded);
+        assertFalse(decoded.getPriority());
+        assertTrue(decoded.getExpanded());
+
+        for (long bits : new long[]{priority, expanded}) {
+            for (String position : LayoutStateBits.POSITIONS) {
+                Card card = Card.builder().position(position).build();
+                LayoutStateBits.decodeInto(bits, card);
+                for (Function<Card, Boolean> getter : CARD_GETTERS) {
+                    assertFalse(getter.apply(card));
+                }
+            }
+        }
+    }
+
+    /**
+     * 전체 상태 인코딩 테스트
+     * 모든 플래그를 켠 레이아웃이 그대로 복원되고, null 필드는 기존 비트를 유지하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("전체 상태 인코딩 테스트")
+    public void testEncodeAllFlagsAndKeepNullFields() {
+        // 테스트 데이터 준비
+        List<Card> cards = new ArrayList<>();
+        for (String position : LayoutStateBits.POSITIONS) {
+            cards.add(Card.builder().position(position)
+                    .horizontalCollapse(true).verticalCollapse(true).titleOnly(true).expanded(true).build());
+        }
+        long bits = LayoutStateBits.encode(cards, CentralMenu.builder().priority(true).expanded(true).build());
+
+        // API 호출 및 검증: 16 card bits, 2 menu bits and PRESENT
+        assertEquals(LayoutStateBits.PRESENT | ((1L << 18) - 1), bits);
+        assertEquals(bits, LayoutStateBits.applyCard(bits, Card.builder().position("LEFT_1").build()));
+        assertEquals(bits, LayoutStateBits.applyCentralMenu(bits, new CentralMenu()));
+        assertEquals(LayoutStateBits.PRESENT, LayoutStateBits.encode(null, null));
+    }
+
+    /**
+     * 변경 비트 마스크 병합 테스트
+     * 마스크로 변경한 플래그만 저장된 상태에 병합하면 다른 노드가 바꾼 플래그가 유지되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("변경 비트 마스크 병합 테스트")
+    public void testMaskedChangeKeepsOtherFlags() {
+        // 테스트 데이터 준비: this node's cached state is stale, another node expanded RIGHT_2 meanwhile
+        long cached = LayoutStateBits.PRESENT;
+        long stored = LayoutStateBits.applyCard(cached, Card.builder().position("RIGHT_2").expanded(true).build());
+        Card change = Card.builder().position("LEFT_1").titleOnly(true).build();
+
+        // API 호출 및 검증: the merge the upsert does in SQL, (state & ~mask) | (updated & mask)
+        long mask = LayoutStateBits.cardMask(change);
+        long updated = LayoutStateBits.applyCard(cached, change);
+        long merged = (stored & ~mask) | (updated & mask);
+        assertEquals(LayoutStateBits.applyCard(stored, change), merged);
+
+        assertEquals(LayoutStateBits.PRESENT, LayoutStateBits.cardMask(Card.builder().position("LEFT_2").build()));
+        assertEquals(LayoutStateBits.PRESENT | (1L << 17),
+                LayoutStateBits.centralMenuMask(CentralMenu.builder().expanded(false).build()));
+    }
+
+    /**
+     * 알 수 없는 위치 테스트
+     * 정의되지 않은 카드 위치는 거부하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("알 수 없는 위치 테스트")
+    public void testRejectsUnknownPosition() {
+        // API 호출 및 검증
+        assertFalse(LayoutStateBits.isKnownPosition("CENTER"));
+        assertThrows(IllegalArgumentException.class,
+                () -> LayoutStateBits.applyCard(0L, Card.builder().position("CENTER").expanded(true).build()));
+    }
+}
@@ -0,0 +1,123 @@
+package org.zerock.board.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.zerock.board.config.DatabaseConfig;
+import org.zerock.board.model.Comment;
+import org.zerock.board.model.Reply;
+import org.zerock.board.repository.ReplyRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 답글 일괄 조회 테스트 클래스
+ * 댓글 ID를 DB별 IN 목록 크기로 나누어 조회하고, 조회한 답글을 각 댓글에 정확히 나누어 붙이는지 테스트합니다.
+ */
+public class ReplyBatchLoaderTest {
+
+    // More comments than one chunk on either database
+    private static final int COMMENT_COUNT = 2500;
+
+    private ReplyBatchLoader replyBatchLoader;
+    private List<Integer> chunkSizes;
+
+    @BeforeEach
+    public void setup() {
+        ReplyRepository replyRepository = mock(ReplyRepository.class);
+        chunkSizes = new ArrayList<>();
+
+        // Mock 서비스 동작 설정: comment k has k % 3 replies, returned interleaved across comments
+        when(replyRepository.findByCommentIds(anyList())).thenAnswer(invocation -> {
+            List<Long> commentIds = invocation.getArgument(0);
+            chunkSizes.add(commentIds.size());
+            List<Reply> replies = new ArrayList<>();
+            for (int index = 0; index < 2; index++) {
+                for (Long commentId : commentIds) {
+                    if (index < commentId % 3) {
+                        replies.add(Reply.builder().replyId(replyId(commentId, index)).commentId(commentId).build());
+                    }
+                }
+            }
+            return replies;
+        });
+        replyBatchLoader = new ReplyBatchLoader(replyRepository);
+    }
+
+    @AfterEach
+    public void resetDatabase() {
+        DatabaseConfig.setCurrentDatabase(DatabaseConfig.DatabaseType.MARIADB);
+    }
+
+    /**
+     * MariaDB 분할 조회 테스트
+     * MariaDB에서는 2000개씩 나누어 조회하고 각 댓글이 자신의 답글만 받는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("MariaDB 분할 조회 테스트")
+    public void testChunksAndRegroupsOnMariaDb() {
+        // 테스트 데이터 준비
+        List<Comment> comments = comments();
+
+        // API 호출 및 검증
+        replyBatchLoader.loadInto(comments);
+
+        assertEquals(List.of(ReplyBatchLoader.MARIADB_CHUNK_SIZE, COMMENT_COUNT - ReplyBatchLoader.MARIADB_CHUNK_SIZE), chunkSizes);
+        assertOwnReplies(comments);
+    }
+
+    /**
+     * Oracle 분할 조회 테스트
+     * Oracle에서는 IN 목록 제한에 맞춰 1000개씩 나누어 조회하고, 중복된 댓글 ID는 한 번만 조회하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("Oracle 분할 조회 테스트")
+    public void testChunksAndRegroupsOnOracle() {
+        // 테스트 데이터 준비: the same comment appears twice, as in a page repeating a thread root
+        DatabaseConfig.setCurrentDatabase(DatabaseConfig.DatabaseType.ORACLE);
+        List<Comment> comments = comments();
+        comments.add(comment(2L));
+
+        // API 호출 및 검증
+        replyBatchLoader.loadInto(comments);
+
+        assertEquals(List.of(ReplyBatchLoader.ORACLE_CHUNK_SIZE, ReplyBatchLoader.ORACLE_CHUNK_SIZE,
+                COMMENT_COUNT - 2 * ReplyBatchLoader.ORACLE_CHUNK_SIZE), chunkSizes);
+        assertOwnReplies(comments);
+    }
+
+    // Every comment holds exactly its own replies in the order returned, and an empty list when it has none
+    private static void assertOwnReplies(List<Comment> comments) {
+        for (Comment comment : comments) {
+            long commentId = comment.getCommentId();
+            List<Long> expected = new ArrayList<>();
+            for (int index = 0; index < commentId % 3; index++) {
+                expected.add(replyId(commentId, index));
+            }
+            assertEquals(expected, comment.getReplies().stream().map(Reply::getReplyId).toList(), "comment " + commentId);
+        }
+    }
+
+    private static List<Comment> comments() {
+        List<Comment> comments = new ArrayList<>();
+        for (long commentId = 1; commentId <= COMMENT_COUNT; commentId++) {
+            comments.add(comment(commentId));
+        }
+        return comments;
+    }
+
+    private static Comment comment(Long commentId) {
+        return Comment.builder().commentId(commentId).boardId(1L).content("content").writer("writer").build();
+    }
+
+    private static long replyId(long commentId, int index) {
+        return commentId * 10 + index;
+    }
+}
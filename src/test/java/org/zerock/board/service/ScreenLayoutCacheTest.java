@@ -0,0 +1,91 @@
+package org.zerock.board.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.zerock.board.config.ScreenLayoutCacheConfig;
+import org.zerock.board.model.ScreenLayout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 화면 레이아웃 캐시 테스트 클래스
+ * 캐시 적중, 무효화, 다른 노드의 변경을 반영하기 위한 만료를 테스트합니다.
+ */
+public class ScreenLayoutCacheTest {
+
+    private static final Long LAYOUT_ID = 1L;
+
+    /**
+     * 캐시 만료 테스트
+     * 무효화가 없어도 만료 시간이 지나면 다시 조회하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("캐시 만료 테스트")
+    public void testEntriesExpireAfterTtl() throws Exception {
+        // 테스트 데이터 준비: another node bumps the stored version between the loads
+        ScreenLayoutCache cache = createCache(100);
+        AtomicInteger storedVersion = new AtomicInteger();
+
+        // API 호출 및 검증
+        assertEquals(0L, cache.get(LAYOUT_ID, () -> load(storedVersion)).getVersion());
+        storedVersion.incrementAndGet();
+        assertEquals(0L, cache.get(LAYOUT_ID, () -> load(storedVersion)).getVersion());
+
+        Thread.sleep(150);
+        assertEquals(1L, cache.get(LAYOUT_ID, () -> load(storedVersion)).getVersion());
+    }
+
+    /**
+     * 무효화 테스트
+     * 이 노드의 쓰기로 무효화되면 만료 전이라도 다시 조회하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("무효화 테스트")
+    public void testInvalidateReloads() {
+        // 테스트 데이터 준비
+        ScreenLayoutCache cache = createCache(60000);
+        AtomicInteger storedVersion = new AtomicInteger();
+        cache.get(LAYOUT_ID, () -> load(storedVersion));
+
+        // API 호출 및 검증
+        storedVersion.incrementAndGet();
+        cache.invalidate(LAYOUT_ID);
+        assertEquals(1L, cache.get(LAYOUT_ID, () -> load(storedVersion)).getVersion());
+    }
+
+    /**
+     * 캐시 비활성화 테스트
+     * 만료 시간이 0이면 매번 조회하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("캐시 비활성화 테스트")
+    public void testZeroTtlDisablesCache() {
+        // 테스트 데이터 준비
+        ScreenLayoutCache cache = createCache(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        // API 호출 및 검증
+        cache.get(LAYOUT_ID, () -> {
+            loads.incrementAndGet();
+            return load(loads);
+        });
+        cache.get(LAYOUT_ID, () -> {
+            loads.incrementAndGet();
+            return load(loads);
+        });
+        assertEquals(2, loads.get());
+    }
+
+    private ScreenLayoutCache createCache(long ttlMs) {
+        ScreenLayoutCacheConfig config = new ScreenLayoutCacheConfig();
+        config.setTtlMs(ttlMs);
+        return new ScreenLayoutCache(config);
+    }
+
+    // A load returning the currently stored version
+    private static ScreenLayout load(AtomicInteger storedVersion) {
+        return ScreenLayout.builder().layoutId(LAYOUT_ID).name("layout").version((long) storedVersion.get()).build();
+    }
+}
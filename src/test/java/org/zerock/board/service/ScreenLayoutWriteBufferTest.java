@@ -0,0 +1,293 @@
+package org.zerock.board.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.board.config.ScreenLayoutBufferConfig;
+import org.zerock.board.model.Card;
+import org.zerock.board.model.ScreenLayout;
+import org.zerock.board.repository.CardRepository;
+import org.zerock.board.repository.CentralMenuRepository;
+import org.zerock.board.repository.ScreenLayoutRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 화면 레이아웃 상태 쓰기 버퍼 테스트 클래스
+ * 카드 상태 변경의 병합, 최대 지연, 교체·삭제 시 폐기, 오래된 버전의 재시도, 종료 시 기록을 테스트합니다.
+ */
+public class ScreenLayoutWriteBufferTest {
+
+    private static final Long LAYOUT_ID = 1L;
+
+    private CardRepository cardRepository;
+    private CentralMenuRepository centralMenuRepository;
+    private ScreenLayoutRepository screenLayoutRepository;
+    private ScreenLayoutCache screenLayoutCache;
+    private TransactionTemplate transactionTemplate;
+    private ScreenLayoutWriteBuffer writeBuffer;
+
+    @BeforeEach
+    public void setup() {
+        cardRepository = mock(CardRepository.class);
+        centralMenuRepository = mock(CentralMenuRepository.class);
+        screenLayoutRepository = mock(ScreenLayoutRepository.class);
+        screenLayoutCache = mock(ScreenLayoutCache.class);
+        transactionTemplate = mock(TransactionTemplate.class);
+
+        // Run the callback inline, as without a transaction manager
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(screenLayoutRepository.incrementVersionIfVersion(eq(LAYOUT_ID), anyLong())).thenReturn(1);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        if (writeBuffer != null) {
+            writeBuffer.flushAll();
+        }
+    }
+
+    /**
+     * 상태 변경 병합 테스트
+     * 짧은 간격의 변경이 마지막 상태 한 번의 쓰기로 병합되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("상태 변경 병합 테스트")
+    public void testCoalescesRapidChanges() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(100, 5000);
+
+        // API 호출 및 검증
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().titleOnly(true).build());
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(false).build());
+
+        ArgumentCaptor<Card> written = ArgumentCaptor.forClass(Card.class);
+        verify(cardRepository, timeout(2000)).updateStateByPosition(written.capture());
+        verify(cardRepository, after(300).times(1)).updateStateByPosition(any());
+        assertEquals(Boolean.FALSE, written.getValue().getExpanded());
+        assertEquals(Boolean.TRUE, written.getValue().getTitleOnly());
+        verify(screenLayoutRepository).incrementVersionIfVersion(LAYOUT_ID, 3L);
+        verify(screenLayoutCache, timeout(1000)).invalidate(LAYOUT_ID);
+    }
+
+    /**
+     * 최대 지연 테스트
+     * 변경이 계속 들어와도 최대 지연 시간이 지나면 기록되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("최대 지연 테스트")
+    public void testFlushesAfterMaxDelayDespiteContinuousChanges() throws Exception {
+        // 테스트 데이터 준비: the quiet period is never reached while changes keep coming
+        writeBuffer = createBuffer(200, 400);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            boolean expanded = false;
+            while (running.get()) {
+                writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(expanded = !expanded).build());
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        // API 호출 및 검증
+        try {
+            verify(cardRepository, timeout(2000).atLeastOnce()).updateStateByPosition(any());
+            assertTrue(writer.isAlive());
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    /**
+     * 기록 중 폐기 테스트
+     * 기록 도중 레이아웃이 교체되면 이전 스냅샷을 쓰지 않고, 교체 이후의 변경은 유지하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("기록 중 폐기 테스트")
+    public void testDiscardDuringFlushKeepsNewerState() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(60000, 60000);
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+
+        // Mock 서비스 동작 설정: a PUT replaces the layout (version 3 -> 4) after the snapshot was taken
+        when(screenLayoutRepository.incrementVersionIfVersion(LAYOUT_ID, 3L)).thenAnswer(invocation -> {
+            writeBuffer.discard(LAYOUT_ID);
+            writeBuffer.bufferCardState(LAYOUT_ID, 4L, "LEFT_1", Card.builder().titleOnly(true).build());
+            return 0;
+        });
+
+        // API 호출 및 검증: the old snapshot is not written
+        writeBuffer.flush(LAYOUT_ID);
+        verify(cardRepository, never()).updateStateByPosition(any());
+        assertEquals(Boolean.TRUE, overlayCard().getTitleOnly());
+        assertNull(overlayCard().getExpanded());
+
+        // API 호출 및 검증: the state buffered after the discard is written on the new version
+        writeBuffer.flush(LAYOUT_ID);
+        ArgumentCaptor<Card> written = ArgumentCaptor.forClass(Card.class);
+        verify(cardRepository).updateStateByPosition(written.capture());
+        verify(screenLayoutRepository).incrementVersionIfVersion(LAYOUT_ID, 4L);
+        assertEquals(Boolean.TRUE, written.getValue().getTitleOnly());
+        assertNull(written.getValue().getExpanded());
+    }
+
+    /**
+     * 오래된 버전 기록 테스트
+     * 기록 직후 캐시된 이전 버전으로 들어온 변경이 폐기되지 않고 현재 버전으로 기록되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("오래된 버전 기록 테스트")
+    public void testStateBufferedOnStaleVersionIsWrittenOnCurrentVersion() {
+        // 테스트 데이터 준비: the first flush moves the layout from version 3 to 4
+        writeBuffer = createBuffer(60000, 60000);
+        when(screenLayoutRepository.incrementVersionIfVersion(LAYOUT_ID, 3L)).thenReturn(1, 0);
+        when(screenLayoutRepository.findVersionById(LAYOUT_ID)).thenReturn(4L);
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+        writeBuffer.flush(LAYOUT_ID);
+
+        // A concurrent request read the layout from the cache before the flush invalidated it
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().titleOnly(true).build());
+
+        // API 호출 및 검증: the compare-and-set on version 3 fails and is retried on version 4
+        writeBuffer.flush(LAYOUT_ID);
+        ArgumentCaptor<Card> written = ArgumentCaptor.forClass(Card.class);
+        verify(cardRepository, times(2)).updateStateByPosition(written.capture());
+        assertEquals(Boolean.TRUE, written.getAllValues().get(1).getTitleOnly());
+        verify(screenLayoutRepository).incrementVersionIfVersion(LAYOUT_ID, 4L);
+        assertNull(overlayCard().getTitleOnly());
+    }
+
+    /**
+     * 삭제된 레이아웃 폐기 테스트
+     * 레이아웃이 삭제되어 버전을 읽을 수 없으면 버퍼 상태를 폐기하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("삭제된 레이아웃 폐기 테스트")
+    public void testDropsStateOfDeletedLayout() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(60000, 60000);
+        when(screenLayoutRepository.incrementVersionIfVersion(LAYOUT_ID, 3L)).thenReturn(0);
+        when(screenLayoutRepository.findVersionById(LAYOUT_ID)).thenReturn(null);
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+
+        // API 호출 및 검증
+        writeBuffer.flush(LAYOUT_ID);
+        verify(cardRepository, never()).updateStateByPosition(any());
+        assertNull(overlayCard().getExpanded());
+    }
+
+    /**
+     * 재시도 지연 테스트
+     * 쓰기에 실패하면 바로 재시도하지 않고 지연 후 재시도하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("재시도 지연 테스트")
+    public void testRetriesWithBackoff() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(20, 100, 800);
+        when(screenLayoutRepository.incrementVersionIfVersion(LAYOUT_ID, 3L))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(1);
+
+        // API 호출 및 검증
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+        verify(screenLayoutRepository, timeout(1000).times(1)).incrementVersionIfVersion(LAYOUT_ID, 3L);
+        verify(screenLayoutRepository, after(300).times(1)).incrementVersionIfVersion(LAYOUT_ID, 3L);
+        verify(cardRepository, timeout(2000)).updateStateByPosition(any());
+        verify(screenLayoutRepository, times(2)).incrementVersionIfVersion(LAYOUT_ID, 3L);
+    }
+
+    /**
+     * 종료 시 기록 테스트
+     * 종료 시 아직 버퍼에 남은 상태가 모두 기록되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("종료 시 기록 테스트")
+    public void testFlushAllWritesEverythingOnShutdown() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(60000, 60000);
+        when(screenLayoutRepository.incrementVersionIfVersion(eq(2L), anyLong())).thenReturn(1);
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+        writeBuffer.bufferCardState(2L, 7L, "RIGHT_1", Card.builder().expanded(false).build());
+
+        // API 호출 및 검증
+        writeBuffer.flushAll();
+        ArgumentCaptor<Card> written = ArgumentCaptor.forClass(Card.class);
+        verify(cardRepository, times(2)).updateStateByPosition(written.capture());
+        List<String> positions = new ArrayList<>();
+        written.getAllValues().forEach(card -> positions.add(card.getPosition()));
+        assertTrue(positions.containsAll(List.of("LEFT_1", "RIGHT_1")));
+        verify(screenLayoutRepository).incrementVersionIfVersion(LAYOUT_ID, 3L);
+        verify(screenLayoutRepository).incrementVersionIfVersion(2L, 7L);
+        assertNull(overlayCard().getExpanded());
+    }
+
+    /**
+     * 종료 시 재시도 테스트
+     * 종료 시 기록이 실패하면 중단된 스케줄러 대신 바로 다시 시도하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("종료 시 재시도 테스트")
+    public void testFlushAllRetriesFailedWrites() {
+        // 테스트 데이터 준비
+        writeBuffer = createBuffer(60000, 60000, 10);
+        when(screenLayoutRepository.incrementVersionIfVersion(LAYOUT_ID, 3L))
+                .thenThrow(new RuntimeException("connection reset"))
+                .thenReturn(1);
+        writeBuffer.bufferCardState(LAYOUT_ID, 3L, "LEFT_1", Card.builder().expanded(true).build());
+
+        // API 호출 및 검증
+        writeBuffer.flushAll();
+        verify(screenLayoutRepository, times(2)).incrementVersionIfVersion(LAYOUT_ID, 3L);
+        verify(cardRepository).updateStateByPosition(any());
+        assertNull(overlayCard().getExpanded());
+    }
+
+    private ScreenLayoutWriteBuffer createBuffer(long quietPeriodMs, long maxDelayMs) {
+        return createBuffer(quietPeriodMs, maxDelayMs, 500);
+    }
+
+    private ScreenLayoutWriteBuffer createBuffer(long quietPeriodMs, long maxDelayMs, long retryBackoffMs) {
+        ScreenLayoutBufferConfig config = new ScreenLayoutBufferConfig();
+        config.setQuietPeriodMs(quietPeriodMs);
+        config.setMaxDelayMs(maxDelayMs);
+        config.setRetryBackoffMs(retryBackoffMs);
+        return new ScreenLayoutWriteBuffer(config, cardRepository, centralMenuRepository, screenLayoutRepository,
+                screenLayoutCache, transactionTemplate);
+    }
+
+    // Buffered state of LEFT_1 as reads see it
+    private Card overlayCard() {
+        ScreenLayout layout = ScreenLayout.builder()
+                .layoutId(LAYOUT_ID)
+                .cards(new ArrayList<>(List.of(Card.builder().layoutId(LAYOUT_ID).position("LEFT_1").build())))
+                .build();
+        return writeBuffer.overlay(layout).getCards().get(0);
+    }
+}
@@ -0,0 +1,69 @@
+package org.zerock.board.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 서킷 브레이커 테스트 클래스
+ * 연속 실패로 열리고, 대기 시간 후 한 번의 시험 호출 결과에 따라 닫히거나 다시 열리는 상태 전이를 테스트합니다.
+ */
+public class CircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    /**
+     * 연속 실패 테스트
+     * 실패가 임계값만큼 연속될 때만 열리고, 중간의 성공은 실패 횟수를 초기화하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("연속 실패 테스트")
+    public void testOpensAfterConsecutiveFailures() {
+        // 테스트 데이터 준비
+        CircuitBreaker breaker = new CircuitBreaker(2, 60000);
+
+        // API 호출 및 검증
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    /**
+     * 반열림 시험 호출 테스트
+     * 대기 시간 후 한 호출만 시험 호출로 허용하고, 실패하면 다시 열리고 성공하면 닫히는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("반열림 시험 호출 테스트")
+    public void testHalfOpenAllowsOneTrial() throws Exception {
+        // 테스트 데이터 준비
+        CircuitBreaker breaker = new CircuitBreaker(1, OPEN_MILLIS);
+        breaker.recordFailure();
+        assertFalse(breaker.tryAcquire());
+
+        // API 호출 및 검증: a failed trial opens the circuit again
+        Thread.sleep(OPEN_MILLIS + 20);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        // A successful trial closes it
+        Thread.sleep(OPEN_MILLIS + 20);
+        assertTrue(breaker.tryAcquire());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,91 @@
+package org.zerock.board.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.zerock.board.config.FileUploadConfig;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 파일 저장소 테스트 클래스
+ * NAS를 사용할 수 없는 동안 업로드가 로컬 스풀에 저장되고, NAS가 복구되면 NAS로 복제되는지 테스트합니다.
+ * NAS는 임시 디렉터리로 대신하며, 상위 경로를 파일로 막아 사용할 수 없는 상태를 만듭니다.
+ */
+public class FileStorageTest {
+
+    private static final String FILENAME = "upload.txt";
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path tempDirectory;
+
+    private FileStorage fileStorage;
+
+    @AfterEach
+    public void shutdown() {
+        if (fileStorage != null) {
+            fileStorage.shutdown();
+        }
+    }
+
+    /**
+     * 스풀 복제 테스트
+     * NAS 장애 중 업로드가 스풀에서 조회되고, NAS 복구 후 한 번 복제되어 스풀에서 사라지는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("스풀 복제 테스트")
+    public void testSpooledUploadIsReplicatedAfterRecovery() throws Exception {
+        // 테스트 데이터 준비: the NAS directory cannot be created while its parent is a file
+        Path blocked = Files.createFile(tempDirectory.resolve("mount"));
+        Path nas = blocked.resolve("nas");
+        Path spool = tempDirectory.resolve("spool");
+        fileStorage = new FileStorage(config(nas, spool));
+
+        // API 호출 및 검증: the upload goes to the spool and is served from there
+        fileStorage.store(FILENAME, CONTENT);
+        assertTrue(Files.isRegularFile(spool.resolve(FILENAME)));
+        Resource spooled = fileStorage.load(FILENAME).orElseThrow();
+        try (InputStream content = spooled.getInputStream()) {
+            assertArrayEquals(CONTENT, content.readAllBytes());
+        }
+
+        // The NAS comes back: the next health check closes the circuit and moves the file
+        Files.delete(blocked);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (Files.exists(spool.resolve(FILENAME)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertFalse(Files.exists(spool.resolve(FILENAME)), "spooled file was not replicated");
+        assertArrayEquals(CONTENT, Files.readAllBytes(nas.resolve(FILENAME)));
+        assertFalse(Files.exists(nas.resolve(FILENAME + ".part")));
+        assertEquals("CLOSED", fileStorage.describe().get("circuit"));
+        assertEquals(0, fileStorage.describe().get("spooledFiles"));
+
+        // Served from the NAS now
+        try (InputStream content = fileStorage.load(FILENAME).orElseThrow().getInputStream()) {
+            assertArrayEquals(CONTENT, content.readAllBytes());
+        }
+    }
+
+    private static FileUploadConfig config(Path nas, Path spool) {
+        FileUploadConfig config = new FileUploadConfig();
+        config.setDirectory(nas.toString());
+        config.setSpoolDirectory(spool.toString());
+        config.setHealthCheckIntervalSeconds(1);
+        config.setFailureThreshold(1);
+        config.setOpenSeconds(60);
+        config.setTimeoutMs(2000);
+        return config;
+    }
+}
@@ -0,0 +1,164 @@
+package org.zerock.board.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 스트라이프 long-long 맵 테스트 클래스
+ * 탐색 체인의 순환, 삭제 후 체인 유지, 스트라이프 초과 시 비우기, 테이블 확장을 테스트합니다.
+ */
+public class StripedLongLongMapTest {
+
+    private static final long MISSING = -1L;
+
+    // One stripe of at most 16 entries starts with 16 slots (mask 15) and grows past 12 entries
+    private static final int INITIAL_MASK = 15;
+
+    /**
+     * 탐색 체인 순환 테스트
+     * 마지막 슬롯에서 시작한 체인이 테이블 앞쪽으로 이어져도 조회, 수정되는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("탐색 체인 순환 테스트")
+    public void testProbeChainWrapsAround() {
+        // 테스트 데이터 준비: three keys whose home is the last slot occupy slots 15, 0 and 1
+        StripedLongLongMap map = new StripedLongLongMap(16, 1);
+        List<Long> keys = keysWithHome(INITIAL_MASK, 3);
+        for (long key : keys) {
+            map.put(key, key * 10);
+        }
+
+        // API 호출 및 검증
+        for (long key : keys) {
+            assertEquals(key * 10, map.get(key, MISSING));
+        }
+        map.put(keys.get(2), 7L);
+        assertEquals(7L, map.get(keys.get(2), MISSING));
+        assertEquals(3, map.size());
+        assertEquals(MISSING, map.get(keysWithHome(INITIAL_MASK, 4).get(3), MISSING));
+    }
+
+    /**
+     * 삭제 후 체인 유지 테스트
+     * 순환한 체인의 중간 항목을 삭제해도 뒤따르는 항목을 모두 찾을 수 있는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("삭제 후 체인 유지 테스트")
+    public void testRemoveKeepsChainsReachable() {
+        // 테스트 데이터 준비: a, b, c start at slot 15 (b and c wrap); d starts at slot 0 and lands behind them
+        StripedLongLongMap map = new StripedLongLongMap(16, 1);
+        List<Long> wrapping = keysWithHome(INITIAL_MASK, 3);
+        long d = keysWithHome(0, 1).get(0);
+        for (long key : wrapping) {
+            map.put(key, key);
+        }
+        map.put(d, d);
+
+        // API 호출 및 검증: removing the head shifts the chain back across the wrap
+        map.remove(wrapping.get(0));
+        assertEquals(MISSING, map.get(wrapping.get(0), MISSING));
+        assertEquals(wrapping.get(1), map.get(wrapping.get(1), MISSING));
+        assertEquals(wrapping.get(2), map.get(wrapping.get(2), MISSING));
+        assertEquals(d, map.get(d, MISSING));
+
+        // API 호출 및 검증: removing from the middle keeps the later entries reachable
+        map.remove(wrapping.get(2));
+        assertEquals(wrapping.get(1), map.get(wrapping.get(1), MISSING));
+        assertEquals(d, map.get(d, MISSING));
+        assertEquals(2, map.size());
+
+        // Removing an absent key changes nothing
+        map.remove(wrapping.get(2));
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * 스트라이프 초과 테스트
+     * 스트라이프가 가득 찬 상태에서 새 키를 넣으면 스트라이프를 비우고 새 키만 남기는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("스트라이프 초과 테스트")
+    public void testFullStripeIsClearedOnOverflow() {
+        // 테스트 데이터 준비
+        StripedLongLongMap map = new StripedLongLongMap(16, 1);
+        for (long key = 1; key <= 16; key++) {
+            map.put(key, key);
+        }
+        assertEquals(16, map.size());
+
+        // API 호출 및 검증: updating a present key does not count as a new entry
+        map.put(16L, 160L);
+        assertEquals(16, map.size());
+
+        map.put(17L, 17L);
+        assertEquals(1, map.size());
+        assertEquals(17L, map.get(17L, MISSING));
+        assertEquals(MISSING, map.get(1L, MISSING));
+    }
+
+    /**
+     * 테이블 확장 테스트
+     * 항목이 늘어 테이블이 여러 번 커져도 모든 항목을 조회, 삭제할 수 있는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("테이블 확장 테스트")
+    public void testGrowsWithUse() {
+        // 테스트 데이터 준비
+        StripedLongLongMap map = new StripedLongLongMap(100_000, 4);
+        for (long key = 1; key <= 20_000; key++) {
+            map.put(key, -key);
+        }
+
+        // API 호출 및 검증
+        assertEquals(20_000, map.size());
+        for (long key = 1; key <= 20_000; key++) {
+            assertEquals(-key, map.get(key, MISSING));
+        }
+        for (long key = 1; key <= 20_000; key += 2) {
+            map.remove(key);
+        }
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 20_000; key++) {
+            assertEquals(key % 2 == 0 ? -key : MISSING, map.get(key, MISSING));
+        }
+    }
+
+    /**
+     * 원자적 갱신 테스트
+     * putIfAbsent와 computeIfPresent가 키의 존재 여부에 따라 동작하는지 테스트합니다.
+     */
+    @Test
+    @DisplayName("원자적 갱신 테스트")
+    public void testPutIfAbsentAndComputeIfPresent() {
+        // 테스트 데이터 준비
+        StripedLongLongMap map = new StripedLongLongMap(1000, 8);
+
+        // API 호출 및 검증
+        assertEquals(MISSING, map.computeIfPresent(5L, value -> value + 1, MISSING));
+        assertEquals(10L, map.putIfAbsent(5L, 10L, MISSING));
+        assertEquals(10L, map.putIfAbsent(5L, 20L, MISSING));
+        assertEquals(11L, map.computeIfPresent(5L, value -> value + 1, MISSING));
+        assertEquals(11L, map.get(5L, MISSING));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(StripedLongLongMap.EMPTY_KEY, 1L));
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    // Positive keys whose home slot in a table with INITIAL_MASK is the given slot
+    private static List<Long> keysWithHome(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            if (((int) StripedLongLongMap.mix(key) & INITIAL_MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
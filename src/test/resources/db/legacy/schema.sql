@@ -1,3 +1,5 @@
+-- The MariaDB schema.sql of the former drop-and-recreate startup, kept to test the upgrade of databases it created
+
 -- MariaDB database schema for Q&A board
 
 -- Drop tables if they exist
@@ -0,0 +1,338 @@
+package org.zerock.board.tools;
+
+import org.zerock.board.service.CommentPaths;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk loads a synthetic data set into the board, file, comment and reply tables of a
+ * MariaDB or Oracle schema (see db/migration).
+ *
+ * Usage: ./gradlew generateData -PgeneratorArgs="--url=jdbc:mariadb://localhost:3306/board_db --username=board_db --password=board_db --boards=1000000"
+ *
+ * Ids are assigned by the generator: a counting pass over the deterministic board shapes
+ * gives every chunk of boards its id ranges, then parallel writers insert the chunks,
+ * one transaction per chunk. The same seed, reference date and options always produce
+ * the same rows.
+ */
+public class DataGenerator {
+
+    private static final String[] BOARD_COLUMNS =
+            {"board_id", "title", "content", "writer", "view_count", "created_date", "modified_date"};
+    private static final String[] FILE_COLUMNS =
+            {"file_id", "board_id", "original_filename", "stored_filename", "file_size", "file_type", "created_date"};
+    private static final String[] COMMENT_COLUMNS =
+            {"comment_id", "board_id", "parent_comment_id", "path", "depth", "content", "writer", "created_date", "modified_date"};
+    private static final String[] REPLY_COLUMNS =
+            {"reply_id", "comment_id", "content", "writer", "created_date", "modified_date"};
+
+    // Generated posts are spread over this period before the start time
+    private static final long HISTORY_SECONDS = Duration.ofDays(730).toSeconds();
+
+    private final GeneratorOptions options;
+    private final DatasetModel model;
+    private final LocalDateTime now;
+
+    private long boardIdBase;
+    private long[] fileIdBase;
+    private long[] commentIdBase;
+    private long[] replyIdBase;
+
+    private final AtomicLong nextChunk = new AtomicLong();
+    private final AtomicLong boardsWritten = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    DataGenerator(GeneratorOptions options) {
+        this.options = options;
+        this.model = new DatasetModel(options);
+        this.now = options.referenceDate.atStartOfDay();
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneratorOptions options = GeneratorOptions.parse(args);
+        new DataGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        long start = System.nanoTime();
+        int chunks = (int) ((options.boards + options.boardsPerChunk - 1) / options.boardsPerChunk);
+
+        try (Connection connection = connect()) {
+            assignIds(connection, chunks);
+        }
+        System.out.printf("Generating %d boards in %d chunks with %d writers (%s, seed %d)%n",
+                options.boards, chunks, options.threads, options.dialect, options.seed);
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < options.threads; i++) {
+                writers.add(executor.submit(() -> {
+                    writeChunks(chunks);
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (options.isOracle()) {
+            try (Connection connection = connect()) {
+                advanceSequences(connection);
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Done: %d boards, %d rows in %.1f s (%.0f rows/s)%n",
+                boardsWritten.get(), rowsWritten.get(), seconds, rowsWritten.get() / seconds);
+    }
+
+    // Counting pass: id ranges of every chunk, continuing after the rows already in the tables
+    private void assignIds(Connection connection, int chunks) throws SQLException {
+        boardIdBase = maxId(connection, "board", "board_id");
+        long fileId = maxId(connection, "file", "file_id");
+        long commentId = maxId(connection, "comment", "comment_id");
+        long replyId = maxId(connection, "reply", "reply_id");
+
+        long[][] counts = new long[chunks][];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            long files = 0;
+            long comments = 0;
+            long replies = 0;
+            for (long boardNo = firstBoard(chunk); boardNo < endBoard(chunk); boardNo++) {
+                DatasetModel.BoardShape shape = model.shape(boardNo);
+                files += shape.files();
+                comments += shape.comments();
+                replies += shape.replyCount();
+            }
+            counts[chunk] = new long[]{files, comments, replies};
+        });
+
+        fileIdBase = new long[chunks];
+        commentIdBase = new long[chunks];
+        replyIdBase = new long[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            fileIdBase[chunk] = fileId;
+            commentIdBase[chunk] = commentId;
+            replyIdBase[chunk] = replyId;
+            fileId += counts[chunk][0];
+            commentId += counts[chunk][1];
+            replyId += counts[chunk][2];
+        }
+
+        System.out.printf("Planned %d files, %d comments, %d replies%n",
+                fileId - fileIdBase[0], commentId - commentIdBase[0], replyId - replyIdBase[0]);
+    }
+
+    private void writeChunks(int chunks) throws SQLException {
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            if (!options.isOracle()) {
+                // Rows arrive in dependency order; skipping per-row checks roughly doubles load speed
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET foreign_key_checks = 0, unique_checks = 0");
+                }
+            }
+
+            boolean multiRow = !options.isOracle();
+            try (TableWriter boards = new TableWriter(connection, "board", BOARD_COLUMNS, multiRow, options.rowsPerStatement);
+                 TableWriter files = new TableWriter(connection, "file", FILE_COLUMNS, multiRow, options.rowsPerStatement);
+                 TableWriter comments = new TableWriter(connection, "comment", COMMENT_COLUMNS, multiRow, options.rowsPerStatement);
+                 TableWriter replies = new TableWriter(connection, "reply", REPLY_COLUMNS, multiRow, options.rowsPerStatement)) {
+                ChunkSink sink = new ChunkSink(boards, files, comments, replies);
+
+                long chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                    try {
+                        writeChunk((int) chunk, sink);
+                        sink.flush();
+                        connection.commit();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw new SQLException("Chunk " + chunk + " failed", e);
+                    }
+
+                    long done = boardsWritten.addAndGet(endBoard((int) chunk) - firstBoard((int) chunk));
+                    if (chunk % 20 == 0) {
+                        System.out.printf("  %d / %d boards%n", done, options.boards);
+                    }
+                }
+                rowsWritten.addAndGet(boards.written() + files.written() + comments.written() + replies.written());
+            }
+        }
+    }
+
+    private void writeChunk(int chunk, ChunkSink sink) throws SQLException {
+        long fileId = fileIdBase[chunk];
+        long commentId = commentIdBase[chunk];
+        long replyId = replyIdBase[chunk];
+
+        for (long boardNo = firstBoard(chunk); boardNo < endBoard(chunk); boardNo++) {
+            DatasetModel.BoardShape shape = model.shape(boardNo);
+            SplittableRandom random = model.content(boardNo);
+            long boardId = boardIdBase + boardNo + 1;
+
+            LocalDateTime created = now.minusSeconds(random.nextLong(HISTORY_SECONDS));
+            sink.boards.add(boardId,
+                    model.text(random, 6),
+                    model.text(random, 120),
+                    model.writer(random),
+                    (int) Math.min(Integer.MAX_VALUE, (long) shape.comments() * 20 + random.nextInt(50)),
+                    Timestamp.valueOf(created),
+                    Timestamp.valueOf(created));
+
+            for (int f = 0; f < shape.files(); f++) {
+                int type = model.fileType(random);
+                fileId++;
+                sink.files.add(fileId,
+                        boardId,
+                        "attachment-" + (f + 1) + "." + model.extension(type),
+                        UUID.nameUUIDFromBytes(("file-" + fileId).getBytes()) + "." + model.extension(type),
+                        model.fileSize(random, type),
+                        model.mimeType(type),
+                        Timestamp.valueOf(created));
+            }
+
+            long firstCommentId = commentId + 1;
+            String[] paths = new String[shape.comments()];
+            for (int c = 0; c < shape.comments(); c++) {
+                commentId++;
+                int parent = parentIndex(shape, paths, c, random);
+                String parentPath = parent < 0 ? null : paths[parent];
+                paths[c] = CommentPaths.childPath(parentPath, commentId);
+
+                // Comments follow the board and each other in id order
+                LocalDateTime commentCreated = created.plusSeconds(60L * (c + 1) + random.nextInt(60));
+                sink.comments.add(commentId,
+                        boardId,
+                        parent < 0 ? null : firstCommentId + parent,
+                        paths[c],
+                        paths[c].length() / CommentPaths.SEGMENT_LENGTH - 1,
+                        model.text(random, 20),
+                        model.writer(random),
+                        Timestamp.valueOf(commentCreated),
+                        Timestamp.valueOf(commentCreated));
+
+                for (int r = 0; r < shape.replies()[c]; r++) {
+                    replyId++;
+                    LocalDateTime replyCreated = commentCreated.plusSeconds(30L * (r + 1));
+                    sink.replies.add(replyId,
+                            commentId,
+                            model.text(random, 12),
+                            model.writer(random),
+                            Timestamp.valueOf(replyCreated),
+                            Timestamp.valueOf(replyCreated));
+                }
+                sink.flushIfFull(options.batchRows);
+            }
+            sink.flushIfFull(options.batchRows);
+        }
+    }
+
+    // Index of the parent among the board's earlier comments, -1 for a top-level comment
+    private static int parentIndex(DatasetModel.BoardShape shape, String[] paths, int index, SplittableRandom random) {
+        if (index == 0) {
+            return -1;
+        }
+        if (shape.deepChain()) {
+            // Each comment answers the previous one until the maximum depth, then a new chain starts
+            int previousDepth = paths[index - 1].length() / CommentPaths.SEGMENT_LENGTH;
+            return previousDepth < CommentPaths.MAX_DEPTH ? index - 1 : -1;
+        }
+        if (random.nextDouble() < 0.45) {
+            return -1;
+        }
+        // Answers favour recent comments, which keeps typical threads a few levels deep
+        int parent = index - 1 - (int) Math.min(index - 1, Math.floor(-Math.log(1.0 - random.nextDouble()) * 4));
+        int parentDepth = paths[parent].length() / CommentPaths.SEGMENT_LENGTH;
+        return parentDepth < CommentPaths.MAX_DEPTH ? parent : -1;
+    }
+
+    private long firstBoard(int chunk) {
+        return (long) chunk * options.boardsPerChunk;
+    }
+
+    private long endBoard(int chunk) {
+        return Math.min(options.boards, firstBoard(chunk) + options.boardsPerChunk);
+    }
+
+    private long maxId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // Oracle sequences do not follow explicit ids; move them past the generated rows
+    private void advanceSequences(Connection connection) throws SQLException {
+        advanceSequence(connection, "board_seq", maxId(connection, "board", "board_id"));
+        advanceSequence(connection, "file_seq", maxId(connection, "file", "file_id"));
+        advanceSequence(connection, "comment_seq", maxId(connection, "comment", "comment_id"));
+        advanceSequence(connection, "reply_seq", maxId(connection, "reply", "reply_id"));
+    }
+
+    private void advanceSequence(Connection connection, String sequence, long maxId) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long current;
+            try (ResultSet resultSet = statement.executeQuery("SELECT " + sequence + ".NEXTVAL FROM dual")) {
+                resultSet.next();
+                current = resultSet.getLong(1);
+            }
+            long gap = maxId - current;
+            if (gap > 0) {
+                // Works on all Oracle versions, unlike ALTER SEQUENCE ... RESTART
+                statement.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + gap);
+                try (ResultSet ignored = statement.executeQuery("SELECT " + sequence + ".NEXTVAL FROM dual")) {
+                    ignored.next();
+                } finally {
+                    statement.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY 1");
+                }
+            }
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.url, options.username, options.password);
+    }
+
+    /**
+     * The four table writers of one connection. Whenever one of them is full all are
+     * flushed in foreign key order, so parents always reach the database first.
+     */
+    private record ChunkSink(TableWriter boards, TableWriter files, TableWriter comments, TableWriter replies) {
+
+        void flushIfFull(int batchRows) throws SQLException {
+            if (boards.pending() >= batchRows || files.pending() >= batchRows
+                    || comments.pending() >= batchRows || replies.pending() >= batchRows) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            boards.flush();
+            files.flush();
+            comments.flush();
+            replies.flush();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.zerock.board.tools;
+
+import org.zerock.board.service.CommentPaths;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic description of the generated data set. Every board draws from its own
+ * random streams derived from the seed and the board number, so a board's rows do not
+ * depend on thread scheduling or on which chunk wrote it.
+ *
+ * The shape stream only decides row counts, so ids can be assigned up front by counting
+ * (see DataGenerator); the content stream decides everything else.
+ */
+final class DatasetModel {
+
+    private static final long SHAPE_STREAM = 0x5EED_0001L;
+    private static final long CONTENT_STREAM = 0x5EED_0002L;
+
+    // Attachment types with their median size in bytes; sizes are log-normal around the median
+    private static final String[][] FILE_TYPES = {
+            {"image/jpeg", "jpg", "350000"},
+            {"image/png", "png", "180000"},
+            {"application/pdf", "pdf", "900000"},
+            {"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx", "60000"},
+            {"application/zip", "zip", "6000000"},
+            {"text/plain", "txt", "4000"}
+    };
+    private static final double[] FILE_TYPE_WEIGHTS = {0.35, 0.15, 0.25, 0.1, 0.05, 0.1};
+    private static final long MIN_FILE_SIZE = 1024;
+    private static final long MAX_FILE_SIZE = 200L * 1024 * 1024;
+
+    private static final String[] WORDS = {
+            "게시판", "질문", "답변", "확인", "부탁드립니다", "오류", "설정", "데이터베이스", "파일", "업로드",
+            "the", "query", "index", "server", "timeout", "config", "release", "build", "test", "deploy",
+            "please", "check", "issue", "works", "fixed", "thanks", "again", "after", "update", "error"
+    };
+
+    private final GeneratorOptions options;
+
+    DatasetModel(GeneratorOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Row counts of one board.
+     */
+    BoardShape shape(long boardNo) {
+        SplittableRandom random = random(boardNo, SHAPE_STREAM);
+
+        boolean deepChain = random.nextDouble() < options.deepChainRatio;
+        int comments = pareto(random, options.commentsMean, options.commentsSkew, options.commentsMax);
+        if (deepChain) {
+            // Enough comments for at least one chain of maximum depth
+            comments = Math.min(options.commentsMax, Math.max(comments, CommentPaths.MAX_DEPTH));
+        }
+
+        int files = random.nextDouble() < options.attachmentRatio ? Math.min(10, 1 + geometric(random, 1.0)) : 0;
+
+        int[] replies = new int[comments];
+        for (int i = 0; i < comments; i++) {
+            replies[i] = geometric(random, options.repliesMean);
+        }
+        return new BoardShape(files, comments, deepChain, replies);
+    }
+
+    SplittableRandom content(long boardNo) {
+        return random(boardNo, CONTENT_STREAM);
+    }
+
+    String text(SplittableRandom random, int medianWords) {
+        int words = (int) Math.max(1, Math.round(logNormal(random, medianWords, 0.8)));
+        StringBuilder sb = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(i % 12 == 0 ? ". " : " ");
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    String writer(SplittableRandom random) {
+        // A few heavy posters and a long tail
+        return "user" + pareto(random, 50, 1.2, 100_000);
+    }
+
+    int fileType(SplittableRandom random) {
+        double draw = random.nextDouble();
+        for (int i = 0; i < FILE_TYPE_WEIGHTS.length; i++) {
+            draw -= FILE_TYPE_WEIGHTS[i];
+            if (draw < 0) {
+                return i;
+            }
+        }
+        return FILE_TYPE_WEIGHTS.length - 1;
+    }
+
+    String mimeType(int fileType) {
+        return FILE_TYPES[fileType][0];
+    }
+
+    String extension(int fileType) {
+        return FILE_TYPES[fileType][1];
+    }
+
+    long fileSize(SplittableRandom random, int fileType) {
+        double median = Double.parseDouble(FILE_TYPES[fileType][2]);
+        long size = Math.round(logNormal(random, median, 1.1));
+        return Math.max(MIN_FILE_SIZE, Math.min(MAX_FILE_SIZE, size));
+    }
+
+    private SplittableRandom random(long boardNo, long stream) {
+        return new SplittableRandom(mix(options.seed ^ mix(boardNo * 0x9E3779B97F4A7C15L + stream)));
+    }
+
+    // Pareto distributed count with the given mean, capped at max
+    private static int pareto(SplittableRandom random, double mean, double shape, int max) {
+        double scale = mean * (shape - 1) / shape;
+        double value = scale / Math.pow(1.0 - random.nextDouble(), 1.0 / shape);
+        return (int) Math.min(max, Math.floor(value));
+    }
+
+    // Number of failures before the first success, with the given mean
+    private static int geometric(SplittableRandom random, double mean) {
+        double p = 1.0 / (1.0 + mean);
+        int count = 0;
+        while (random.nextDouble() > p && count < 1000) {
+            count++;
+        }
+        return count;
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        // Box-Muller transform for a standard normal sample
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        double normal = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+        return median * Math.exp(sigma * normal);
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    record BoardShape(int files, int comments, boolean deepChain, int[] replies) {
+
+        long replyCount() {
+            long total = 0;
+            for (int count : replies) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.zerock.board.tools;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of DataGenerator, given as --name=value.
+ */
+final class GeneratorOptions {
+
+    final String url;
+    final String username;
+    final String password;
+    final String dialect;          // mariadb or oracle
+    final long seed;
+    final LocalDate referenceDate; // generated posts lie in the two years before this date
+    final long boards;
+    final int threads;
+    final int boardsPerChunk;      // boards committed per transaction
+    final int batchRows;           // rows buffered per table before a JDBC batch is sent
+    final int rowsPerStatement;    // rows per multi-row INSERT (MariaDB only)
+
+    // Comment counts per board follow a Pareto distribution: most boards have a few, some thousands
+    final double commentsMean;
+    final double commentsSkew;     // Pareto shape, smaller is more skewed (> 1)
+    final int commentsMax;
+    final double deepChainRatio;   // share of boards whose comments form one long reply chain
+    final double repliesMean;
+    final double attachmentRatio;  // share of boards with attachments
+
+    private GeneratorOptions(Map<String, String> values) {
+        this.url = required(values, "url");
+        this.username = values.getOrDefault("username", "");
+        this.password = values.getOrDefault("password", "");
+        this.dialect = values.getOrDefault("dialect", url.startsWith("jdbc:oracle") ? "oracle" : "mariadb");
+        this.seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        this.referenceDate = LocalDate.parse(values.getOrDefault("reference-date", LocalDate.now().toString()));
+        this.boards = Long.parseLong(values.getOrDefault("boards", "100000"));
+        this.threads = Integer.parseInt(values.getOrDefault("threads",
+                String.valueOf(Math.max(1, Runtime.getRuntime().availableProcessors() / 2))));
+        this.boardsPerChunk = Integer.parseInt(values.getOrDefault("boards-per-chunk", "500"));
+        this.batchRows = Integer.parseInt(values.getOrDefault("batch-rows", "2000"));
+        this.rowsPerStatement = Integer.parseInt(values.getOrDefault("rows-per-statement", "200"));
+        this.commentsMean = Double.parseDouble(values.getOrDefault("comments-mean", "8"));
+        this.commentsSkew = Double.parseDouble(values.getOrDefault("comments-skew", "1.3"));
+        this.commentsMax = Integer.parseInt(values.getOrDefault("comments-max", "5000"));
+        this.deepChainRatio = Double.parseDouble(values.getOrDefault("deep-chain-ratio", "0.01"));
+        this.repliesMean = Double.parseDouble(values.getOrDefault("replies-mean", "0.6"));
+        this.attachmentRatio = Double.parseDouble(values.getOrDefault("attachment-ratio", "0.3"));
+
+        if (!"mariadb".equals(dialect) && !"oracle".equals(dialect)) {
+            throw new IllegalArgumentException("Unsupported dialect: " + dialect);
+        }
+        if (commentsSkew <= 1.0) {
+            throw new IllegalArgumentException("comments-skew must be greater than 1");
+        }
+    }
+
+    static GeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new GeneratorOptions(values);
+    }
+
+    boolean isOracle() {
+        return "oracle".equals(dialect);
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing option --" + name);
+        }
+        return value;
+    }
+}
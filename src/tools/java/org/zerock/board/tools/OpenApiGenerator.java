@@ -0,0 +1,102 @@
+package org.zerock.board.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.zerock.board.BoardApplication;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the OpenAPI document of the controllers to openapi.json and a precompressed
+ * openapi.json.gz, which the boot jar serves as static resources (see ./gradlew generateOpenApi).
+ *
+ * The document is produced by springdoc exactly as at runtime: the application is started
+ * on an in-memory H2 database in MariaDB mode and /api-docs is fetched once. The "servers"
+ * entry springdoc derives from the request URL is removed, so clients use the origin the
+ * document was loaded from.
+ */
+public class OpenApiGenerator {
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(option(args, "output", "build/generated/openapi"));
+        Files.createDirectories(output);
+
+        String database = "jdbc:h2:mem:openapi-" + UUID.randomUUID()
+                + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(BoardApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.database.type=mariadb",
+                        "spring.datasource.mariadb.driver-class-name=org.h2.Driver",
+                        "spring.datasource.mariadb.jdbc-url=" + database,
+                        "spring.datasource.mariadb.username=sa",
+                        "spring.datasource.mariadb.password=",
+                        "springdoc.api-docs.enabled=true",
+                        "warmup.enabled=false",
+                        "file.upload.directory=" + output.resolve("files").toAbsolutePath(),
+                        "logging.level.org.zerock.board=WARN",
+                        "logging.level.org.mybatis=WARN")
+                .run();
+
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+            String path = application.getEnvironment().getProperty("springdoc.api-docs.path", "/v3/api-docs");
+            byte[] document = fetch("http://localhost:" + port + path);
+            write(output, document);
+            System.out.printf("Wrote OpenAPI document (%d bytes) to %s%n", document.length, output);
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            application.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static byte[] fetch(String url) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + url + " returned " + response.statusCode());
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode document = (ObjectNode) mapper.readTree(response.body());
+        document.remove("servers");
+        return mapper.writeValueAsBytes(document);
+    }
+
+    private static void write(Path output, byte[] document) throws IOException {
+        Files.write(output.resolve("openapi.json"), document);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(output.resolve("openapi.json.gz"))) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(document);
+        }
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (String arg : args) {
+            if (arg.startsWith("--" + name + "=")) {
+                return arg.substring(name.length() + 3);
+            }
+        }
+        return defaultValue;
+    }
+}
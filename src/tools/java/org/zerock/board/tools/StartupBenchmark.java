@@ -0,0 +1,166 @@
+package org.zerock.board.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long the packaged application takes to start, as plain JVM, with the
+ * Spring AOT initializers and with AOT plus an AppCDS archive, and fails when a variant
+ * got slower than in a baseline run.
+ *
+ * Usage: ./gradlew startupReport [-PstartupArgs="--runs=5"] [-PstartupBaseline=src/startup/baseline.json]
+ *
+ * Every run starts the extracted boot jar with -Dspring.context.exit=onRefresh, so the JVM
+ * exits once the context is refreshed: bean creation, MyBatis mapper parsing and the
+ * embedded server setup are measured, the schema migration and warmup runners (which need a
+ * database) are not. The AppCDS archive is written by a training run of the same kind before
+ * the measurements; the aot-cds variant runs with -Xshare:on, so an unusable archive fails
+ * the run instead of silently falling back.
+ */
+public class StartupBenchmark {
+
+    private static final long RUN_TIMEOUT_SECONDS = 120;
+
+    private final StartupOptions options;
+    private final Path reportDirectory;
+
+    StartupBenchmark(StartupOptions options) {
+        this.options = options;
+        this.reportDirectory = Path.of(options.reportDirectory);
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options = StartupOptions.parse(args);
+        System.exit(new StartupBenchmark(options).run() ? 0 : 1);
+    }
+
+    boolean run() throws Exception {
+        Files.createDirectories(reportDirectory.resolve("logs"));
+
+        Path archive = Path.of(options.archive);
+        Files.deleteIfExists(archive);
+        long trainingMs = launch("training", List.of(
+                "-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath(), "-Dspring.aot.enabled=true"));
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("Training run did not write " + archive);
+        }
+        System.out.printf("Trained %s (%d KB) in %d ms%n", archive, Files.size(archive) / 1024, trainingMs);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("jvm", List.of());
+        variants.put("aot", List.of("-Dspring.aot.enabled=true"));
+        variants.put("aot-cds", List.of("-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xshare:on"));
+
+        // One unmeasured run per variant fills the file system cache; then the variants take turns
+        Map<String, long[]> samples = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            launch(variant.getKey() + "-0", variant.getValue());
+            samples.put(variant.getKey(), new long[options.runs]);
+        }
+        for (int i = 0; i < options.runs; i++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                samples.get(variant.getKey())[i] = launch(variant.getKey() + "-" + (i + 1), variant.getValue());
+            }
+        }
+
+        return report(samples);
+    }
+
+    // Start the application with the given JVM options and wait until it exits after the refresh; wall clock ms
+    private long launch(String name, List<String> jvmOptions) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(options.java);
+        command.addAll(jvmOptions);
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(new File(options.app).getAbsolutePath());
+        command.add("--server.port=0");
+        command.add("--spring.main.banner-mode=off");
+        command.add("--file.upload.directory=" + reportDirectory.resolve("files").toAbsolutePath());
+        if (!options.profiles.isEmpty()) {
+            command.add("--spring.profiles.active=" + options.profiles);
+        }
+
+        Path log = reportDirectory.resolve("logs").resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        long start = System.nanoTime();
+        if (!process.waitFor(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Startup run " + name + " did not exit within " + RUN_TIMEOUT_SECONDS + " s, see " + log);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Startup run " + name + " exited with " + process.exitValue() + ", see " + log);
+        }
+        return elapsedMs;
+    }
+
+    // Print and write the results; false when a variant regressed, is missing from the baseline or exceeded --max-ms
+    private boolean report(Map<String, long[]> samples) throws Exception {
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        JsonNode baseline = options.baseline.isEmpty() ? null : mapper.readTree(Path.of(options.baseline).toFile());
+
+        List<String> violations = new ArrayList<>();
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "%-8s %9s %9s %9s %11s%n", "variant", "median ms", "min ms", "max ms", "baseline ms"));
+
+        Map<String, Object> variants = new LinkedHashMap<>();
+        for (Map.Entry<String, long[]> entry : samples.entrySet()) {
+            long[] sorted = entry.getValue().clone();
+            Arrays.sort(sorted);
+            long median = sorted[sorted.length / 2];
+
+            JsonNode previous = baseline == null ? null : baseline.path("variants").path(entry.getKey()).get("medianMs");
+            summary.append(String.format(Locale.ROOT, "%-8s %9d %9d %9d %11s%n", entry.getKey(), median,
+                    sorted[0], sorted[sorted.length - 1], previous == null ? "-" : previous.asText()));
+
+            if (baseline != null && previous == null) {
+                violations.add(String.format(Locale.ROOT, "%s has no medianMs in the baseline %s", entry.getKey(), options.baseline));
+            }
+            if (previous != null && median > previous.asLong() * (1 + options.maxRegressionPercent / 100)) {
+                violations.add(String.format(Locale.ROOT, "%s median %d ms is more than %.0f%% above the baseline %d ms",
+                        entry.getKey(), median, options.maxRegressionPercent, previous.asLong()));
+            }
+            if (options.maxMs > 0 && "aot-cds".equals(entry.getKey()) && median > options.maxMs) {
+                violations.add(String.format(Locale.ROOT, "%s median %d ms exceeds %d ms", entry.getKey(), median, options.maxMs));
+            }
+
+            Map<String, Object> variant = new LinkedHashMap<>();
+            variant.put("medianMs", median);
+            variant.put("minMs", sorted[0]);
+            variant.put("maxMs", sorted[sorted.length - 1]);
+            variant.put("samplesMs", entry.getValue());
+            variants.put(entry.getKey(), variant);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("commit", options.commit);
+        results.put("runs", options.runs);
+        results.put("variants", variants);
+        mapper.writeValue(reportDirectory.resolve("results-" + options.commit + ".json").toFile(), results);
+
+        for (String violation : violations) {
+            summary.append("FAILED: ").append(violation).append(System.lineSeparator());
+        }
+        System.out.print(summary);
+        Files.writeString(reportDirectory.resolve("summary.txt"), summary);
+        return violations.isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package org.zerock.board.tools;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of StartupBenchmark, given as --name=value.
+ */
+final class StartupOptions {
+
+    final String java;                  // java executable of the runtime the application ships with
+    final String app;                   // application jar of the extracted boot jar (lib/ next to it)
+    final String archive;               // AppCDS archive written by the training run
+    final String profiles;              // spring.profiles.active of the runs; the AOT code is generated for these
+    final int runs;                     // measured runs per variant, after one unmeasured run
+    final String commit;
+    final String reportDirectory;
+    final String baseline;              // results file of an earlier run; empty skips the comparison
+    final double maxRegressionPercent;  // allowed median increase over the baseline, per variant
+    final long maxMs;                   // absolute limit for the median of the aot-cds variant; 0 disables
+
+    private StartupOptions(Map<String, String> values) {
+        this.java = values.getOrDefault("java", "java");
+        this.app = required(values, "app");
+        this.archive = required(values, "archive");
+        this.profiles = values.getOrDefault("profiles", "");
+        this.runs = Integer.parseInt(values.getOrDefault("runs", "5"));
+        this.commit = values.getOrDefault("commit", "unknown");
+        this.reportDirectory = values.getOrDefault("report-dir", "build/reports/startup");
+        this.baseline = values.getOrDefault("baseline", "");
+        this.maxRegressionPercent = Double.parseDouble(values.getOrDefault("max-regression-percent", "15"));
+        this.maxMs = Long.parseLong(values.getOrDefault("max-ms", "0"));
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+    }
+
+    static StartupOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new StartupOptions(values);
+    }
+
+    private static String required(Map<String, String> values, String name) {
+        String value = values.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + name + " is required");
+        }
+        return value;
+    }
+}
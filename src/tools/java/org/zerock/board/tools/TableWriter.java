@@ -0,0 +1,119 @@
+package org.zerock.board.tools;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers rows of one table and writes them as a JDBC batch. With multi-row enabled
+ * (MariaDB) the batch consists of INSERT statements carrying rowsPerStatement rows each;
+ * otherwise (Oracle) every row is one batched execution of a single-row INSERT.
+ */
+final class TableWriter implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final String columns;
+    private final int columnCount;
+    private final int rowsPerStatement;
+    private final List<Object[]> rows = new ArrayList<>();
+    private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+    private long written;
+
+    TableWriter(Connection connection, String table, String[] columns, boolean multiRow, int rowsPerStatement) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = String.join(", ", columns);
+        this.columnCount = columns.length;
+        this.rowsPerStatement = multiRow ? Math.max(1, rowsPerStatement) : 1;
+    }
+
+    void add(Object... values) {
+        if (values.length != columnCount) {
+            throw new IllegalArgumentException(table + " expects " + columnCount + " values but got " + values.length);
+        }
+        rows.add(values);
+    }
+
+    int pending() {
+        return rows.size();
+    }
+
+    long written() {
+        return written;
+    }
+
+    void flush() throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        int fullStatements = rows.size() / rowsPerStatement;
+        if (fullStatements > 0) {
+            PreparedStatement statement = statement(rowsPerStatement);
+            for (int s = 0; s < fullStatements; s++) {
+                bind(statement, s * rowsPerStatement, rowsPerStatement);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+
+        int remainder = rows.size() % rowsPerStatement;
+        if (remainder > 0) {
+            // Remainder sizes vary, so their statements are not cached
+            try (PreparedStatement statement = connection.prepareStatement(sql(remainder))) {
+                bind(statement, fullStatements * rowsPerStatement, remainder);
+                statement.executeUpdate();
+            }
+        }
+
+        written += rows.size();
+        rows.clear();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (PreparedStatement statement : statements.values()) {
+            statement.close();
+        }
+        statements.clear();
+    }
+
+    private void bind(PreparedStatement statement, int firstRow, int rowCount) throws SQLException {
+        int index = 1;
+        for (int r = firstRow; r < firstRow + rowCount; r++) {
+            for (Object value : rows.get(r)) {
+                if (value == null) {
+                    // Only nullable id columns (parent_comment_id) are ever null
+                    statement.setNull(index++, Types.BIGINT);
+                } else {
+                    statement.setObject(index++, value);
+                }
+            }
+        }
+    }
+
+    private PreparedStatement statement(int rowCount) throws SQLException {
+        PreparedStatement statement = statements.get(rowCount);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql(rowCount));
+            statements.put(rowCount, statement);
+        }
+        return statement;
+    }
+
+    private String sql(int rowCount) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(columns).append(") VALUES ");
+        String placeholders = "(" + "?, ".repeat(columnCount - 1) + "?)";
+        for (int r = 0; r < rowCount; r++) {
+            sql.append(r == 0 ? "" : ", ").append(placeholders);
+        }
+        return sql.toString();
+    }
+}